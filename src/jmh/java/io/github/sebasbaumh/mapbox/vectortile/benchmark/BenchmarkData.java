@@ -0,0 +1,226 @@
+package io.github.sebasbaumh.mapbox.vectortile.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LinearRing;
+
+/**
+ * Synthetic datasets and test tiles for the benchmarks.
+ */
+public final class BenchmarkData
+{
+	/**
+	 * Size of the square world the geometries are created in (matches the default extent of a tile).
+	 */
+	public static final double WORLD_SIZE = 4096d;
+
+	// prevent instantiating this class
+	@Deprecated
+	private BenchmarkData()
+	{
+	}
+
+	/**
+	 * Synthetic datasets.
+	 */
+	public enum Dataset
+	{
+		/**
+		 * Point clouds.
+		 */
+		POINTS,
+		/**
+		 * Long lines with many vertices.
+		 */
+		LINES,
+		/**
+		 * Polygons with many holes.
+		 */
+		POLYGONS,
+		/**
+		 * Small features with many properties.
+		 */
+		PROPERTIES;
+	}
+
+	/**
+	 * Creates the geometries of a dataset. Each geometry has a {@link Map} as user data containing its id and
+	 * properties.
+	 * @param dataset dataset
+	 * @param geomFactory geometry factory
+	 * @return geometries
+	 */
+	public static List<Geometry> create(Dataset dataset, GeometryFactory geomFactory)
+	{
+		// fixed seed for reproducible data
+		Random random = new Random(4711L);
+		ArrayList<Geometry> geoms = new ArrayList<Geometry>();
+		switch (dataset)
+		{
+			case POINTS:
+				for (int i = 0; i < 10000; i++)
+				{
+					geoms.add(geomFactory.createMultiPointFromCoords(createCoordinates(random, 10, 20d)));
+				}
+				break;
+			case LINES:
+				for (int i = 0; i < 100; i++)
+				{
+					geoms.add(geomFactory.createLineString(createLine(random, 1000)));
+				}
+				break;
+			case POLYGONS:
+				for (int i = 0; i < 20; i++)
+				{
+					geoms.add(createPolygonWithHoles(random, geomFactory, 50));
+				}
+				break;
+			case PROPERTIES:
+				for (int i = 0; i < 5000; i++)
+				{
+					geoms.add(geomFactory.createLineString(createLine(random, 4)));
+				}
+				break;
+			default:
+				throw new IllegalArgumentException("unknown dataset: " + dataset);
+		}
+		// add properties
+		int numProperties = (dataset == Dataset.PROPERTIES) ? 20 : 2;
+		for (int i = 0; i < geoms.size(); i++)
+		{
+			Map<String, Object> props = new LinkedHashMap<String, Object>();
+			props.put("id", Long.valueOf(i));
+			for (int j = 0; j < numProperties; j++)
+			{
+				switch (j % 4)
+				{
+					case 0:
+						props.put("name" + j, "value" + random.nextInt(100));
+						break;
+					case 1:
+						props.put("int" + j, Integer.valueOf(random.nextInt(1000)));
+						break;
+					case 2:
+						props.put("double" + j, Double.valueOf(random.nextInt(100) / 4d));
+						break;
+					default:
+						props.put("bool" + j, Boolean.valueOf(random.nextBoolean()));
+						break;
+				}
+			}
+			geoms.get(i).setUserData(props);
+		}
+		return geoms;
+	}
+
+	/**
+	 * Creates random coordinates around a random center.
+	 * @param random random generator
+	 * @param count number of coordinates
+	 * @param spread maximum distance from the center in each direction
+	 * @return coordinates
+	 */
+	private static Coordinate[] createCoordinates(Random random, int count, double spread)
+	{
+		double cx = random.nextDouble() * WORLD_SIZE;
+		double cy = random.nextDouble() * WORLD_SIZE;
+		Coordinate[] coords = new Coordinate[count];
+		for (int i = 0; i < count; i++)
+		{
+			coords[i] = new Coordinate(cx + (random.nextDouble() - .5d) * spread * 2,
+					cy + (random.nextDouble() - .5d) * spread * 2);
+		}
+		return coords;
+	}
+
+	/**
+	 * Creates a random walk.
+	 * @param random random generator
+	 * @param count number of coordinates
+	 * @return coordinates
+	 */
+	private static Coordinate[] createLine(Random random, int count)
+	{
+		Coordinate[] coords = new Coordinate[count];
+		double x = random.nextDouble() * WORLD_SIZE;
+		double y = random.nextDouble() * WORLD_SIZE;
+		for (int i = 0; i < count; i++)
+		{
+			coords[i] = new Coordinate(x, y);
+			x += (random.nextDouble() - .5d) * 40d;
+			y += (random.nextDouble() - .5d) * 40d;
+		}
+		return coords;
+	}
+
+	/**
+	 * Creates a square polygon with a grid of square holes.
+	 * @param random random generator
+	 * @param geomFactory geometry factory
+	 * @param holesPerRow number of holes per row and column
+	 * @return polygon
+	 */
+	private static Geometry createPolygonWithHoles(Random random, GeometryFactory geomFactory, int holesPerRow)
+	{
+		double size = WORLD_SIZE / 2d;
+		double minX = random.nextDouble() * (WORLD_SIZE - size);
+		double minY = random.nextDouble() * (WORLD_SIZE - size);
+		double cell = size / (holesPerRow + 1);
+		LinearRing shell = createSquare(geomFactory, minX, minY, size);
+		LinearRing[] holes = new LinearRing[holesPerRow * holesPerRow];
+		for (int i = 0; i < holesPerRow; i++)
+		{
+			for (int j = 0; j < holesPerRow; j++)
+			{
+				holes[i * holesPerRow + j] = createSquare(geomFactory, minX + cell * (i + .75d),
+						minY + cell * (j + .75d), cell / 2d);
+			}
+		}
+		return geomFactory.createPolygon(shell, holes);
+	}
+
+	/**
+	 * Creates a square ring.
+	 * @param geomFactory geometry factory
+	 * @param minX minimum x
+	 * @param minY minimum y
+	 * @param size size
+	 * @return ring
+	 */
+	private static LinearRing createSquare(GeometryFactory geomFactory, double minX, double minY, double size)
+	{
+		return geomFactory.createLinearRing(new Coordinate[] { new Coordinate(minX, minY),
+				new Coordinate(minX + size, minY), new Coordinate(minX + size, minY + size),
+				new Coordinate(minX, minY + size), new Coordinate(minX, minY) });
+	}
+
+	/**
+	 * Reads a resource (e.g. a test tile from src/test/resources).
+	 * @param name resource name
+	 * @return content
+	 * @throws IOException on errors
+	 */
+	public static byte[] readResource(String name) throws IOException
+	{
+		try (InputStream is = BenchmarkData.class.getResourceAsStream(name))
+		{
+			if (is == null)
+			{
+				throw new IOException("resource not found: " + name);
+			}
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			is.transferTo(out);
+			return out.toByteArray();
+		}
+	}
+}
@@ -0,0 +1,59 @@
+package io.github.sebasbaumh.mapbox.vectortile.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.locationtech.jts.geom.GeometryFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.sebasbaumh.mapbox.vectortile.adapt.jts.MvtReader;
+import io.github.sebasbaumh.mapbox.vectortile.adapt.jts.TagKeyValueMapConverter;
+import io.github.sebasbaumh.mapbox.vectortile.adapt.jts.model.JtsMvt;
+
+/**
+ * Benchmarks decoding the test tiles.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DecodeBenchmark
+{
+	@Param({ "/vec_tile_test/0/0/0.mvt", "/vec_tile_test/game.mvt",
+			"/mapbox/vector_tile_js/multi_poly_neg_exters.mvt" })
+	public String tile;
+
+	private byte[] data;
+	private final GeometryFactory geomFactory = new GeometryFactory();
+
+	@Setup
+	public void setup() throws IOException
+	{
+		data = BenchmarkData.readResource(tile);
+	}
+
+	@Benchmark
+	public JtsMvt loadMvt() throws IOException
+	{
+		return MvtReader.loadMvt(new ByteArrayInputStream(data), geomFactory, new TagKeyValueMapConverter());
+	}
+
+	@Benchmark
+	public JtsMvt loadMvtWithoutTags() throws IOException
+	{
+		return MvtReader.loadMvt(new ByteArrayInputStream(data), geomFactory, null);
+	}
+}
@@ -0,0 +1,77 @@
+package io.github.sebasbaumh.mapbox.vectortile.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.sebasbaumh.mapbox.vectortile.VectorTile;
+import io.github.sebasbaumh.mapbox.vectortile.adapt.jts.JtsAdapter;
+import io.github.sebasbaumh.mapbox.vectortile.adapt.jts.MvtEncoder;
+import io.github.sebasbaumh.mapbox.vectortile.adapt.jts.UserDataKeyValueMapConverter;
+import io.github.sebasbaumh.mapbox.vectortile.adapt.jts.model.JtsLayer;
+import io.github.sebasbaumh.mapbox.vectortile.adapt.jts.model.JtsMvt;
+import io.github.sebasbaumh.mapbox.vectortile.build.MvtLayerParams;
+import io.github.sebasbaumh.mapbox.vectortile.build.MvtLayerProps;
+import io.github.sebasbaumh.mapbox.vectortile.util.MvtUtil;
+
+/**
+ * Benchmarks encoding tile geometries (already in MVT coordinates) to MVT.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EncodeBenchmark
+{
+	@Param
+	public BenchmarkData.Dataset dataset;
+
+	private List<Geometry> geoms;
+	private JtsMvt mvt;
+
+	@Setup
+	public void setup()
+	{
+		GeometryFactory geomFactory = new GeometryFactory();
+		geoms = BenchmarkData.create(dataset, geomFactory);
+		mvt = new JtsMvt(new JtsLayer("layer", geoms));
+	}
+
+	@Benchmark
+	public VectorTile.Tile.Layer addFeatures()
+	{
+		VectorTile.Tile.Layer.Builder layerBuilder = MvtUtil.newLayerBuilder("layer", MvtLayerParams.DEFAULT);
+		MvtLayerProps layerProps = new MvtLayerProps();
+		JtsAdapter.addFeatures(layerBuilder, geoms, layerProps, new UserDataKeyValueMapConverter());
+		MvtUtil.writeProps(layerBuilder, layerProps);
+		return layerBuilder.build();
+	}
+
+	@Benchmark
+	public byte[] encode()
+	{
+		return MvtEncoder.encode(mvt, MvtLayerParams.DEFAULT, new UserDataKeyValueMapConverter());
+	}
+
+	@Benchmark
+	public byte[] encodePropsByFrequency()
+	{
+		return MvtEncoder.encodeToTile(mvt, MvtLayerParams.DEFAULT, new UserDataKeyValueMapConverter(), true)
+				.toByteArray();
+	}
+}
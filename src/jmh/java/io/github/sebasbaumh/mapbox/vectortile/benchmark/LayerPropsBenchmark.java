@@ -0,0 +1,71 @@
+package io.github.sebasbaumh.mapbox.vectortile.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.sebasbaumh.mapbox.vectortile.VectorTile;
+import io.github.sebasbaumh.mapbox.vectortile.build.MvtLayerParams;
+import io.github.sebasbaumh.mapbox.vectortile.build.MvtLayerProps;
+import io.github.sebasbaumh.mapbox.vectortile.util.MvtUtil;
+
+/**
+ * Benchmarks collecting and writing layer properties of property-heavy features.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LayerPropsBenchmark
+{
+	private final List<Map<String, Object>> properties = new ArrayList<Map<String, Object>>();
+
+	@SuppressWarnings("unchecked")
+	@Setup
+	public void setup()
+	{
+		for (Geometry geom : BenchmarkData.create(BenchmarkData.Dataset.PROPERTIES, new GeometryFactory()))
+		{
+			properties.add((Map<String, Object>) geom.getUserData());
+		}
+	}
+
+	@Benchmark
+	public MvtLayerProps addProps()
+	{
+		MvtLayerProps layerProps = new MvtLayerProps();
+		for (Map<String, Object> props : properties)
+		{
+			for (Map.Entry<String, Object> e : props.entrySet())
+			{
+				layerProps.addKey(e.getKey());
+				layerProps.addValue(e.getValue());
+			}
+		}
+		return layerProps;
+	}
+
+	@Benchmark
+	public VectorTile.Tile.Layer.Builder writeProps()
+	{
+		VectorTile.Tile.Layer.Builder layerBuilder = MvtUtil.newLayerBuilder("layer", MvtLayerParams.DEFAULT);
+		MvtUtil.writeProps(layerBuilder, addProps());
+		return layerBuilder;
+	}
+}
@@ -0,0 +1,68 @@
+package io.github.sebasbaumh.mapbox.vectortile.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.sebasbaumh.mapbox.vectortile.adapt.jts.JtsAdapter;
+import io.github.sebasbaumh.mapbox.vectortile.build.ClipStrategy;
+import io.github.sebasbaumh.mapbox.vectortile.build.MvtLayerParams;
+import io.github.sebasbaumh.mapbox.vectortile.build.Simplification;
+
+/**
+ * Benchmarks clipping and transforming geometries to a tile.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TileGeomBenchmark
+{
+	@Param
+	public ClipStrategy clipStrategy;
+	@Param
+	public BenchmarkData.Dataset dataset;
+
+	private final GeometryFactory geomFactory = new GeometryFactory();
+	private Geometry geom;
+	private MvtLayerParams mvtLayerParams;
+	/**
+	 * Tile covering the lower left quarter of the world.
+	 */
+	private final Envelope tileEnvelope = new Envelope(0d, BenchmarkData.WORLD_SIZE / 2d, 0d,
+			BenchmarkData.WORLD_SIZE / 2d);
+	/**
+	 * Tile envelope with a buffer.
+	 */
+	private final Envelope clipEnvelope = new Envelope(-64d, BenchmarkData.WORLD_SIZE / 2d + 64d, -64d,
+			BenchmarkData.WORLD_SIZE / 2d + 64d);
+
+	@Setup
+	public void setup()
+	{
+		geom = geomFactory.buildGeometry(BenchmarkData.create(dataset, geomFactory));
+		mvtLayerParams = new MvtLayerParams(MvtLayerParams.DEFAULT_EXTENT, Simplification.TOPOLOGY_PRESERVING,
+				clipStrategy);
+	}
+
+	@Benchmark
+	public Geometry createTileGeom()
+	{
+		return JtsAdapter.createTileGeom(geom, tileEnvelope, clipEnvelope, geomFactory, mvtLayerParams, null);
+	}
+}
@@ -0,0 +1,61 @@
+package io.github.sebasbaumh.mapbox.vectortile.adapt.jts;
+
+import javax.annotation.Nullable;
+
+import org.eclipse.jdt.annotation.DefaultLocation;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Attributes of a feature addressed by their column index, e.g. a row of a columnar store. It can be used as
+ * {@link org.locationtech.jts.geom.Geometry#getUserData()} with a {@link SchemaUserDataConverter}, which only calls
+ * the getter matching the declared type of a column.
+ */
+@NonNullByDefault({ DefaultLocation.PARAMETER, DefaultLocation.RETURN_TYPE })
+public interface IAttributeRow
+{
+	/**
+	 * Gets the value of a boolean column.
+	 * @param column column index
+	 * @return value
+	 */
+	boolean getBoolean(int column);
+
+	/**
+	 * Gets the value of a double column.
+	 * @param column column index
+	 * @return value
+	 */
+	double getDouble(int column);
+
+	/**
+	 * Gets the value of a float column.
+	 * @param column column index
+	 * @return value
+	 */
+	default float getFloat(int column)
+	{
+		return (float) getDouble(column);
+	}
+
+	/**
+	 * Gets the value of an integer column.
+	 * @param column column index
+	 * @return value
+	 */
+	long getLong(int column);
+
+	/**
+	 * Gets the value of a string column.
+	 * @param column column index
+	 * @return value (can be null if there is no value)
+	 */
+	@Nullable
+	String getString(int column);
+
+	/**
+	 * Checks if the given column has no value.
+	 * @param column column index
+	 * @return true if there is no value, else false
+	 */
+	boolean isNull(int column);
+}
@@ -0,0 +1,173 @@
+package io.github.sebasbaumh.mapbox.vectortile.adapt.jts;
+
+import java.util.Objects;
+import java.util.function.Predicate;
+
+import javax.annotation.Nullable;
+
+import org.eclipse.jdt.annotation.DefaultLocation;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+import io.github.sebasbaumh.mapbox.vectortile.util.IntArrayList;
+
+/**
+ * <p>
+ * Filter for MVT features on their tags, which is evaluated by {@link MvtReader} before the geometry of a feature is
+ * decoded.
+ * </p>
+ * <p>
+ * The filter is resolved once per layer against its keys and values (see {@link #forLayer(TagTable)}), so testing a
+ * feature only compares tag indices.
+ * </p>
+ */
+@NonNullByDefault({ DefaultLocation.PARAMETER, DefaultLocation.RETURN_TYPE })
+@FunctionalInterface
+public interface IFeatureFilter
+{
+	/**
+	 * Creates a filter accepting features having a tag with the given key.
+	 * @param key key
+	 * @return filter
+	 */
+	static IFeatureFilter hasKey(String key)
+	{
+		Objects.requireNonNull(key);
+		return tagTable -> {
+			final boolean[] keys = matchKeys(tagTable, key);
+			if (keys == null)
+			{
+				return tags -> false;
+			}
+			return tags -> {
+				for (int i = 0; i < tags.size() - 1; i += 2)
+				{
+					final int keyIndex = tags.get(i);
+					if (tagTable.isValid(keyIndex, tags.get(i + 1)) && keys[keyIndex])
+					{
+						return true;
+					}
+				}
+				return false;
+			};
+		};
+	}
+
+	/**
+	 * Creates a filter accepting features having a tag with the given key and value. Values are compared to the decoded
+	 * values of the layer (see {@link TagTable#getValue(int)}), integral numbers are compared as {@link Long}s.
+	 * @param key key
+	 * @param value value
+	 * @return filter
+	 */
+	static IFeatureFilter hasTag(String key, Object value)
+	{
+		Objects.requireNonNull(key);
+		final Object decodedValue = ((value instanceof Integer) || (value instanceof Short) || (value instanceof Byte))
+				? Long.valueOf(((Number) value).longValue())
+				: Objects.requireNonNull(value);
+		return tagTable -> {
+			final boolean[] keys = matchKeys(tagTable, key);
+			final boolean[] values = matchValues(tagTable, decodedValue);
+			if ((keys == null) || (values == null))
+			{
+				// the layer has no such tag
+				return tags -> false;
+			}
+			return tags -> {
+				for (int i = 0; i < tags.size() - 1; i += 2)
+				{
+					final int keyIndex = tags.get(i);
+					final int valueIndex = tags.get(i + 1);
+					if (tagTable.isValid(keyIndex, valueIndex) && keys[keyIndex] && values[valueIndex])
+					{
+						return true;
+					}
+				}
+				return false;
+			};
+		};
+	}
+
+	/**
+	 * Resolves the indices of the keys equal to the given key.
+	 * @param tagTable keys and values of the layer
+	 * @param key key
+	 * @return flags for each key index or null if no key matches
+	 */
+	@Nullable
+	private static boolean[] matchKeys(TagTable tagTable, String key)
+	{
+		final boolean[] keys = new boolean[tagTable.getKeyCount()];
+		boolean found = false;
+		for (int i = 0; i < keys.length; i++)
+		{
+			if (key.equals(tagTable.getKey(i)))
+			{
+				keys[i] = true;
+				found = true;
+			}
+		}
+		return found ? keys : null;
+	}
+
+	/**
+	 * Resolves the indices of the values equal to the given value.
+	 * @param tagTable keys and values of the layer
+	 * @param value decoded value
+	 * @return flags for each value index or null if no value matches
+	 */
+	@Nullable
+	private static boolean[] matchValues(TagTable tagTable, Object value)
+	{
+		final boolean[] values = new boolean[tagTable.getValueCount()];
+		boolean found = false;
+		for (int i = 0; i < values.length; i++)
+		{
+			if (value.equals(tagTable.getValue(i)))
+			{
+				values[i] = true;
+				found = true;
+			}
+		}
+		return found ? values : null;
+	}
+
+	/**
+	 * Creates a filter accepting features accepted by this and the given filter.
+	 * @param other other filter
+	 * @return filter
+	 */
+	default IFeatureFilter and(IFeatureFilter other)
+	{
+		Objects.requireNonNull(other);
+		return tagTable -> forLayer(tagTable).and(other.forLayer(tagTable));
+	}
+
+	/**
+	 * Resolves the filter for a layer. This is called once per layer before any of its features is tested.
+	 * @param tagTable keys and values of the layer
+	 * @return predicate on the tag index pairs of a feature of the layer, returning true if the feature should be
+	 *         accepted (pass), or false if the feature should be rejected (fail)
+	 */
+	Predicate<IntArrayList> forLayer(TagTable tagTable);
+
+	/**
+	 * Creates a filter accepting features rejected by this filter.
+	 * @return filter
+	 */
+	default IFeatureFilter negate()
+	{
+		return tagTable -> forLayer(tagTable).negate();
+	}
+
+	/**
+	 * Creates a filter accepting features accepted by this or the given filter.
+	 * @param other other filter
+	 * @return filter
+	 */
+	default IFeatureFilter or(IFeatureFilter other)
+	{
+		Objects.requireNonNull(other);
+		return tagTable -> forLayer(tagTable).or(other.forLayer(tagTable));
+	}
+}
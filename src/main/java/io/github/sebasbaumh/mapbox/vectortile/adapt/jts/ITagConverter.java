@@ -1,5 +1,6 @@
 package io.github.sebasbaumh.mapbox.vectortile.adapt.jts;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import javax.annotation.Nullable;
@@ -8,9 +9,15 @@ import org.eclipse.jdt.annotation.DefaultLocation;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 
 import io.github.sebasbaumh.mapbox.vectortile.VectorTile;
+import io.github.sebasbaumh.mapbox.vectortile.util.IntArrayList;
 
 /**
  * Process MVT tags and feature id, convert to user data object. The returned user data object may be null.
+ * <p>
+ * Readers call {@link #toUserData(Long, IntArrayList, TagTable)} with the keys and values of the layer decoded once.
+ * Implementations must override it to benefit from this: the default implementation copies the tags of each feature
+ * into a new list of boxed integers and passes the values as MVT values (see {@link TagTable#getValuesList()}).
+ * </p>
  */
 @NonNullByDefault({ DefaultLocation.PARAMETER, DefaultLocation.RETURN_TYPE })
 public interface ITagConverter
@@ -27,4 +34,23 @@ public interface ITagConverter
 	@Nullable
 	Object toUserData(@Nullable Long id, List<Integer> tags, List<String> keysList,
 			List<VectorTile.Tile.Value> valuesList);
+
+	/**
+	 * Convert MVT user data to JTS user data object or null. The default implementation delegates to
+	 * {@link #toUserData(Long, List, List, List)}, copying the tags into a new list for each call.
+	 * @param id feature id, may be {@code null}
+	 * @param tags MVT feature tags, may be invalid (only valid during the call)
+	 * @param tagTable decoded keys and values of the layer
+	 * @return user data object or null
+	 */
+	@Nullable
+	default Object toUserData(@Nullable Long id, IntArrayList tags, TagTable tagTable)
+	{
+		final List<Integer> tagsList = new ArrayList<Integer>(tags.size());
+		for (int i = 0; i < tags.size(); i++)
+		{
+			tagsList.add(tags.get(i));
+		}
+		return toUserData(id, tagsList, tagTable.getKeysList(), tagTable.getValuesList());
+	}
 }
@@ -0,0 +1,153 @@
+package io.github.sebasbaumh.mapbox.vectortile.adapt.jts;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+import org.eclipse.jdt.annotation.DefaultLocation;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.index.strtree.STRtree;
+
+import io.github.sebasbaumh.mapbox.vectortile.build.MvtLayerParams;
+
+/**
+ * Creates tile geometries on demand from a fixed set of source geometries.
+ * <p>
+ * The source geometries are indexed once in an {@link STRtree}, so creating a tile only clips the geometries
+ * intersecting the (buffered) tile envelope instead of checking all source geometries. The resulting tile geometries are
+ * the same as created by
+ * {@link JtsAdapter#createTileGeom(Geometry, Envelope, Envelope, GeometryFactory, MvtLayerParams, IGeometryFilter, int)}.
+ * </p>
+ * <p>
+ * Instances are thread-safe as long as the source geometries are not modified.
+ * </p>
+ */
+@NonNullByDefault({ DefaultLocation.PARAMETER, DefaultLocation.RETURN_TYPE })
+public final class IndexedTileSource
+{
+	/**
+	 * Buffer in tile pixels.
+	 */
+	private final double bufferPixels;
+	@Nullable
+	private final IGeometryFilter filter;
+	private final GeometryFactory geomFactory;
+	/**
+	 * Flat source geometries in their original order.
+	 */
+	private final Geometry[] geoms;
+	/**
+	 * Spatial index of the indices of the source geometries.
+	 */
+	private final STRtree index;
+	/**
+	 * Statistics of all created tiles.
+	 */
+	private final TileGeomStats stats = new TileGeomStats();
+	private final TileGrid tileGrid;
+
+	/**
+	 * Creates a tile source without a buffer around tiles.
+	 * @param geoms source geometries in world coordinates (user data is kept)
+	 * @param tileGrid tile grid
+	 * @param geomFactory geometry factory
+	 */
+	public IndexedTileSource(Collection<Geometry> geoms, TileGrid tileGrid, GeometryFactory geomFactory)
+	{
+		this(geoms, tileGrid, geomFactory, 0d, null);
+	}
+
+	/**
+	 * Creates a tile source.
+	 * @param geoms source geometries in world coordinates (user data is kept)
+	 * @param tileGrid tile grid
+	 * @param geomFactory geometry factory
+	 * @param bufferPixels buffer around each tile for clipping in tile pixels (see {@link MvtLayerParams#getTileSize()}),
+	 *            must be &gt;= 0
+	 * @param filter geometry values that fail filter after transforms are removed (can be null for no filter)
+	 * @throws IllegalArgumentException if the buffer is negative
+	 */
+	public IndexedTileSource(Collection<Geometry> geoms, TileGrid tileGrid, GeometryFactory geomFactory,
+			double bufferPixels, @Nullable IGeometryFilter filter)
+	{
+		if (!(bufferPixels >= 0d))
+		{
+			throw new IllegalArgumentException("buffer must be >= 0");
+		}
+		this.tileGrid = tileGrid;
+		this.geomFactory = geomFactory;
+		this.bufferPixels = bufferPixels;
+		this.filter = filter;
+		// collect all contained geometries
+		ArrayList<Geometry> flatGeometries = new ArrayList<Geometry>(geoms.size());
+		for (Geometry geom : geoms)
+		{
+			flatGeometries.addAll(JtsAdapter.collectFlatGeometries(geom));
+		}
+		this.geoms = flatGeometries.toArray(new Geometry[flatGeometries.size()]);
+		// build the index (an empty tree cannot be built)
+		this.index = new STRtree();
+		for (int i = 0; i < this.geoms.length; i++)
+		{
+			index.insert(this.geoms[i].getEnvelopeInternal(), Integer.valueOf(i));
+		}
+		if (this.geoms.length > 0)
+		{
+			index.build();
+		}
+	}
+
+	/**
+	 * Gets the statistics how geometries were clipped for all tiles created so far.
+	 * @return statistics
+	 */
+	public TileGeomStats getStats()
+	{
+		return stats;
+	}
+
+	/**
+	 * Gets the number of (flat) source geometries.
+	 * @return number of source geometries
+	 */
+	public int size()
+	{
+		return geoms.length;
+	}
+
+	/**
+	 * Creates the geometry of the given tile.
+	 * @param z zoom level
+	 * @param x column of the tile
+	 * @param y row of the tile
+	 * @param mvtLayerParams specifies vector tile properties
+	 * @return tile geometry in MVT 'extent' coordinates
+	 * @throws IllegalArgumentException if the zoom level, column or row are out of range
+	 */
+	public Geometry tile(int z, int x, int y, MvtLayerParams mvtLayerParams)
+	{
+		Envelope tileEnvelope = tileGrid.getTileEnvelope(z, x, y);
+		Envelope clipEnvelope = tileGrid.getTileEnvelope(z, x, y, bufferPixels / mvtLayerParams.getTileSize());
+		ArrayList<Geometry> intersectedGeoms = new ArrayList<Geometry>();
+		if (geoms.length > 0)
+		{
+			// keep the original order of the geometries
+			@SuppressWarnings("unchecked")
+			List<Integer> candidates = index.query(clipEnvelope);
+			candidates.sort(null);
+			ArrayList<Geometry> candidateGeoms = new ArrayList<Geometry>(candidates.size());
+			for (Integer i : candidates)
+			{
+				candidateGeoms.add(geoms[i.intValue()]);
+			}
+			JtsAdapter.clipGeometries(candidateGeoms, clipEnvelope, geomFactory, mvtLayerParams.getClipStrategy(),
+					intersectedGeoms, stats);
+		}
+		return JtsAdapter.toTileGeometry(intersectedGeoms, tileEnvelope, geomFactory, mvtLayerParams, filter, z);
+	}
+}
@@ -0,0 +1,270 @@
+package io.github.sebasbaumh.mapbox.vectortile.adapt.jts;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import javax.annotation.Nullable;
+
+import org.eclipse.jdt.annotation.DefaultLocation;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.Envelope;
+
+/**
+ * <p>
+ * {@link CoordinateSequence} of two-dimensional integer coordinates backed by a packed {@code int[]} (pairs of x and
+ * y).
+ * </p>
+ * <p>
+ * Meant for geometries in MVT 'extent' coordinates, which are integers. Setting a non-integral x or y value or any
+ * other ordinate than x and y fails with an {@link IllegalArgumentException}, so round coordinates first (see
+ * {@link RoundingFilter}). Transform geometries to world coordinates by creating new geometries instead of changing
+ * them in place.
+ * </p>
+ * @see IntCoordinateSequenceFactory
+ */
+@NonNullByDefault({ DefaultLocation.PARAMETER, DefaultLocation.RETURN_TYPE })
+public final class IntCoordinateSequence implements CoordinateSequence, Serializable
+{
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Coordinates as pairs of x and y.
+	 */
+	private final int[] coords;
+
+	/**
+	 * Creates a sequence of the given size with all coordinates at 0.
+	 * @param size number of coordinates
+	 */
+	public IntCoordinateSequence(int size)
+	{
+		this.coords = new int[size * 2];
+	}
+
+	/**
+	 * Creates a sequence on the given coordinates (not copied).
+	 * @param coords coordinates as pairs of x and y
+	 * @throws IllegalArgumentException if the length of the array is odd
+	 */
+	public IntCoordinateSequence(int[] coords)
+	{
+		if ((coords.length % 2) != 0)
+		{
+			throw new IllegalArgumentException("coordinates must have an even length");
+		}
+		this.coords = coords;
+	}
+
+	/**
+	 * Converts an ordinate value to an integer.
+	 * @param value value
+	 * @return integer value
+	 * @throws IllegalArgumentException if the value is not an integer
+	 */
+	private static int toInt(double value)
+	{
+		final int i = (int) value;
+		if (i != value)
+		{
+			throw new IllegalArgumentException("ordinate is not an integer: " + value);
+		}
+		return i;
+	}
+
+	/**
+	 * Creates a sequence of the given coordinates. Only x and y are kept.
+	 * @param coordinates coordinates
+	 * @return sequence
+	 * @throws IllegalArgumentException if an ordinate is not an integer
+	 */
+	static IntCoordinateSequence of(Coordinate[] coordinates)
+	{
+		final IntCoordinateSequence seq = new IntCoordinateSequence(coordinates.length);
+		for (int i = 0; i < coordinates.length; i++)
+		{
+			seq.coords[i * 2] = toInt(coordinates[i].getX());
+			seq.coords[i * 2 + 1] = toInt(coordinates[i].getY());
+		}
+		return seq;
+	}
+
+	/**
+	 * Creates a sequence of the given coordinates. Only x and y are kept.
+	 * @param coordSeq coordinates
+	 * @return sequence
+	 * @throws IllegalArgumentException if an ordinate is not an integer
+	 */
+	static IntCoordinateSequence of(CoordinateSequence coordSeq)
+	{
+		if (coordSeq instanceof IntCoordinateSequence intSeq)
+		{
+			return intSeq.copy();
+		}
+		final IntCoordinateSequence seq = new IntCoordinateSequence(coordSeq.size());
+		for (int i = 0; i < coordSeq.size(); i++)
+		{
+			seq.coords[i * 2] = toInt(coordSeq.getX(i));
+			seq.coords[i * 2 + 1] = toInt(coordSeq.getY(i));
+		}
+		return seq;
+	}
+
+	@Deprecated
+	@Override
+	public Object clone()
+	{
+		return copy();
+	}
+
+	@Override
+	public IntCoordinateSequence copy()
+	{
+		return new IntCoordinateSequence(coords.clone());
+	}
+
+	@Override
+	public boolean equals(@Nullable Object o)
+	{
+		if (this == o) return true;
+		if (o == null || getClass() != o.getClass()) return false;
+		return Arrays.equals(coords, ((IntCoordinateSequence) o).coords);
+	}
+
+	@Override
+	public Envelope expandEnvelope(Envelope env)
+	{
+		for (int i = 0; i < coords.length; i += 2)
+		{
+			env.expandToInclude(coords[i], coords[i + 1]);
+		}
+		return env;
+	}
+
+	@Override
+	public Coordinate getCoordinate(int i)
+	{
+		return new Coordinate(coords[i * 2], coords[i * 2 + 1]);
+	}
+
+	@Override
+	public void getCoordinate(int index, Coordinate coord)
+	{
+		coord.setX(coords[index * 2]);
+		coord.setY(coords[index * 2 + 1]);
+	}
+
+	@Override
+	public Coordinate getCoordinateCopy(int i)
+	{
+		return getCoordinate(i);
+	}
+
+	@Override
+	public int getDimension()
+	{
+		return 2;
+	}
+
+	@Override
+	public double getOrdinate(int index, int ordinateIndex)
+	{
+		switch (ordinateIndex)
+		{
+			case CoordinateSequence.X:
+				return coords[index * 2];
+			case CoordinateSequence.Y:
+				return coords[index * 2 + 1];
+			default:
+				return Double.NaN;
+		}
+	}
+
+	/**
+	 * Gets the coordinates as pairs of x and y (not copied).
+	 * @return coordinates
+	 */
+	public int[] getRawCoordinates()
+	{
+		return coords;
+	}
+
+	@Override
+	public double getX(int index)
+	{
+		return coords[index * 2];
+	}
+
+	@Override
+	public double getY(int index)
+	{
+		return coords[index * 2 + 1];
+	}
+
+	@Override
+	public int hashCode()
+	{
+		return Arrays.hashCode(coords);
+	}
+
+	/**
+	 * Sets the ordinate of a coordinate. Other ordinates than x and y can only be set to {@link Double#NaN}, which is
+	 * what they always return.
+	 * @param index index of the coordinate
+	 * @param ordinateIndex index of the ordinate
+	 * @param value value
+	 * @throws IllegalArgumentException if the value of x or y is not an integer or another ordinate is not NaN
+	 */
+	@Override
+	public void setOrdinate(int index, int ordinateIndex, double value)
+	{
+		switch (ordinateIndex)
+		{
+			case CoordinateSequence.X:
+				coords[index * 2] = toInt(value);
+				break;
+			case CoordinateSequence.Y:
+				coords[index * 2 + 1] = toInt(value);
+				break;
+			default:
+				if (!Double.isNaN(value))
+				{
+					throw new IllegalArgumentException("only x and y can be stored: " + ordinateIndex);
+				}
+				break;
+		}
+	}
+
+	@Override
+	public int size()
+	{
+		return coords.length / 2;
+	}
+
+	@Override
+	public Coordinate[] toCoordinateArray()
+	{
+		final Coordinate[] coordinates = new Coordinate[size()];
+		for (int i = 0; i < coordinates.length; i++)
+		{
+			coordinates[i] = getCoordinate(i);
+		}
+		return coordinates;
+	}
+
+	@Override
+	public String toString()
+	{
+		final StringBuilder sb = new StringBuilder("(");
+		for (int i = 0; i < coords.length; i += 2)
+		{
+			if (i > 0)
+			{
+				sb.append(", ");
+			}
+			sb.append(coords[i]).append(' ').append(coords[i + 1]);
+		}
+		return sb.append(')').toString();
+	}
+}
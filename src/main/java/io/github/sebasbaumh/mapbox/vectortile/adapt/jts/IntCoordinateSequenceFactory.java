@@ -0,0 +1,91 @@
+package io.github.sebasbaumh.mapbox.vectortile.adapt.jts;
+
+import java.io.Serializable;
+
+import org.eclipse.jdt.annotation.DefaultLocation;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.CoordinateSequenceFactory;
+import org.locationtech.jts.geom.GeometryFactory;
+
+/**
+ * <p>
+ * Creates {@link IntCoordinateSequence}s for geometries in MVT 'extent' coordinates. Sequences are always
+ * two-dimensional.
+ * </p>
+ * <p>
+ * The sequences are opt-in: pass a {@link org.locationtech.jts.geom.GeometryFactory} using this factory (e.g.
+ * {@code new GeometryFactory(IntCoordinateSequenceFactory.INSTANCE)}) to {@link MvtReader} or
+ * {@link JtsAdapter#createTileGeom} to store the integer coordinates compactly. Creating sequences of non-integral
+ * coordinates fails.
+ * </p>
+ */
+@NonNullByDefault({ DefaultLocation.PARAMETER, DefaultLocation.RETURN_TYPE })
+public final class IntCoordinateSequenceFactory implements CoordinateSequenceFactory, Serializable
+{
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Singleton instance.
+	 */
+	public static final IntCoordinateSequenceFactory INSTANCE = new IntCoordinateSequenceFactory();
+
+	/**
+	 * Constructs an instance.
+	 */
+	private IntCoordinateSequenceFactory()
+	{
+	}
+
+	/**
+	 * Gets a geometry factory for geometries in world coordinates by the given geometry factory. If it uses this
+	 * factory, a geometry factory with the same precision model and SRID, but the default coordinate sequences is
+	 * returned, otherwise the given one is kept.
+	 * @param geomFactory geometry factory
+	 * @return geometry factory
+	 */
+	static GeometryFactory getWorldGeometryFactory(GeometryFactory geomFactory)
+	{
+		if (geomFactory.getCoordinateSequenceFactory() instanceof IntCoordinateSequenceFactory)
+		{
+			return new GeometryFactory(geomFactory.getPrecisionModel(), geomFactory.getSRID());
+		}
+		return geomFactory;
+	}
+
+	/**
+	 * Creates a sequence of the given coordinates. Only x and y are kept.
+	 * @throws IllegalArgumentException if an ordinate is not an integer
+	 */
+	@Override
+	public CoordinateSequence create(Coordinate[] coordinates)
+	{
+		return IntCoordinateSequence.of(coordinates);
+	}
+
+	/**
+	 * Creates a copy of the given sequence. Only x and y are kept.
+	 * @throws IllegalArgumentException if an ordinate is not an integer
+	 */
+	@Override
+	public CoordinateSequence create(CoordinateSequence coordSeq)
+	{
+		return IntCoordinateSequence.of(coordSeq);
+	}
+
+	@Override
+	public CoordinateSequence create(int size, int dimension)
+	{
+		return new IntCoordinateSequence(size);
+	}
+
+	/**
+	 * Keep the singleton on deserialization.
+	 * @return singleton instance
+	 */
+	private Object readResolve()
+	{
+		return INSTANCE;
+	}
+}
@@ -3,15 +3,13 @@ package io.github.sebasbaumh.mapbox.vectortile.adapt.jts;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.List;
 
 import javax.annotation.Nullable;
 
 import org.eclipse.jdt.annotation.DefaultLocation;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.locationtech.jts.algorithm.Area;
-import org.locationtech.jts.geom.Coordinate;
-import org.locationtech.jts.geom.CoordinateArrays;
+import org.locationtech.jts.geom.CoordinateSequence;
 import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.GeometryCollection;
@@ -23,14 +21,18 @@ import org.locationtech.jts.geom.MultiPolygon;
 import org.locationtech.jts.geom.Point;
 import org.locationtech.jts.geom.Polygon;
 import org.locationtech.jts.geom.TopologyException;
-import org.locationtech.jts.geom.util.AffineTransformation;
+import org.locationtech.jts.simplify.DouglasPeuckerSimplifier;
 import org.locationtech.jts.simplify.TopologyPreservingSimplifier;
+import org.locationtech.jts.simplify.VWSimplifier;
 
 import io.github.sebasbaumh.mapbox.vectortile.VectorTile;
 import io.github.sebasbaumh.mapbox.vectortile.VectorTile.Tile.GeomType;
+import io.github.sebasbaumh.mapbox.vectortile.build.ClipStrategy;
 import io.github.sebasbaumh.mapbox.vectortile.build.MvtLayerParams;
 import io.github.sebasbaumh.mapbox.vectortile.build.MvtLayerProps;
+import io.github.sebasbaumh.mapbox.vectortile.build.Simplification;
 import io.github.sebasbaumh.mapbox.vectortile.util.GeomCmd;
+import io.github.sebasbaumh.mapbox.vectortile.util.IntArrayList;
 import io.github.sebasbaumh.mapbox.vectortile.util.MvtUtil;
 import io.github.sebasbaumh.mapbox.vectortile.util.Vec2d;
 
@@ -60,7 +62,8 @@ public final class JtsAdapter
 		// short cut for simple geometries
 		if (!(geometry instanceof GeometryCollection))
 		{
-			VectorTile.Tile.Feature nextFeature = toFeature(geometry, layerProps, userDataConverter);
+			VectorTile.Tile.Feature nextFeature = toFeature(geometry, layerProps, userDataConverter,
+					new IntArrayList(), new Vec2d());
 			if (nextFeature != null)
 			{
 				layerBuilder.addFeatures(nextFeature);
@@ -85,9 +88,12 @@ public final class JtsAdapter
 	public static void addFeatures(VectorTile.Tile.Layer.Builder layerBuilder, Iterable<Geometry> geometries,
 			MvtLayerProps layerProps, @Nullable IUserDataConverter userDataConverter)
 	{
+		// buffers are shared by all features
+		IntArrayList geomCmds = new IntArrayList();
+		Vec2d cursor = new Vec2d();
 		for (Geometry geom : geometries)
 		{
-			VectorTile.Tile.Feature nextFeature = toFeature(geom, layerProps, userDataConverter);
+			VectorTile.Tile.Feature nextFeature = toFeature(geom, layerProps, userDataConverter, geomCmds, cursor);
 			if (nextFeature != null)
 			{
 				layerBuilder.addFeatures(nextFeature);
@@ -117,7 +123,7 @@ public final class JtsAdapter
 	 * @param geom geometry to flatten
 	 * @return list of MVT-feature-ready geometries
 	 */
-	private static Collection<Geometry> collectFlatGeometries(Geometry geom)
+	static Collection<Geometry> collectFlatGeometries(Geometry geom)
 	{
 		// short cut for simple geometries
 		if (geom instanceof Point || geom instanceof MultiPoint || geom instanceof LineString
@@ -156,24 +162,27 @@ public final class JtsAdapter
 
 	/**
 	 * <p>
-	 * Count number of coordinates starting from the end of the coordinate array backwards that match the first
-	 * coordinate value.
+	 * Count number of coordinates starting from the end of the coordinate sequence backwards that match the first
+	 * coordinate value (when their ordinates are cast as ints).
 	 * </p>
 	 * <p>
 	 * Useful for ensuring self-closing line strings do not repeat the first coordinate.
 	 * </p>
 	 * @param coords coordinates to check for duplicate points
+	 * @param reverse if the sequence should be treated as reversed
 	 * @return number of duplicate points at the rear of the list
 	 */
-	private static int countCoordRepeatReverse(Coordinate[] coords)
+	private static int countCoordRepeatReverse(CoordinateSequence coords, boolean reverse)
 	{
+		final int size = coords.size();
 		int repeatCoords = 0;
-		final Coordinate firstCoord = coords[0];
-		Coordinate nextCoord;
-		for (int i = coords.length - 1; i > 0; --i)
+		final int firstIndex = reverse ? size - 1 : 0;
+		final int firstX = (int) coords.getX(firstIndex);
+		final int firstY = (int) coords.getY(firstIndex);
+		for (int i = size - 1; i > 0; --i)
 		{
-			nextCoord = coords[i];
-			if (equalAsInts2d(firstCoord, nextCoord))
+			final int index = reverse ? size - 1 - i : i;
+			if (((int) coords.getX(index) == firstX) && ((int) coords.getY(index) == firstY))
 			{
 				repeatCoords++;
 			}
@@ -194,7 +203,7 @@ public final class JtsAdapter
 	 * @param geom original 'source' geometry
 	 * @param tileEnvelope world coordinate bounds for tile
 	 * @param clipEnvelope world coordinates to clip tile by
-	 * @param geomFactory creates a geometry for the tile envelope
+	 * @param geomFactory creates a geometry for the tile envelope and the tile geometries
 	 * @param mvtLayerParams specifies vector tile properties
 	 * @param filter geometry values that fail filter after transforms are removed (can be null for no filter)
 	 * @return tile geometry
@@ -203,59 +212,178 @@ public final class JtsAdapter
 	public static Geometry createTileGeom(Geometry geom, Envelope tileEnvelope, Envelope clipEnvelope,
 			GeometryFactory geomFactory, MvtLayerParams mvtLayerParams, @Nullable IGeometryFilter filter)
 	{
-		double xDiff = tileEnvelope.getWidth();
-		double yDiff = tileEnvelope.getHeight();
-		double xOffset = -tileEnvelope.getMinX();
-		double yOffset = -tileEnvelope.getMinY();
-
-		// build transformation to transform geometry to the tile
-		AffineTransformation t = new AffineTransformation();
-		// Transform Setup: Shift to 0 as minimum value
-		t.translate(xOffset, yOffset);
-		// Transform Setup: Scale X and Y to tile extent values, flip Y values
-		t.scale(1d / (xDiff / mvtLayerParams.getExtent()), -1d / (yDiff / mvtLayerParams.getExtent()));
-		// Transform Setup: Bump Y values to positive quadrant
-		t.translate(0d, mvtLayerParams.getExtent());
-
-		// The area contained in BOTH the 'original geometry', g, AND the 'clip envelope geometry' is the 'tile
-		// geometry'
-		Geometry clipEnvelopeGeometry = geomFactory.toGeometry(clipEnvelope);
+		return createTileGeom(geom, tileEnvelope, clipEnvelope, geomFactory, mvtLayerParams, filter, -1);
+	}
+
+	/**
+	 * Create geometry clipped and then converted to MVT 'extent' coordinates.
+	 * <p>
+	 * Uses the same tile and clipping coordinates. May cause rendering issues on boundaries for polygons or line
+	 * geometry depending on styling.
+	 * </p>
+	 * @param geom original 'source' geometry
+	 * @param tileEnvelope world coordinate bounds for tile
+	 * @param clipEnvelope world coordinates to clip tile by
+	 * @param geomFactory creates a geometry for the tile envelope and the tile geometries
+	 * @param mvtLayerParams specifies vector tile properties
+	 * @param filter geometry values that fail filter after transforms are removed (can be null for no filter)
+	 * @param zoom zoom level of the tile to choose the simplification tolerance (a negative value if unknown, see
+	 *            {@link MvtLayerParams#getSimplificationTolerance(int)})
+	 * @return tile geometry
+	 * @throws TopologyException if a robustness error occurs
+	 */
+	public static Geometry createTileGeom(Geometry geom, Envelope tileEnvelope, Envelope clipEnvelope,
+			GeometryFactory geomFactory, MvtLayerParams mvtLayerParams, @Nullable IGeometryFilter filter, int zoom)
+	{
+		return createTileGeom(geom, tileEnvelope, clipEnvelope, geomFactory, mvtLayerParams, filter, zoom, null);
+	}
 
+	/**
+	 * Create geometry clipped and then converted to MVT 'extent' coordinates.
+	 * <p>
+	 * Uses the same tile and clipping coordinates. May cause rendering issues on boundaries for polygons or line
+	 * geometry depending on styling.
+	 * </p>
+	 * @param geom original 'source' geometry
+	 * @param tileEnvelope world coordinate bounds for tile
+	 * @param clipEnvelope world coordinates to clip tile by
+	 * @param geomFactory creates a geometry for the tile envelope and the tile geometries
+	 * @param mvtLayerParams specifies vector tile properties
+	 * @param filter geometry values that fail filter after transforms are removed (can be null for no filter)
+	 * @param zoom zoom level of the tile to choose the simplification tolerance (a negative value if unknown, see
+	 *            {@link MvtLayerParams#getSimplificationTolerance(int)})
+	 * @param stats statistics to count how geometries were clipped (can be null)
+	 * @return tile geometry
+	 * @throws TopologyException if a robustness error occurs
+	 */
+	public static Geometry createTileGeom(Geometry geom, Envelope tileEnvelope, Envelope clipEnvelope,
+			GeometryFactory geomFactory, MvtLayerParams mvtLayerParams, @Nullable IGeometryFilter filter, int zoom,
+			@Nullable TileGeomStats stats)
+	{
 		// work around issues with JTS 1.14 not supporting intersection on a GeometryCollection by collecting all
 		// contained geometries
 		Collection<Geometry> flatGeometries = collectFlatGeometries(geom);
 		// now intersect them with the tile
 		ArrayList<Geometry> intersectedGeoms = new ArrayList<Geometry>(flatGeometries.size());
-		for (Geometry flatGeom : flatGeometries)
+		clipGeometries(flatGeometries, clipEnvelope, geomFactory, mvtLayerParams.getClipStrategy(), intersectedGeoms,
+				stats);
+		return toTileGeometry(intersectedGeoms, tileEnvelope, geomFactory, mvtLayerParams, filter, zoom);
+	}
+
+	/**
+	 * Clips the given geometries by the given envelope.
+	 * <p>
+	 * The area contained in BOTH the 'original geometry' AND the 'clip envelope geometry' is the 'tile geometry'.
+	 * Geometries completely inside the envelope are taken as they are. Others are calculated by a full overlay
+	 * operation or by a fast rectangle clipper depending on the clipping strategy. The rectangle clipper falls back to
+	 * the overlay operation for geometries it cannot clip (see {@link RectangleClipper#clip(Geometry)}).
+	 * </p>
+	 * @param geoms flat geometries (see {@link #collectFlatGeometries(Geometry)})
+	 * @param clipEnvelope world coordinates to clip by
+	 * @param geomFactory geometry factory (its precision model and SRID are used if it creates
+	 *            {@link IntCoordinateSequence}s, which cannot hold world coordinates)
+	 * @param clipStrategy clipping strategy
+	 * @param intersectedGeoms list to add the non-empty clipped geometries to (including their user data)
+	 * @param stats statistics to count how geometries were clipped (can be null)
+	 * @throws TopologyException if a robustness error occurs
+	 */
+	static void clipGeometries(Collection<Geometry> geoms, Envelope clipEnvelope, GeometryFactory geomFactory,
+			ClipStrategy clipStrategy, Collection<Geometry> intersectedGeoms, @Nullable TileGeomStats stats)
+	{
+		GeometryFactory worldGeomFactory = IntCoordinateSequenceFactory.getWorldGeometryFactory(geomFactory);
+		RectangleClipper clipper = null;
+		Geometry clipEnvelopeGeometry = null;
+		for (Geometry flatGeom : geoms)
 		{
+			Envelope env = flatGeom.getEnvelopeInternal();
 			// AABB intersection culling
-			if (clipEnvelope.intersects(flatGeom.getEnvelopeInternal()))
+			if (!clipEnvelope.intersects(env))
+			{
+				if (stats != null)
+				{
+					stats.addOutside();
+				}
+				continue;
+			}
+			// no need to clip geometries completely inside (e.g. all points intersecting the envelope)
+			if (clipEnvelope.covers(env))
+			{
+				if (!flatGeom.isEmpty())
+				{
+					intersectedGeoms.add(flatGeom);
+				}
+				if (stats != null)
+				{
+					stats.addContained();
+				}
+				continue;
+			}
+			Geometry nextIntersected = null;
+			if (clipStrategy == ClipStrategy.RECTANGLE)
 			{
-				Geometry nextIntersected = clipEnvelopeGeometry.intersection(flatGeom);
-				if (!nextIntersected.isEmpty())
+				if (clipper == null)
 				{
-					// copy user data
-					nextIntersected.setUserData(flatGeom.getUserData());
-					intersectedGeoms.add(nextIntersected);
+					clipper = new RectangleClipper(clipEnvelope, worldGeomFactory);
 				}
+				nextIntersected = clipper.clip(flatGeom);
+			}
+			if (nextIntersected == null)
+			{
+				if (clipEnvelopeGeometry == null)
+				{
+					clipEnvelopeGeometry = worldGeomFactory.toGeometry(clipEnvelope);
+				}
+				nextIntersected = clipEnvelopeGeometry.intersection(flatGeom);
+				if (stats != null)
+				{
+					stats.addOverlay();
+				}
+			}
+			else if (stats != null)
+			{
+				stats.addClipped();
+			}
+			if (!nextIntersected.isEmpty())
+			{
+				// copy user data
+				nextIntersected.setUserData(flatGeom.getUserData());
+				intersectedGeoms.add(nextIntersected);
 			}
 		}
+	}
 
+	/**
+	 * Converts the given geometries to MVT 'extent' coordinates and simplifies them.
+	 * @param intersectedGeoms geometries already clipped to the tile
+	 * @param tileEnvelope world coordinate bounds for tile
+	 * @param geomFactory geometry factory for the tile geometries
+	 * @param mvtLayerParams specifies vector tile properties
+	 * @param filter geometry values that fail filter after transforms are removed (can be null for no filter)
+	 * @param zoom zoom level of the tile (a negative value if unknown)
+	 * @return tile geometry
+	 */
+	static Geometry toTileGeometry(Collection<Geometry> intersectedGeoms, Envelope tileEnvelope,
+			GeometryFactory geomFactory, MvtLayerParams mvtLayerParams, @Nullable IGeometryFilter filter, int zoom)
+	{
 		ArrayList<Geometry> transformedGeoms = new ArrayList<Geometry>(intersectedGeoms.size());
 		// Transform intersected geometry
+		TileGeomTransformer transformer = new TileGeomTransformer(tileEnvelope, mvtLayerParams.getExtent());
+		// simplification tolerance in MVT coordinates
+		double tolerance = getSimplificationTolerance(mvtLayerParams, zoom);
 		Geometry nextTransformGeom;
 		for (Geometry nextInterGeom : intersectedGeoms)
 		{
 			// get user data of base geometry
 			Object nextUserData = nextInterGeom.getUserData();
-			// transform it to tile
-			nextTransformGeom = t.transform(nextInterGeom);
-			// round its coordinates to integer (though they are still stored as doubles)
-			nextTransformGeom.apply(RoundingFilter.INSTANCE);
-
-			// TODO: Refactor line simplification
-			nextTransformGeom = TopologyPreservingSimplifier.simplify(nextTransformGeom, .1d); // Can't use 0d, specify
-																								// value < .5d
+			// transform it to tile and round its coordinates to integer
+			nextTransformGeom = transformer.transform(nextInterGeom, geomFactory);
+
+			// simplify it (if anything can be removed)
+			if ((mvtLayerParams.getSimplification() != Simplification.NONE)
+					&& TileGeomTransformer.isSimplifiable(nextTransformGeom))
+			{
+				nextTransformGeom = simplify(nextTransformGeom, mvtLayerParams.getSimplification(), tolerance);
+			}
 			// Apply filter on transformed geometry (if any)
 			if ((filter == null) || filter.accept(nextTransformGeom))
 			{
@@ -281,7 +409,7 @@ public final class JtsAdapter
 	 * </p>
 	 * @param geom original 'source' geometry
 	 * @param tileEnvelope world coordinate bounds for tile
-	 * @param geomFactory creates a geometry for the tile envelope
+	 * @param geomFactory creates a geometry for the tile envelope and the tile geometries
 	 * @param mvtLayerParams specifies vector tile properties
 	 * @param filter geometry values that fail filter after transforms are removed (can be null for no filter)
 	 * @return tile geometry
@@ -293,17 +421,38 @@ public final class JtsAdapter
 	}
 
 	/**
-	 * Return true if the values of the two {@link Coordinate} are equal when their first and second ordinates are cast
-	 * as ints. Ignores 3rd ordinate.
-	 * @param a first coordinate to compare
-	 * @param b second coordinate to compare
-	 * @return true if the values of the two {@link Coordinate} are equal when their first and second ordinates are cast
-	 *         as ints
+	 * Gets the simplification tolerance in MVT 'extent' coordinates.
+	 * @param mvtLayerParams specifies vector tile properties
+	 * @param zoom zoom level (a negative value if unknown)
+	 * @return simplification tolerance
+	 */
+	private static double getSimplificationTolerance(MvtLayerParams mvtLayerParams, int zoom)
+	{
+		// tolerance is given in tile pixels, but can't use 0d, so use at least a value < .5d to remove collinear
+		// points on the integer grid
+		return Math.max(mvtLayerParams.getSimplificationTolerance(zoom) * mvtLayerParams.getRatio(), .1d);
+	}
+
+	/**
+	 * Simplifies the given geometry in MVT 'extent' coordinates.
+	 * @param geom geometry
+	 * @param simplification simplification strategy
+	 * @param tolerance simplification tolerance
+	 * @return simplified geometry
 	 */
-	private static boolean equalAsInts2d(Coordinate a, Coordinate b)
+	private static Geometry simplify(Geometry geom, Simplification simplification, double tolerance)
 	{
-		return ((int) a.getOrdinate(0)) == ((int) b.getOrdinate(0))
-				&& ((int) a.getOrdinate(1)) == ((int) b.getOrdinate(1));
+		switch (simplification)
+		{
+			case DOUGLAS_PEUCKER:
+				return DouglasPeuckerSimplifier.simplify(geom, tolerance);
+			case TOPOLOGY_PRESERVING:
+				return TopologyPreservingSimplifier.simplify(geom, tolerance);
+			case VISVALINGAM_WHYATT:
+				return VWSimplifier.simplify(geom, tolerance);
+			default:
+				return geom;
+		}
 	}
 
 	/**
@@ -331,8 +480,8 @@ public final class JtsAdapter
 
 	/**
 	 * <p>
-	 * Convert a {@link LineString} or {@link Polygon} to a list of MVT geometry drawing commands. A
-	 * {@link MultiLineString} or {@link MultiPolygon} can be encoded by calling this method multiple times.
+	 * Convert the coordinates of a {@link LineString} or a {@link Polygon} ring to a list of MVT geometry drawing
+	 * commands. A {@link MultiLineString} or {@link MultiPolygon} can be encoded by calling this method multiple times.
 	 * </p>
 	 * <p>
 	 * See <a href="https://github.com/mapbox/vector-tile-spec">vector-tile-spec</a> for details.
@@ -340,51 +489,55 @@ public final class JtsAdapter
 	 * <p>
 	 * WARNING: The value of the {@code cursor} parameter is modified as a result of calling this method.
 	 * </p>
-	 * @param geom input of type {@link LineString} or {@link Polygon}. Type is NOT checked and expected to be correct.
+	 * @param geomCoords coordinates of the line or ring
 	 * @param closeEnabled whether a 'ClosePath' command should terminate the command list
+	 * @param reverse whether the coordinates should be encoded in reverse order (to fix the winding order)
 	 * @param cursor modified during processing to contain next MVT cursor position
 	 * @param minLineToLen minimum allowed length for LineTo command.
-	 * @return list of commands
+	 * @param geomCmds buffer to append the commands to (it is left unchanged on failure)
+	 * @return true if commands were appended, else false
 	 */
-	private static Collection<Integer> linesToGeomCmds(final Geometry geom, final boolean closeEnabled,
-			final Vec2d cursor, final int minLineToLen)
+	private static boolean linesToGeomCmds(final CoordinateSequence geomCoords, final boolean closeEnabled,
+			final boolean reverse, final Vec2d cursor, final int minLineToLen, final IntArrayList geomCmds)
 	{
-		Coordinate[] geomCoords = geom.getCoordinates();
+		final int coordCount = geomCoords.size();
+		// Guard/Optimization: Not enough geometry coordinates for a line
+		if (coordCount < 2)
+		{
+			return false;
+		}
 		// Calculate the geometry coordinate count for processing that supports ignoring repeated final points
 		int geomProcCoordCount;
 		if (closeEnabled)
 		{
 			// Check geometry for repeated end points when closing (Polygon rings)
-			int repeatEndCoordCount = countCoordRepeatReverse(geomCoords);
-			geomProcCoordCount = geomCoords.length - repeatEndCoordCount;
+			int repeatEndCoordCount = countCoordRepeatReverse(geomCoords, reverse);
+			geomProcCoordCount = coordCount - repeatEndCoordCount;
 		}
 		else
 		{
 			// No closing (Line strings)
-			geomProcCoordCount = geomCoords.length;
+			geomProcCoordCount = coordCount;
 		}
 
 		// Guard/Optimization: Not enough geometry coordinates for a line
 		if (geomProcCoordCount < 2)
 		{
-			return Collections.emptyList();
+			return false;
 		}
 
-		// Save cursor position if failure creating geometry occurs
-		final Vec2d origCursorPos = new Vec2d(cursor);
-
-		/** Tile commands and parameters */
-		final ArrayList<Integer> geomCmds = new ArrayList<Integer>(
-				geomCmdBuffLenLines(geomProcCoordCount, closeEnabled));
+		// Save cursor position and buffer size if failure creating geometry occurs
+		final int origCursorX = cursor.getX();
+		final int origCursorY = cursor.getY();
+		final int origSize = geomCmds.size();
+		geomCmds.ensureCapacity(origSize + geomCmdBuffLenLines(geomProcCoordCount, closeEnabled));
 
 		// Initial coordinate
-		Coordinate nextCoord = geomCoords[0];
-		/** Holds next MVT coordinate */
-		final Vec2d mvtPos = new Vec2d((int) nextCoord.x, (int) nextCoord.y);
+		int index = reverse ? coordCount - 1 : 0;
 
 		// Encode initial 'MoveTo' command
 		geomCmds.add(MvtUtil.geomCmdHdr(GeomCmd.MOVE_TO, 1));
-		moveCursor(cursor, geomCmds, mvtPos);
+		moveCursor(cursor, geomCmds, (int) geomCoords.getX(index), (int) geomCoords.getY(index));
 
 		/** Index of 'LineTo' 'command header' */
 		final int lineToCmdHdrIndex = geomCmds.size();
@@ -397,15 +550,15 @@ public final class JtsAdapter
 
 		for (int i = 1; i < geomProcCoordCount; ++i)
 		{
-			nextCoord = geomCoords[i];
-			mvtPos.setX((int) nextCoord.x);
-			mvtPos.setY((int) nextCoord.y);
+			index = reverse ? coordCount - 1 - i : i;
+			int x = (int) geomCoords.getX(index);
+			int y = (int) geomCoords.getY(index);
 
 			// Ignore duplicate MVT points in sequence
-			if (!cursor.equals(mvtPos))
+			if ((x != cursor.getX()) || (y != cursor.getY()))
 			{
 				++lineToLength;
-				moveCursor(cursor, geomCmds, mvtPos);
+				moveCursor(cursor, geomCmds, x, y);
 			}
 		}
 
@@ -417,37 +570,38 @@ public final class JtsAdapter
 			{
 				geomCmds.add(MvtUtil.CLOSE_PATH_HDR);
 			}
-			return geomCmds;
+			return true;
 		}
 		else
 		{
-			// Revert cursor position
-			cursor.set(origCursorPos);
+			// Revert cursor position and buffer
+			cursor.set(origCursorX, origCursorY);
+			geomCmds.truncate(origSize);
 
 			// Invalid geometry, need at least 1 'LineTo' value to make a Multiline or Polygon
-			return Collections.emptyList();
+			return false;
 		}
 	}
 
 	/**
 	 * <p>
-	 * Appends {@link MvtUtil#encodeZigZag(int)} of delta in x,y from {@code cursor} to {@code mvtPos} into the
+	 * Appends {@link MvtUtil#encodeZigZag(int)} of delta in x,y from {@code cursor} to the given position into the
 	 * {@code geomCmds} buffer.
 	 * </p>
 	 * <p>
-	 * Afterwards, the {@code cursor} values are changed to match the {@code mvtPos} values.
+	 * Afterwards, the {@code cursor} values are changed to match the given position.
 	 * </p>
 	 * @param cursor MVT cursor position
-	 * @param geomCmds geometry command list
-	 * @param mvtPos next MVT cursor position
+	 * @param geomCmds geometry command buffer
+	 * @param x next MVT cursor x position
+	 * @param y next MVT cursor y position
 	 */
-	private static void moveCursor(Vec2d cursor, List<Integer> geomCmds, Vec2d mvtPos)
+	private static void moveCursor(Vec2d cursor, IntArrayList geomCmds, int x, int y)
 	{
 		// Delta, then zigzag
-		geomCmds.add(MvtUtil.encodeZigZag(mvtPos.getX() - cursor.getX()));
-		geomCmds.add(MvtUtil.encodeZigZag(mvtPos.getY() - cursor.getY()));
+		geomCmds.add(MvtUtil.encodeZigZag(x - cursor.getX()), MvtUtil.encodeZigZag(y - cursor.getY()));
 		// store new position
-		cursor.set(mvtPos);
+		cursor.set(x, y);
 	}
 
 	/**
@@ -460,49 +614,57 @@ public final class JtsAdapter
 	 * </p>
 	 * @param geom input of type {@link Point} or {@link MultiPoint}. Type is NOT checked and expected to be correct.
 	 * @param cursor modified during processing to contain next MVT cursor position
-	 * @return list of commands
+	 * @param geomCmds buffer to append the commands to (it is left unchanged on failure)
+	 * @return true if commands were appended, else false
 	 */
-	private static List<Integer> ptsToGeomCmds(final Geometry geom, final Vec2d cursor)
+	private static boolean ptsToGeomCmds(final Geometry geom, final Vec2d cursor, final IntArrayList geomCmds)
 	{
 		// Guard: empty geometry coordinates
-		Coordinate[] geomCoords = geom.getCoordinates();
-		if (geomCoords.length == 0)
+		final int numPoints = geom.getNumPoints();
+		if (numPoints == 0)
 		{
-			return Collections.emptyList();
+			return false;
 		}
 
-		/** Tile commands and parameters */
-		ArrayList<Integer> geomCmds = new ArrayList<Integer>(geomCmdBuffLenPts(geomCoords.length));
+		final int origSize = geomCmds.size();
+		geomCmds.ensureCapacity(origSize + geomCmdBuffLenPts(numPoints));
 		/** Length of 'MoveTo' draw command */
 		int moveCmdLen = 0;
 
 		// Insert placeholder for 'MoveTo' command header
 		geomCmds.add(0);
 
-		for (int i = 0; i < geomCoords.length; ++i)
+		final int numGeometries = geom.getNumGeometries();
+		for (int i = 0; i < numGeometries; ++i)
 		{
-			Coordinate nextCoord = geomCoords[i];
-			Vec2d mvtPos = new Vec2d((int) nextCoord.x, (int) nextCoord.y);
+			// skip empty points
+			final CoordinateSequence coords = ((Point) geom.getGeometryN(i)).getCoordinateSequence();
+			if (coords.size() == 0)
+			{
+				continue;
+			}
+			int x = (int) coords.getX(0);
+			int y = (int) coords.getY(0);
 
 			// Ignore duplicate MVT points
-			if (i == 0 || !cursor.equals(mvtPos))
+			if (moveCmdLen == 0 || (x != cursor.getX()) || (y != cursor.getY()))
 			{
 				moveCmdLen++;
-				moveCursor(cursor, geomCmds, mvtPos);
+				moveCursor(cursor, geomCmds, x, y);
 			}
 		}
 
 		if (moveCmdLen <= MvtUtil.GEOM_CMD_HDR_LEN_MAX)
 		{
 			// Write 'MoveTo' command header to first index
-			geomCmds.set(0, MvtUtil.geomCmdHdr(GeomCmd.MOVE_TO, moveCmdLen));
-
-			return geomCmds;
+			geomCmds.set(origSize, MvtUtil.geomCmdHdr(GeomCmd.MOVE_TO, moveCmdLen));
+			return true;
 		}
 		else
 		{
 			// Invalid geometry, need at least 1 'MoveTo' value to make points
-			return Collections.emptyList();
+			geomCmds.truncate(origSize);
+			return false;
 		}
 	}
 
@@ -511,11 +673,13 @@ public final class JtsAdapter
 	 * @param geom flat geometry (in MVT coordinates) that can be translated to a feature
 	 * @param layerProps layer properties for tagging features
 	 * @param userDataConverter (can be null for no converter)
+	 * @param geomCmds buffer for the geometry commands (reused between features)
+	 * @param cursor buffer for the MVT cursor position (reused between features)
 	 * @return new tile feature instance, or null on failure
 	 */
 	@Nullable
 	private static VectorTile.Tile.Feature toFeature(Geometry geom, MvtLayerProps layerProps,
-			@Nullable IUserDataConverter userDataConverter)
+			@Nullable IUserDataConverter userDataConverter, IntArrayList geomCmds, Vec2d cursor)
 	{
 		// Guard: UNKNOWN Geometry
 		final VectorTile.Tile.GeomType mvtGeomType = JtsAdapter.toGeomType(geom);
@@ -523,26 +687,61 @@ public final class JtsAdapter
 		{
 			return null;
 		}
+		if (!toGeomCmds(geom, mvtGeomType, geomCmds, cursor))
+		{
+			return null;
+		}
 
 		final VectorTile.Tile.Feature.Builder featureBuilder = VectorTile.Tile.Feature.newBuilder();
+		featureBuilder.setType(mvtGeomType);
+		// copy geometry commands without boxing them
+		final int[] cmds = geomCmds.getArray();
+		for (int i = 0; i < geomCmds.size(); i++)
+		{
+			featureBuilder.addGeometry(cmds[i]);
+		}
+
+		// add feature Properties?
+		if (userDataConverter != null)
+		{
+			Object userData = geom.getUserData();
+			if (userData != null)
+			{
+				userDataConverter.addTags(userData, layerProps, featureBuilder);
+			}
+		}
+		return featureBuilder.build();
+	}
+
+	/**
+	 * Encodes a geometry to MVT geometry commands.
+	 * @param geom flat geometry (in MVT coordinates)
+	 * @param mvtGeomType MVT type of the geometry (see {@link #toGeomType(Geometry)}), must not be
+	 *            {@link io.github.sebasbaumh.mapbox.vectortile.VectorTile.Tile.GeomType#UNKNOWN}
+	 * @param geomCmds buffer for the geometry commands, it will be cleared first
+	 * @param cursor buffer for the MVT cursor position
+	 * @return true if there are geometry commands, false if the geometry is empty or invalid
+	 */
+	static boolean toGeomCmds(Geometry geom, VectorTile.Tile.GeomType mvtGeomType, IntArrayList geomCmds,
+			Vec2d cursor)
+	{
 		// should the MVT geometry type be closed with a GeomCmd.ClosePath?
 		final boolean mvtClosePath = mvtGeomType == GeomType.POLYGON;
-		ArrayList<Integer> mvtGeom = new ArrayList<Integer>();
-		Vec2d cursor = new Vec2d();
-
-		featureBuilder.setType(mvtGeomType);
+		geomCmds.clear();
+		cursor.set(0, 0);
 
 		if (geom instanceof Point || geom instanceof MultiPoint)
 		{
 			// Encode as MVT point or multipoint
-			mvtGeom.addAll(ptsToGeomCmds(geom, cursor));
+			ptsToGeomCmds(geom, cursor, geomCmds);
 		}
 		else if (geom instanceof LineString || geom instanceof MultiLineString)
 		{
 			// Encode as MVT linestring or multi-linestring
 			for (int i = 0; i < geom.getNumGeometries(); ++i)
 			{
-				mvtGeom.addAll(linesToGeomCmds(geom.getGeometryN(i), mvtClosePath, cursor, 1));
+				linesToGeomCmds(((LineString) geom.getGeometryN(i)).getCoordinateSequence(), mvtClosePath, false,
+						cursor, 1, geomCmds);
 			}
 		}
 		else if (geom instanceof MultiPolygon || geom instanceof Polygon)
@@ -552,80 +751,52 @@ public final class JtsAdapter
 			{
 				final Polygon nextPoly = (Polygon) geom.getGeometryN(i);
 				// Add exterior ring
-				final LineString exteriorRing = nextPoly.getExteriorRing();
+				final CoordinateSequence exteriorRing = nextPoly.getExteriorRing().getCoordinateSequence();
 
 				// Area must be non-zero
-				final double exteriorArea = Area.ofRingSigned(exteriorRing.getCoordinates());
+				final double exteriorArea = Area.ofRingSigned(exteriorRing);
 				if (((int) Math.round(exteriorArea)) == 0)
 				{
 					continue;
 				}
 
+				// remember state to be able to drop the whole polygon
+				final int polyStart = geomCmds.size();
+				final int polyCursorX = cursor.getX();
+				final int polyCursorY = cursor.getY();
 				// Check CCW Winding (must be positive area in original coordinate system, MVT is positive-y-down, so
 				// inequality is flipped)
 				// See: https://docs.mapbox.com/vector-tiles/specification/#winding-order
-				if (exteriorArea > 0d)
-				{
-					CoordinateArrays.reverse(exteriorRing.getCoordinates());
-				}
+				linesToGeomCmds(exteriorRing, mvtClosePath, exteriorArea > 0d, cursor, 2, geomCmds);
 
-				ArrayList<Integer> nextPolyGeom = new ArrayList<Integer>();
-				nextPolyGeom.addAll(linesToGeomCmds(exteriorRing, mvtClosePath, cursor, 2));
-
-				boolean valid = true;
 				// Add interior rings
 				for (int ringIndex = 0; ringIndex < nextPoly.getNumInteriorRing(); ++ringIndex)
 				{
-					final LineString nextInteriorRing = nextPoly.getInteriorRingN(ringIndex);
+					final CoordinateSequence nextInteriorRing = nextPoly.getInteriorRingN(ringIndex)
+							.getCoordinateSequence();
 
 					// Area must be non-zero
-					final double interiorArea = Area.ofRingSigned(nextInteriorRing.getCoordinates());
+					final double interiorArea = Area.ofRingSigned(nextInteriorRing);
 					if (Math.round(interiorArea) != 0)
 					{
-						// Check CW Winding (must be negative area in original coordinate system, MVT is
-						// positive-y-down, so
-						// inequality is flipped)
-						// See: https://docs.mapbox.com/vector-tiles/specification/#winding-order
-						if (interiorArea < 0d)
-						{
-							CoordinateArrays.reverse(nextInteriorRing.getCoordinates());
-						}
-
 						// Interior ring area must be < exterior ring area, or entire geometry is invalid
 						if (Math.abs(exteriorArea) <= Math.abs(interiorArea))
 						{
-							valid = false;
+							geomCmds.truncate(polyStart);
+							cursor.set(polyCursorX, polyCursorY);
 							break;
 						}
 
-						nextPolyGeom.addAll(linesToGeomCmds(nextInteriorRing, mvtClosePath, cursor, 2));
+						// Check CW Winding (must be negative area in original coordinate system, MVT is
+						// positive-y-down, so inequality is flipped)
+						// See: https://docs.mapbox.com/vector-tiles/specification/#winding-order
+						linesToGeomCmds(nextInteriorRing, mvtClosePath, interiorArea < 0d, cursor, 2, geomCmds);
 					}
 				}
-
-				if (valid)
-				{
-					mvtGeom.addAll(nextPolyGeom);
-				}
 			}
 		}
 
-		if (mvtGeom.isEmpty())
-		{
-			return null;
-		}
-
-		featureBuilder.addAllGeometry(mvtGeom);
-
-		// add feature Properties?
-		if (userDataConverter != null)
-		{
-			Object userData = geom.getUserData();
-			if (userData != null)
-			{
-				userDataConverter.addTags(userData, layerProps, featureBuilder);
-			}
-		}
-		return featureBuilder.build();
+		return !geomCmds.isEmpty();
 	}
 
 	/**
@@ -15,6 +15,7 @@ import io.github.sebasbaumh.mapbox.vectortile.adapt.jts.model.JtsMvt;
 import io.github.sebasbaumh.mapbox.vectortile.build.MvtLayerParams;
 import io.github.sebasbaumh.mapbox.vectortile.build.MvtLayerProps;
 import io.github.sebasbaumh.mapbox.vectortile.util.MvtUtil;
+import io.github.sebasbaumh.mapbox.vectortile.util.MvtValueEncoding;
 
 /**
  * Convenience class allows easy encoding of a {@link JtsMvt} to bytes.
@@ -56,6 +57,21 @@ public final class MvtEncoder
 		return encodeToTile(mvt, mvtLayerParams, userDataConverter).toByteArray();
 	}
 
+	/**
+	 * Encode a {@link JtsMvt} to byte[] ready for writing to a file.
+	 * @param mvt input to encode to bytes
+	 * @param mvtLayerParams tile creation parameters
+	 * @param userDataConverter converts {@link Geometry#getUserData()} to MVT feature tags (can be null for no
+	 *            converter)
+	 * @param valueEncoding encoding policy of the values
+	 * @return bytes ready for writing to a .mvt
+	 */
+	public static byte[] encode(JtsMvt mvt, MvtLayerParams mvtLayerParams,
+			@Nullable IUserDataConverter userDataConverter, MvtValueEncoding valueEncoding)
+	{
+		return encodeToTile(mvt, mvtLayerParams, userDataConverter, false, valueEncoding).toByteArray();
+	}
+
 	/**
 	 * Encode a {@link JtsMvt} to the given {@link OutputStream}.
 	 * @param out {@link OutputStream}
@@ -64,11 +80,32 @@ public final class MvtEncoder
 	 * @param userDataConverter converts {@link Geometry#getUserData()} to MVT feature tags (can be null for no
 	 *            converter)
 	 * @throws IOException
+	 * @see MvtWriter
 	 */
 	public static void encodeTo(OutputStream out, JtsMvt mvt, MvtLayerParams mvtLayerParams,
 			@Nullable IUserDataConverter userDataConverter) throws IOException
 	{
-		encodeToTile(mvt, mvtLayerParams, userDataConverter).writeTo(out);
+		encodeTo(out, mvt, mvtLayerParams, userDataConverter, MvtValueEncoding.DEFAULT);
+	}
+
+	/**
+	 * Encode a {@link JtsMvt} to the given {@link OutputStream}.
+	 * @param out {@link OutputStream}
+	 * @param mvt input to encode to bytes
+	 * @param mvtLayerParams tile creation parameters
+	 * @param userDataConverter converts {@link Geometry#getUserData()} to MVT feature tags (can be null for no
+	 *            converter)
+	 * @param valueEncoding encoding policy of the values
+	 * @throws IOException
+	 * @see MvtWriter
+	 */
+	public static void encodeTo(OutputStream out, JtsMvt mvt, MvtLayerParams mvtLayerParams,
+			@Nullable IUserDataConverter userDataConverter, MvtValueEncoding valueEncoding) throws IOException
+	{
+		// stream the layers to avoid building the whole tile in memory
+		MvtWriter writer = new MvtWriter(out, userDataConverter, null, valueEncoding);
+		writer.write(mvt, mvtLayerParams);
+		writer.flush();
 	}
 
 	/**
@@ -81,6 +118,42 @@ public final class MvtEncoder
 	 */
 	public static VectorTile.Tile encodeToTile(JtsMvt mvt, MvtLayerParams mvtLayerParams,
 			@Nullable IUserDataConverter userDataConverter)
+	{
+		return encodeToTile(mvt, mvtLayerParams, userDataConverter, false);
+	}
+
+	/**
+	 * Encode a {@link JtsMvt} to a {@link io.github.sebasbaumh.mapbox.vectortile.VectorTile.Tile}.
+	 * @param mvt input to encode to bytes
+	 * @param mvtLayerParams tile creation parameters
+	 * @param userDataConverter converts {@link Geometry#getUserData()} to MVT feature tags (can be null for no
+	 *            converter)
+	 * @param orderPropsByFrequency true to order the keys and values of each layer by descending frequency for smaller
+	 *            feature tags, false to keep them in the order of their first use (see
+	 *            {@link MvtUtil#writePropsByFrequency(VectorTile.Tile.Layer.Builder, MvtLayerProps)})
+	 * @return {@link io.github.sebasbaumh.mapbox.vectortile.VectorTile.Tile}
+	 */
+	public static VectorTile.Tile encodeToTile(JtsMvt mvt, MvtLayerParams mvtLayerParams,
+			@Nullable IUserDataConverter userDataConverter, boolean orderPropsByFrequency)
+	{
+		return encodeToTile(mvt, mvtLayerParams, userDataConverter, orderPropsByFrequency, MvtValueEncoding.DEFAULT);
+	}
+
+	/**
+	 * Encode a {@link JtsMvt} to a {@link io.github.sebasbaumh.mapbox.vectortile.VectorTile.Tile}.
+	 * @param mvt input to encode to bytes
+	 * @param mvtLayerParams tile creation parameters
+	 * @param userDataConverter converts {@link Geometry#getUserData()} to MVT feature tags (can be null for no
+	 *            converter)
+	 * @param orderPropsByFrequency true to order the keys and values of each layer by descending frequency for smaller
+	 *            feature tags, false to keep them in the order of their first use (see
+	 *            {@link MvtUtil#writePropsByFrequency(VectorTile.Tile.Layer.Builder, MvtLayerProps)})
+	 * @param valueEncoding encoding policy of the values
+	 * @return {@link io.github.sebasbaumh.mapbox.vectortile.VectorTile.Tile}
+	 */
+	public static VectorTile.Tile encodeToTile(JtsMvt mvt, MvtLayerParams mvtLayerParams,
+			@Nullable IUserDataConverter userDataConverter, boolean orderPropsByFrequency,
+			MvtValueEncoding valueEncoding)
 	{
 		// Build MVT containing all layers
 		VectorTile.Tile.Builder tileBuilder = VectorTile.Tile.newBuilder();
@@ -88,9 +161,16 @@ public final class MvtEncoder
 		{
 			// Create MVT layer
 			VectorTile.Tile.Layer.Builder layerBuilder = MvtUtil.newLayerBuilder(layer.getName(), mvtLayerParams);
-			MvtLayerProps layerProps = new MvtLayerProps();
+			MvtLayerProps layerProps = new MvtLayerProps(valueEncoding);
 			JtsAdapter.addFeatures(layerBuilder, layer.getGeometries(), layerProps, userDataConverter);
-			MvtUtil.writeProps(layerBuilder, layerProps);
+			if (orderPropsByFrequency)
+			{
+				MvtUtil.writePropsByFrequency(layerBuilder, layerProps);
+			}
+			else
+			{
+				MvtUtil.writeProps(layerBuilder, layerProps);
+			}
 
 			// Build MVT layer
 			tileBuilder.addLayers(layerBuilder.build());
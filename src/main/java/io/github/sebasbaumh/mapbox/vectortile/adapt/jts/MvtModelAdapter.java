@@ -0,0 +1,174 @@
+package io.github.sebasbaumh.mapbox.vectortile.adapt.jts;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+import org.eclipse.jdt.annotation.DefaultLocation;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.geom.Polygon;
+
+import io.github.sebasbaumh.mapbox.vectortile.adapt.jts.MvtReader.RingClassifier;
+import io.github.sebasbaumh.mapbox.vectortile.adapt.jts.model.JtsLayer;
+import io.github.sebasbaumh.mapbox.vectortile.adapt.jts.model.JtsMvt;
+import io.github.sebasbaumh.mapbox.vectortile.model.MvtFeature;
+import io.github.sebasbaumh.mapbox.vectortile.model.MvtLayer;
+import io.github.sebasbaumh.mapbox.vectortile.util.IntArrayList;
+
+/**
+ * Converts {@link MvtLayer}s and {@link MvtFeature}s to JTS geometries on demand. The result is the same as the one of
+ * {@link MvtReader}.
+ */
+@NonNullByDefault({ DefaultLocation.PARAMETER, DefaultLocation.RETURN_TYPE })
+public final class MvtModelAdapter
+{
+	// prevent instantiating this class
+	@Deprecated
+	private MvtModelAdapter()
+	{
+	}
+
+	/**
+	 * Creates a coordinate sequence of the given coordinates of a feature.
+	 * @param feature feature
+	 * @param start index of the first coordinate
+	 * @param end index after the last coordinate
+	 * @param closed true to repeat the first coordinate at the end, else false
+	 * @param geomFactory allows for JTS geometry creation
+	 * @return coordinate sequence
+	 */
+	private static CoordinateSequence createCoordinateSequence(MvtFeature feature, int start, int end, boolean closed,
+			GeometryFactory geomFactory)
+	{
+		final int n = end - start;
+		final CoordinateSequence coordSeq = geomFactory.getCoordinateSequenceFactory().create(closed ? n + 1 : n,
+				2);
+		for (int i = 0; i < n; i++)
+		{
+			coordSeq.setOrdinate(i, 0, feature.getX(start + i));
+			coordSeq.setOrdinate(i, 1, feature.getY(start + i));
+		}
+		if (closed)
+		{
+			coordSeq.setOrdinate(n, 0, feature.getX(start));
+			coordSeq.setOrdinate(n, 1, feature.getY(start));
+		}
+		return coordSeq;
+	}
+
+	/**
+	 * Converts a feature to a JTS geometry in MVT coordinates.
+	 * @param feature feature
+	 * @param geomFactory allows for JTS geometry creation
+	 * @param ringClassifier determines how rings are parsed into Polygons and MultiPolygons
+	 * @return JTS geometry or null if the feature has no valid geometry
+	 */
+	@Nullable
+	public static Geometry toGeometry(MvtFeature feature, GeometryFactory geomFactory, RingClassifier ringClassifier)
+	{
+		final int numParts = feature.getPartCount();
+		if (numParts == 0)
+		{
+			return null;
+		}
+		switch (feature.getType())
+		{
+			case POINT:
+			{
+				final CoordinateSequence coordSeq = createCoordinateSequence(feature, 0, feature.getCoordinateCount(),
+						false, geomFactory);
+				return coordSeq.size() == 1 ? geomFactory.createPoint(coordSeq)
+						: geomFactory.createMultiPoint(coordSeq);
+			}
+			case LINESTRING:
+			{
+				final LineString[] lines = new LineString[numParts];
+				for (int part = 0; part < numParts; part++)
+				{
+					lines[part] = geomFactory.createLineString(createCoordinateSequence(feature,
+							feature.getPartStart(part), feature.getPartEnd(part), false, geomFactory));
+				}
+				return lines.length == 1 ? lines[0] : geomFactory.createMultiLineString(lines);
+			}
+			case POLYGON:
+			{
+				final List<LinearRing> rings = new ArrayList<LinearRing>(numParts);
+				for (int part = 0; part < numParts; part++)
+				{
+					rings.add(geomFactory.createLinearRing(createCoordinateSequence(feature, feature.getPartStart(part),
+							feature.getPartEnd(part), true, geomFactory)));
+				}
+				final List<Polygon> polygons = ringClassifier.classifyRings(rings, geomFactory);
+				if (polygons.isEmpty())
+				{
+					return null;
+				}
+				return polygons.size() == 1 ? polygons.get(0)
+						: geomFactory.createMultiPolygon(polygons.toArray(new Polygon[polygons.size()]));
+			}
+			default:
+				return null;
+		}
+	}
+
+	/**
+	 * Converts a layer to a JTS layer. Features without valid geometries are skipped.
+	 * @param layer layer
+	 * @param geomFactory allows for JTS geometry creation
+	 * @param tagConverter converts MVT feature tags to JTS user data object (can be null for no converter)
+	 * @param ringClassifier determines how rings are parsed into Polygons and MultiPolygons
+	 * @return JTS layer with geometry in MVT coordinates
+	 */
+	public static JtsLayer toJtsLayer(MvtLayer layer, GeometryFactory geomFactory,
+			@Nullable ITagConverter tagConverter, RingClassifier ringClassifier)
+	{
+		// the values of the layer are already decoded
+		final TagTable tagTable = (tagConverter != null) ? TagTable.of(layer) : null;
+		final IntArrayList tags = new IntArrayList();
+		final List<Geometry> geoms = new ArrayList<Geometry>(layer.getFeatures().size());
+		for (MvtFeature feature : layer.getFeatures())
+		{
+			final Geometry geom = toGeometry(feature, geomFactory, ringClassifier);
+			if (geom != null)
+			{
+				if ((tagConverter != null) && (tagTable != null))
+				{
+					tags.clear();
+					for (int tag : feature.getTags())
+					{
+						tags.add(tag);
+					}
+					geom.setUserData(tagConverter.toUserData(feature.hasId() ? Long.valueOf(feature.getId()) : null,
+							tags, tagTable));
+				}
+				geoms.add(geom);
+			}
+		}
+		return new JtsLayer(layer.getName(), geoms, layer.getExtent());
+	}
+
+	/**
+	 * Converts layers to a JTS MVT.
+	 * @param layers layers
+	 * @param geomFactory allows for JTS geometry creation
+	 * @param tagConverter converts MVT feature tags to JTS user data object (can be null for no converter)
+	 * @param ringClassifier determines how rings are parsed into Polygons and MultiPolygons
+	 * @return JTS MVT with geometry in MVT coordinates
+	 */
+	public static JtsMvt toJtsMvt(Iterable<MvtLayer> layers, GeometryFactory geomFactory,
+			@Nullable ITagConverter tagConverter, RingClassifier ringClassifier)
+	{
+		final List<JtsLayer> jtsLayers = new ArrayList<JtsLayer>();
+		for (MvtLayer layer : layers)
+		{
+			jtsLayers.add(toJtsLayer(layer, geomFactory, tagConverter, ringClassifier));
+		}
+		return new JtsMvt(jtsLayers);
+	}
+}
@@ -0,0 +1,234 @@
+package io.github.sebasbaumh.mapbox.vectortile.adapt.jts;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import javax.annotation.Nullable;
+
+import org.eclipse.jdt.annotation.DefaultLocation;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.locationtech.jts.geom.Envelope;
+
+import io.github.sebasbaumh.mapbox.vectortile.adapt.jts.MvtReader.RingClassifier;
+
+/**
+ * Immutable options for loading Mapbox Vector Tiles by {@link MvtReader}. The same options are accepted for all kinds
+ * of input (files, streams, byte arrays and buffers). Instances are created by a {@link Builder}, e.g.
+ *
+ * <pre>
+ * MvtReadOptions options = MvtReadOptions.builder().layerFilter(name -&gt; "roads".equals(name))
+ * 		.featureFilter(IFeatureFilter.hasKey("name")).keys(Set.of("name")).bounds(0, 0, 2048, 2048).build();
+ * </pre>
+ *
+ * @see MvtReader#loadMvt(java.io.InputStream, org.locationtech.jts.geom.GeometryFactory, ITagConverter,
+ *      MvtReadOptions)
+ */
+@NonNullByDefault({ DefaultLocation.PARAMETER, DefaultLocation.RETURN_TYPE })
+public final class MvtReadOptions
+{
+	/**
+	 * Options loading all layers, features and tags using the default ring classifier.
+	 */
+	public static final MvtReadOptions DEFAULT = builder().build();
+
+	/**
+	 * Bounds in MVT coordinates (can be null).
+	 */
+	@Nullable
+	private final Envelope bounds;
+	/**
+	 * Filter on the tags of the features (can be null).
+	 */
+	@Nullable
+	private final IFeatureFilter featureFilter;
+	/**
+	 * Keys of the tags to convert (can be null).
+	 */
+	@Nullable
+	private final Set<String> keys;
+	/**
+	 * Filter on the names of the layers (can be null).
+	 */
+	@Nullable
+	private final Predicate<String> layerFilter;
+	/**
+	 * Classifier for polygon rings.
+	 */
+	private final RingClassifier ringClassifier;
+
+	/**
+	 * Constructs an instance.
+	 * @param builder builder
+	 */
+	private MvtReadOptions(Builder builder)
+	{
+		this.bounds = (builder.bounds != null) ? new Envelope(builder.bounds) : null;
+		this.featureFilter = builder.featureFilter;
+		this.keys = (builder.keys != null) ? Set.copyOf(builder.keys) : null;
+		this.layerFilter = builder.layerFilter;
+		this.ringClassifier = builder.ringClassifier;
+	}
+
+	/**
+	 * Creates a builder initialized with the default options (see {@link #DEFAULT}).
+	 * @return builder
+	 */
+	public static Builder builder()
+	{
+		return new Builder();
+	}
+
+	/**
+	 * Gets the bounds in MVT coordinates. Only features whose geometry commands intersect the bounds are loaded.
+	 * @return bounds (null to load all features)
+	 */
+	@Nullable
+	public Envelope getBounds()
+	{
+		return (bounds != null) ? new Envelope(bounds) : null;
+	}
+
+	/**
+	 * Gets the filter on the tags of the features. The filter is resolved once per layer and tested on the tags of
+	 * each feature before its geometry is decoded.
+	 * @return filter (null to load all features)
+	 */
+	@Nullable
+	public IFeatureFilter getFeatureFilter()
+	{
+		return featureFilter;
+	}
+
+	/**
+	 * Gets the keys of the tags to pass to the {@link ITagConverter}. The values of all other tags are never decoded.
+	 * @return unmodifiable set of keys (null to convert all tags)
+	 */
+	@Nullable
+	public Set<String> getKeys()
+	{
+		return keys;
+	}
+
+	/**
+	 * Gets the filter on the names of the layers. Layers not accepted by it are skipped on the wire level.
+	 * @return filter (null to load all layers)
+	 */
+	@Nullable
+	public Predicate<String> getLayerFilter()
+	{
+		return layerFilter;
+	}
+
+	/**
+	 * Gets the classifier determining how rings are parsed into Polygons and MultiPolygons.
+	 * @return classifier
+	 */
+	public RingClassifier getRingClassifier()
+	{
+		return ringClassifier;
+	}
+
+	@Override
+	public String toString()
+	{
+		return this.getClass().getSimpleName() + " [bounds=" + bounds + ", featureFilter=" + featureFilter + ", keys="
+				+ keys + ", layerFilter=" + layerFilter + ", ringClassifier=" + ringClassifier + "]";
+	}
+
+	/**
+	 * Builder for {@link MvtReadOptions}. Instances are not thread-safe.
+	 */
+	public static final class Builder
+	{
+		@Nullable
+		private Envelope bounds;
+		@Nullable
+		private IFeatureFilter featureFilter;
+		@Nullable
+		private Set<String> keys;
+		@Nullable
+		private Predicate<String> layerFilter;
+		private RingClassifier ringClassifier = MvtReader.RING_CLASSIFIER_DEFAULT;
+
+		/**
+		 * Constructs an instance with the default options.
+		 */
+		Builder()
+		{
+		}
+
+		/**
+		 * Only loads the features intersecting the given rectangle in MVT coordinates (see
+		 * {@link MvtReadOptions#getBounds()}).
+		 * @param minX minimum x of the rectangle in MVT coordinates (inclusive)
+		 * @param minY minimum y of the rectangle in MVT coordinates (inclusive)
+		 * @param maxX maximum x of the rectangle in MVT coordinates (inclusive)
+		 * @param maxY maximum y of the rectangle in MVT coordinates (inclusive)
+		 * @return this builder
+		 * @throws IllegalArgumentException if the rectangle is empty
+		 */
+		public Builder bounds(int minX, int minY, int maxX, int maxY)
+		{
+			if ((minX > maxX) || (minY > maxY))
+			{
+				throw new IllegalArgumentException("bounds must not be empty");
+			}
+			this.bounds = new Envelope(minX, maxX, minY, maxY);
+			return this;
+		}
+
+		/**
+		 * Creates the options.
+		 * @return options
+		 */
+		public MvtReadOptions build()
+		{
+			return new MvtReadOptions(this);
+		}
+
+		/**
+		 * Sets the filter on the tags of the features (see {@link MvtReadOptions#getFeatureFilter()}).
+		 * @param featureFilter filter (can be null to load all features)
+		 * @return this builder
+		 */
+		public Builder featureFilter(@Nullable IFeatureFilter featureFilter)
+		{
+			this.featureFilter = featureFilter;
+			return this;
+		}
+
+		/**
+		 * Sets the keys of the tags to convert (see {@link MvtReadOptions#getKeys()}).
+		 * @param keys keys (can be null to convert all tags)
+		 * @return this builder
+		 */
+		public Builder keys(@Nullable Set<String> keys)
+		{
+			this.keys = keys;
+			return this;
+		}
+
+		/**
+		 * Sets the filter on the names of the layers (see {@link MvtReadOptions#getLayerFilter()}).
+		 * @param layerFilter filter (can be null to load all layers)
+		 * @return this builder
+		 */
+		public Builder layerFilter(@Nullable Predicate<String> layerFilter)
+		{
+			this.layerFilter = layerFilter;
+			return this;
+		}
+
+		/**
+		 * Sets the classifier for polygon rings (see {@link MvtReadOptions#getRingClassifier()}).
+		 * @param ringClassifier classifier
+		 * @return this builder
+		 */
+		public Builder ringClassifier(RingClassifier ringClassifier)
+		{
+			this.ringClassifier = Objects.requireNonNull(ringClassifier);
+			return this;
+		}
+	}
+}
@@ -4,8 +4,18 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import javax.annotation.Nullable;
 
@@ -14,6 +24,7 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.locationtech.jts.algorithm.Area;
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.geom.LineString;
@@ -25,16 +36,31 @@ import org.locationtech.jts.geom.Point;
 import org.locationtech.jts.geom.Polygon;
 import org.slf4j.LoggerFactory;
 
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+
 import io.github.sebasbaumh.mapbox.vectortile.VectorTile;
 import io.github.sebasbaumh.mapbox.vectortile.adapt.jts.model.JtsLayer;
 import io.github.sebasbaumh.mapbox.vectortile.adapt.jts.model.JtsMvt;
+import io.github.sebasbaumh.mapbox.vectortile.adapt.jts.model.LazyJtsMvt;
 import io.github.sebasbaumh.mapbox.vectortile.util.GeomCmd;
+import io.github.sebasbaumh.mapbox.vectortile.util.IntArrayList;
+import io.github.sebasbaumh.mapbox.vectortile.util.MvtCursor;
 import io.github.sebasbaumh.mapbox.vectortile.util.MvtUtil;
 import io.github.sebasbaumh.mapbox.vectortile.util.Vec2d;
 
 /**
  * Load Mapbox Vector Tiles (MVT) to JTS {@link Geometry}. Feature tags may be converted to user data via
  * {@link ITagConverter}.
+ * <p>
+ * Which layers, features and tags are loaded can be selected by {@link MvtReadOptions} for all kinds of input.
+ * </p>
+ * <p>
+ * The MVT coordinates are stored by the {@link org.locationtech.jts.geom.CoordinateSequenceFactory} of the given
+ * {@link GeometryFactory}. Use a factory with {@link IntCoordinateSequenceFactory#INSTANCE} to store the integer
+ * coordinates compactly in {@link IntCoordinateSequence}s.
+ * </p>
  * @see JtsMvt
  * @see JtsLayer
  */
@@ -54,7 +80,7 @@ public final class MvtReader
 	/**
 	 * Default ring classifier when it is not specified.
 	 */
-	private static final RingClassifier RING_CLASSIFIER_DEFAULT = RING_CLASSIFIER_V1;
+	static final RingClassifier RING_CLASSIFIER_DEFAULT = RING_CLASSIFIER_V1;
 
 	// prevent instantiating this class
 	@Deprecated
@@ -79,7 +105,7 @@ public final class MvtReader
 	public static JtsMvt loadMvt(File file, GeometryFactory geomFactory, @Nullable ITagConverter tagConverter)
 			throws IOException
 	{
-		return loadMvt(file, geomFactory, tagConverter, RING_CLASSIFIER_DEFAULT);
+		return loadMvt(file, geomFactory, tagConverter, MvtReadOptions.DEFAULT);
 	}
 
 	/**
@@ -98,12 +124,29 @@ public final class MvtReader
 	 */
 	public static JtsMvt loadMvt(File file, GeometryFactory geomFactory, @Nullable ITagConverter tagConverter,
 			RingClassifier ringClassifier) throws IOException
+	{
+		return loadMvt(file, geomFactory, tagConverter,
+				MvtReadOptions.builder().ringClassifier(ringClassifier).build());
+	}
+
+	/**
+	 * Convenience method for loading MVT from file. See
+	 * {@link #loadMvt(InputStream, GeometryFactory, ITagConverter, MvtReadOptions)}.
+	 * @param file path to the MVT
+	 * @param geomFactory allows for JTS geometry creation
+	 * @param tagConverter converts MVT feature tags to JTS user data object (can be null for no converter)
+	 * @param options options selecting the layers, features and tags to load
+	 * @return JTS MVT with geometry in MVT coordinates
+	 * @throws IOException failure reading MVT from path
+	 */
+	public static JtsMvt loadMvt(File file, GeometryFactory geomFactory, @Nullable ITagConverter tagConverter,
+			MvtReadOptions options) throws IOException
 	{
 		final JtsMvt jtsMvt;
 
 		try (final InputStream is = new FileInputStream(file))
 		{
-			jtsMvt = loadMvt(is, geomFactory, tagConverter, ringClassifier);
+			jtsMvt = loadMvt(is, geomFactory, tagConverter, options);
 		}
 
 		return jtsMvt;
@@ -124,7 +167,7 @@ public final class MvtReader
 	public static JtsMvt loadMvt(InputStream is, GeometryFactory geomFactory, @Nullable ITagConverter tagConverter)
 			throws IOException
 	{
-		return loadMvt(is, geomFactory, tagConverter, RING_CLASSIFIER_DEFAULT);
+		return loadMvt(is, geomFactory, tagConverter, MvtReadOptions.DEFAULT);
 	}
 
 	/**
@@ -143,48 +186,367 @@ public final class MvtReader
 	public static JtsMvt loadMvt(InputStream is, GeometryFactory geomFactory, @Nullable ITagConverter tagConverter,
 			RingClassifier ringClassifier) throws IOException
 	{
+		return loadMvt(is, geomFactory, tagConverter, MvtReadOptions.builder().ringClassifier(ringClassifier).build());
+	}
 
-		final VectorTile.Tile mvt = VectorTile.Tile.parseFrom(is);
-		final Vec2d cursor = new Vec2d();
-		final List<JtsLayer> jtsLayers = new ArrayList<>(mvt.getLayersList().size());
+	/**
+	 * Load an MVT to JTS geometries using coordinates. Uses {@code tagConverter} to create user data from feature
+	 * properties. Only the layers, features and tags selected by the given options are loaded.
+	 * @param is stream with MVT data
+	 * @param geomFactory allows for JTS geometry creation
+	 * @param tagConverter converts MVT feature tags to JTS user data object (can be null for no converter)
+	 * @param options options selecting the layers, features and tags to load
+	 * @return JTS MVT with geometry in MVT coordinates
+	 * @throws IOException failure reading MVT from stream
+	 * @see MvtReadOptions
+	 */
+	public static JtsMvt loadMvt(InputStream is, GeometryFactory geomFactory, @Nullable ITagConverter tagConverter,
+			MvtReadOptions options) throws IOException
+	{
+		return loadMvt(CodedInputStream.newInstance(is), geomFactory, tagConverter, options);
+	}
+
+	/**
+	 * Load an MVT from a byte array to JTS geometries using coordinates. The data is parsed in place without copying
+	 * it. See {@link #loadMvt(InputStream, GeometryFactory, ITagConverter)}.
+	 * @param data array with MVT data
+	 * @param offset offset of the MVT data in the array
+	 * @param length length of the MVT data
+	 * @param geomFactory allows for JTS geometry creation
+	 * @param tagConverter converts MVT feature tags to JTS user data object (can be null for no converter)
+	 * @return JTS MVT with geometry in MVT coordinates
+	 * @throws IOException failure reading MVT
+	 */
+	public static JtsMvt loadMvt(byte[] data, int offset, int length, GeometryFactory geomFactory,
+			@Nullable ITagConverter tagConverter) throws IOException
+	{
+		return loadMvt(data, offset, length, geomFactory, tagConverter, MvtReadOptions.DEFAULT);
+	}
+
+	/**
+	 * Load an MVT from a byte array to JTS geometries using coordinates. The data is parsed in place without copying
+	 * it. See {@link #loadMvt(InputStream, GeometryFactory, ITagConverter, MvtReadOptions)}.
+	 * @param data array with MVT data
+	 * @param offset offset of the MVT data in the array
+	 * @param length length of the MVT data
+	 * @param geomFactory allows for JTS geometry creation
+	 * @param tagConverter converts MVT feature tags to JTS user data object (can be null for no converter)
+	 * @param options options selecting the layers, features and tags to load
+	 * @return JTS MVT with geometry in MVT coordinates
+	 * @throws IOException failure reading MVT
+	 */
+	public static JtsMvt loadMvt(byte[] data, int offset, int length, GeometryFactory geomFactory,
+			@Nullable ITagConverter tagConverter, MvtReadOptions options) throws IOException
+	{
+		final CodedInputStream in = CodedInputStream.newInstance(data, offset, length);
+		in.enableAliasing(true);
+		return loadMvt(in, geomFactory, tagConverter, options);
+	}
+
+	/**
+	 * Load an MVT from a buffer to JTS geometries using coordinates. The remaining data of the buffer (heap or direct)
+	 * is parsed in place without copying it. The position of the buffer is not changed. See
+	 * {@link #loadMvt(InputStream, GeometryFactory, ITagConverter)}.
+	 * @param buffer buffer with MVT data
+	 * @param geomFactory allows for JTS geometry creation
+	 * @param tagConverter converts MVT feature tags to JTS user data object (can be null for no converter)
+	 * @return JTS MVT with geometry in MVT coordinates
+	 * @throws IOException failure reading MVT
+	 */
+	public static JtsMvt loadMvt(ByteBuffer buffer, GeometryFactory geomFactory, @Nullable ITagConverter tagConverter)
+			throws IOException
+	{
+		return loadMvt(buffer, geomFactory, tagConverter, MvtReadOptions.DEFAULT);
+	}
+
+	/**
+	 * Load an MVT from a buffer to JTS geometries using coordinates. The remaining data of the buffer (heap or direct)
+	 * is parsed in place without copying it. The position of the buffer is not changed. See
+	 * {@link #loadMvt(InputStream, GeometryFactory, ITagConverter, MvtReadOptions)}.
+	 * @param buffer buffer with MVT data
+	 * @param geomFactory allows for JTS geometry creation
+	 * @param tagConverter converts MVT feature tags to JTS user data object (can be null for no converter)
+	 * @param options options selecting the layers, features and tags to load
+	 * @return JTS MVT with geometry in MVT coordinates
+	 * @throws IOException failure reading MVT
+	 */
+	public static JtsMvt loadMvt(ByteBuffer buffer, GeometryFactory geomFactory, @Nullable ITagConverter tagConverter,
+			MvtReadOptions options) throws IOException
+	{
+		final CodedInputStream in = CodedInputStream.newInstance(buffer.duplicate());
+		in.enableAliasing(true);
+		return loadMvt(in, geomFactory, tagConverter, options);
+	}
+
+	/**
+	 * Load an MVT from a file to JTS geometries using coordinates. The file is memory-mapped and parsed in place. See
+	 * {@link #loadMvt(InputStream, GeometryFactory, ITagConverter)}.
+	 * @param path path to the MVT
+	 * @param geomFactory allows for JTS geometry creation
+	 * @param tagConverter converts MVT feature tags to JTS user data object (can be null for no converter)
+	 * @return JTS MVT with geometry in MVT coordinates
+	 * @throws IOException failure reading MVT from path
+	 */
+	public static JtsMvt loadMvt(Path path, GeometryFactory geomFactory, @Nullable ITagConverter tagConverter)
+			throws IOException
+	{
+		return loadMvt(path, geomFactory, tagConverter, MvtReadOptions.DEFAULT);
+	}
+
+	/**
+	 * Load an MVT from a file to JTS geometries using coordinates. The file is memory-mapped and parsed in place. See
+	 * {@link #loadMvt(InputStream, GeometryFactory, ITagConverter, MvtReadOptions)}.
+	 * @param path path to the MVT
+	 * @param geomFactory allows for JTS geometry creation
+	 * @param tagConverter converts MVT feature tags to JTS user data object (can be null for no converter)
+	 * @param options options selecting the layers, features and tags to load
+	 * @return JTS MVT with geometry in MVT coordinates
+	 * @throws IOException failure reading MVT from path
+	 */
+	public static JtsMvt loadMvt(Path path, GeometryFactory geomFactory, @Nullable ITagConverter tagConverter,
+			MvtReadOptions options) throws IOException
+	{
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+		{
+			return loadMvt(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), geomFactory, tagConverter,
+					options);
+		}
+	}
 
-		for (VectorTile.Tile.Layer nextLayer : mvt.getLayersList())
+	/**
+	 * Load an MVT to JTS geometries using coordinates.
+	 * @param in input with MVT data
+	 * @param geomFactory allows for JTS geometry creation
+	 * @param tagConverter converts MVT feature tags to JTS user data object (can be null for no converter)
+	 * @param options options selecting the layers, features and tags to load
+	 * @return JTS MVT with geometry in MVT coordinates
+	 * @throws IOException failure reading MVT
+	 */
+	private static JtsMvt loadMvt(CodedInputStream in, GeometryFactory geomFactory,
+			@Nullable ITagConverter tagConverter, MvtReadOptions options) throws IOException
+	{
+		final Predicate<String> layerFilter = options.getLayerFilter();
+		final Vec2d cursor = new Vec2d();
+		final List<JtsLayer> jtsLayers = new ArrayList<>();
+		final MvtCursor mvtCursor = new MvtCursor(in);
+		ByteString layerBytes;
+		while ((layerBytes = mvtCursor.nextLayerBytes()) != null)
 		{
+			// only parse the layer if its name matches
+			if ((layerFilter == null) || layerFilter.test(MvtCursor.readLayerName(layerBytes)))
+			{
+				jtsLayers.add(readLayer(VectorTile.Tile.Layer.parseFrom(layerBytes), geomFactory, tagConverter,
+						cursor, options));
+			}
+		}
+		return new JtsMvt(jtsLayers);
+	}
 
-			final List<String> keysList = nextLayer.getKeysList();
-			final List<VectorTile.Tile.Value> valuesList = nextLayer.getValuesList();
-			final List<Geometry> layerGeoms = new ArrayList<>(nextLayer.getFeaturesList().size());
+	/**
+	 * Load an MVT lazily. The layers are kept undecoded and their geometries are only created on first access (see
+	 * {@link LazyJtsMvt}).
+	 * @param is stream with MVT data
+	 * @param geomFactory allows for JTS geometry creation
+	 * @param tagConverter converts MVT feature tags to JTS user data object (can be null for no converter)
+	 * @return JTS MVT with geometry in MVT coordinates
+	 * @throws IOException failure reading MVT from stream
+	 * @see Geometry
+	 * @see Geometry#getUserData()
+	 */
+	public static LazyJtsMvt loadMvtLazy(InputStream is, GeometryFactory geomFactory,
+			@Nullable ITagConverter tagConverter) throws IOException
+	{
+		return loadMvtLazy(is, geomFactory, tagConverter, MvtReadOptions.DEFAULT);
+	}
 
-			for (VectorTile.Tile.Feature nextFeature : nextLayer.getFeaturesList())
+	/**
+	 * Load an MVT lazily. The layers are kept undecoded and their geometries are only created on first access (see
+	 * {@link LazyJtsMvt}). Layers rejected by the layer filter of the options are not kept at all.
+	 * @param is stream with MVT data
+	 * @param geomFactory allows for JTS geometry creation
+	 * @param tagConverter converts MVT feature tags to JTS user data object (can be null for no converter)
+	 * @param options options selecting the layers, features and tags to load
+	 * @return JTS MVT with geometry in MVT coordinates
+	 * @throws IOException failure reading MVT from stream
+	 * @see MvtReadOptions
+	 */
+	public static LazyJtsMvt loadMvtLazy(InputStream is, GeometryFactory geomFactory,
+			@Nullable ITagConverter tagConverter, MvtReadOptions options) throws IOException
+	{
+		// keep the data of the layers without copying it
+		final MvtCursor mvtCursor = new MvtCursor(is.readAllBytes());
+		final Predicate<String> layerFilter = options.getLayerFilter();
+		final Map<String, Supplier<JtsLayer>> layers = new LinkedHashMap<>();
+		ByteString nextLayerBytes;
+		while ((nextLayerBytes = mvtCursor.nextLayerBytes()) != null)
+		{
+			final ByteString layerBytes = nextLayerBytes;
+			final String layerName = MvtCursor.readLayerName(layerBytes);
+			if ((layerFilter != null) && !layerFilter.test(layerName))
 			{
+				continue;
+			}
+			layers.put(layerName, () -> {
+				try
+				{
+					return readLayer(VectorTile.Tile.Layer.parseFrom(layerBytes), geomFactory, tagConverter,
+							new Vec2d(), options);
+				}
+				catch (InvalidProtocolBufferException ex)
+				{
+					throw new UncheckedIOException(ex);
+				}
+			});
+		}
+		return new LazyJtsMvt(layers);
+	}
+
+	/**
+	 * Converts a layer to JTS geometries.
+	 * @param layer layer
+	 * @param geomFactory allows for JTS geometry creation
+	 * @param tagConverter converts MVT feature tags to JTS user data object (can be null for no converter)
+	 * @param cursor cursor for reading geometries
+	 * @param options options selecting the features and tags to read
+	 * @return JTS layer with geometry in MVT coordinates
+	 */
+	private static JtsLayer readLayer(VectorTile.Tile.Layer layer, GeometryFactory geomFactory,
+			@Nullable ITagConverter tagConverter, Vec2d cursor, MvtReadOptions options)
+	{
+		final RingClassifier ringClassifier = options.getRingClassifier();
+		final IFeatureFilter featureFilter = options.getFeatureFilter();
+		final Set<String> keys = options.getKeys();
+		final Envelope bounds = options.getBounds();
+		// decode keys and values only once for all features
+		final TagTable tagTable = ((tagConverter != null) || (featureFilter != null))
+				? TagTable.decode(layer.getKeysList(), layer.getValuesList())
+				: null;
+		// resolve the filter on the keys and values of the layer
+		final Predicate<IntArrayList> tagFilter = ((featureFilter != null) && (tagTable != null))
+				? featureFilter.forLayer(tagTable)
+				: null;
+		// resolve the keys of the tags to convert on the keys of the layer
+		final boolean[] keyMask = ((tagConverter != null) && (keys != null) && (tagTable != null))
+				? resolveKeys(tagTable, keys)
+				: null;
+		final IntArrayList tags = new IntArrayList();
+		final IntArrayList userTags = (keyMask != null) ? new IntArrayList() : tags;
+		final List<Geometry> layerGeoms = new ArrayList<>(layer.getFeaturesList().size());
+
+		for (VectorTile.Tile.Feature nextFeature : layer.getFeaturesList())
+		{
 
-				final Long id = nextFeature.hasId() ? nextFeature.getId() : null;
+			final Long id = nextFeature.hasId() ? nextFeature.getId() : null;
 
-				final VectorTile.Tile.GeomType geomType = nextFeature.getType();
+			final VectorTile.Tile.GeomType geomType = nextFeature.getType();
 
-				if (geomType == VectorTile.Tile.GeomType.UNKNOWN)
+			if (geomType == VectorTile.Tile.GeomType.UNKNOWN)
+			{
+				continue;
+			}
+			// skip features outside of the bounds before creating any geometries
+			if ((bounds != null) && !intersects(nextFeature, bounds))
+			{
+				continue;
+			}
+			if (tagTable != null)
+			{
+				tags.clear();
+				for (int i = 0; i < nextFeature.getTagsCount(); i++)
+				{
+					tags.add(nextFeature.getTags(i));
+				}
+				// skip rejected features before creating any geometries
+				if ((tagFilter != null) && !tagFilter.test(tags))
 				{
 					continue;
 				}
+			}
 
-				final List<Integer> geomCmds = nextFeature.getGeometryList();
-				cursor.set(0, 0);
-				final Geometry nextGeom = readGeometry(geomCmds, geomType, geomFactory, cursor, ringClassifier);
-				if (nextGeom != null)
+			final List<Integer> geomCmds = nextFeature.getGeometryList();
+			cursor.set(0, 0);
+			final Geometry nextGeom = readGeometry(geomCmds, geomType, geomFactory, cursor, ringClassifier);
+			if (nextGeom != null)
+			{
+				if ((tagConverter != null) && (tagTable != null))
 				{
-					if (tagConverter != null)
+					if (keyMask != null)
 					{
-						nextGeom.setUserData(
-								tagConverter.toUserData(id, nextFeature.getTagsList(), keysList, valuesList));
+						// only keep the tags with the wanted keys
+						userTags.clear();
+						for (int i = 0; i < tags.size() - 1; i += 2)
+						{
+							final int keyIndex = tags.get(i);
+							if ((keyIndex >= 0) && (keyIndex < keyMask.length) && keyMask[keyIndex])
+							{
+								userTags.add(keyIndex);
+								userTags.add(tags.get(i + 1));
+							}
+						}
 					}
-					layerGeoms.add(nextGeom);
+					nextGeom.setUserData(tagConverter.toUserData(id, userTags, tagTable));
 				}
+				layerGeoms.add(nextGeom);
 			}
+		}
+
+		return new JtsLayer(layer.getName(), layerGeoms, layer.getExtent());
+	}
 
-			jtsLayers.add(new JtsLayer(nextLayer.getName(), layerGeoms, nextLayer.getExtent()));
+	/**
+	 * Resolves the given keys on the keys of a layer.
+	 * @param tagTable keys and values of the layer
+	 * @param keys keys
+	 * @return flags for each key index of the layer, true if the key is contained in the given keys
+	 */
+	private static boolean[] resolveKeys(TagTable tagTable, Set<String> keys)
+	{
+		final boolean[] keyMask = new boolean[tagTable.getKeyCount()];
+		for (int i = 0; i < keyMask.length; i++)
+		{
+			keyMask[i] = keys.contains(tagTable.getKey(i));
 		}
+		return keyMask;
+	}
 
-		return new JtsMvt(jtsLayers);
+	/**
+	 * Checks if the bounds of the geometry commands of the given feature intersect the given bounds.
+	 * @param feature feature
+	 * @param bounds bounds in MVT coordinates
+	 * @return true if the bounds intersect, false if not or if the feature has no coordinates
+	 */
+	private static boolean intersects(VectorTile.Tile.Feature feature, Envelope bounds)
+	{
+		final int size = feature.getGeometryCount();
+		int x = 0;
+		int y = 0;
+		int minX = Integer.MAX_VALUE;
+		int minY = Integer.MAX_VALUE;
+		int maxX = Integer.MIN_VALUE;
+		int maxY = Integer.MIN_VALUE;
+		int i = 0;
+		while (i < size)
+		{
+			final int cmdHdr = feature.getGeometry(i++);
+			final int cmdId = MvtUtil.getGeomCmdId(cmdHdr);
+			// only MoveTo and LineTo have parameters
+			if ((cmdId != GeomCmd.MOVE_TO.getCmdId()) && (cmdId != GeomCmd.LINE_TO.getCmdId()))
+			{
+				continue;
+			}
+			final int end = Math.min(size - 1, i + MvtUtil.getGeomCmdLength(cmdHdr) * 2);
+			while (i < end)
+			{
+				x += MvtUtil.decodeZigZag(feature.getGeometry(i++));
+				y += MvtUtil.decodeZigZag(feature.getGeometry(i++));
+				minX = Math.min(minX, x);
+				minY = Math.min(minY, y);
+				maxX = Math.max(maxX, x);
+				maxY = Math.max(maxY, y);
+			}
+		}
+		return (minX <= maxX) && (minX <= bounds.getMaxX()) && (maxX >= bounds.getMinX()) && (minY <= bounds.getMaxY())
+				&& (maxY >= bounds.getMinY());
 	}
 
 	@Nullable
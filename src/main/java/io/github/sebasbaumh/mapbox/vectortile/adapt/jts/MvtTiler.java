@@ -0,0 +1,218 @@
+package io.github.sebasbaumh.mapbox.vectortile.adapt.jts;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BiConsumer;
+
+import javax.annotation.Nullable;
+
+import org.eclipse.jdt.annotation.DefaultLocation;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+
+import io.github.sebasbaumh.mapbox.vectortile.build.MvtLayerParams;
+
+/**
+ * Cuts geometries into all tiles of a range of zoom levels of a {@link TileGrid}.
+ * <p>
+ * Geometries are sliced recursively: the geometries of a tile are clipped to its 4 child tiles on the next zoom level,
+ * so each geometry is only clipped by the tiles it intersects instead of by every tile of a zoom level. Child tiles are
+ * processed in parallel.
+ * </p>
+ * <p>
+ * The resulting tile geometries are equivalent to the ones created by
+ * {@link JtsAdapter#createTileGeom(Geometry, Envelope, Envelope, GeometryFactory, MvtLayerParams, IGeometryFilter, int)}
+ * for each tile.
+ * </p>
+ */
+@NonNullByDefault({ DefaultLocation.PARAMETER, DefaultLocation.RETURN_TYPE })
+public final class MvtTiler
+{
+	/**
+	 * Buffer as a fraction of the tile size.
+	 */
+	private final double buffer;
+	@Nullable
+	private final IGeometryFilter filter;
+	private final GeometryFactory geomFactory;
+	private final MvtLayerParams mvtLayerParams;
+	/**
+	 * Statistics of all created tiles.
+	 */
+	private final TileGeomStats stats = new TileGeomStats();
+	private final TileGrid tileGrid;
+
+	/**
+	 * Creates a tiler without a buffer around tiles.
+	 * @param tileGrid tile grid
+	 * @param geomFactory geometry factory
+	 * @param mvtLayerParams specifies vector tile properties
+	 */
+	public MvtTiler(TileGrid tileGrid, GeometryFactory geomFactory, MvtLayerParams mvtLayerParams)
+	{
+		this(tileGrid, geomFactory, mvtLayerParams, 0d, null);
+	}
+
+	/**
+	 * Creates a tiler.
+	 * @param tileGrid tile grid
+	 * @param geomFactory geometry factory
+	 * @param mvtLayerParams specifies vector tile properties
+	 * @param bufferPixels buffer around each tile for clipping in tile pixels (see {@link MvtLayerParams#getTileSize()}),
+	 *            must be &gt;= 0
+	 * @param filter geometry values that fail filter after transforms are removed (can be null for no filter)
+	 * @throws IllegalArgumentException if the buffer is negative
+	 */
+	public MvtTiler(TileGrid tileGrid, GeometryFactory geomFactory, MvtLayerParams mvtLayerParams, double bufferPixels,
+			@Nullable IGeometryFilter filter)
+	{
+		if (!(bufferPixels >= 0d))
+		{
+			throw new IllegalArgumentException("buffer must be >= 0");
+		}
+		this.tileGrid = tileGrid;
+		this.geomFactory = geomFactory;
+		this.mvtLayerParams = mvtLayerParams;
+		this.buffer = bufferPixels / mvtLayerParams.getTileSize();
+		this.filter = filter;
+	}
+
+	/**
+	 * Checks the given zoom level range.
+	 * @param minZoom minimum zoom level
+	 * @param maxZoom maximum zoom level
+	 * @throws IllegalArgumentException if the range is invalid
+	 */
+	private static void checkZoomRange(int minZoom, int maxZoom)
+	{
+		if ((minZoom < 0) || (maxZoom > TileGrid.MAX_ZOOM) || (minZoom > maxZoom))
+		{
+			throw new IllegalArgumentException("invalid zoom range: " + minZoom + "-" + maxZoom);
+		}
+	}
+
+	/**
+	 * Gets the statistics how geometries were clipped for all tiles created so far.
+	 * @return statistics
+	 */
+	public TileGeomStats getStats()
+	{
+		return stats;
+	}
+
+	/**
+	 * Cuts the given geometries into all tiles of the given zoom level range.
+	 * @param geoms geometries in world coordinates (user data is kept)
+	 * @param minZoom minimum zoom level
+	 * @param maxZoom maximum zoom level (inclusive)
+	 * @return tile geometries in MVT 'extent' coordinates by tile (tiles without any geometries are omitted)
+	 * @throws IllegalArgumentException if the zoom level range is invalid
+	 */
+	public Map<TileId, Geometry> tile(Collection<Geometry> geoms, int minZoom, int maxZoom)
+	{
+		ConcurrentHashMap<TileId, Geometry> tiles = new ConcurrentHashMap<TileId, Geometry>();
+		tile(geoms, minZoom, maxZoom, tiles::put);
+		return tiles;
+	}
+
+	/**
+	 * Cuts the given geometries into all tiles of the given zoom level range.
+	 * @param geoms geometries in world coordinates (user data is kept)
+	 * @param minZoom minimum zoom level
+	 * @param maxZoom maximum zoom level (inclusive)
+	 * @param consumer receives the tile geometries in MVT 'extent' coordinates (tiles without any geometries are
+	 *            omitted). It is called concurrently from multiple threads and must be thread-safe.
+	 * @throws IllegalArgumentException if the zoom level range is invalid
+	 */
+	public void tile(Collection<Geometry> geoms, int minZoom, int maxZoom, BiConsumer<TileId, Geometry> consumer)
+	{
+		checkZoomRange(minZoom, maxZoom);
+		// collect all contained geometries
+		ArrayList<Geometry> flatGeometries = new ArrayList<Geometry>(geoms.size());
+		for (Geometry geom : geoms)
+		{
+			flatGeometries.addAll(JtsAdapter.collectFlatGeometries(geom));
+		}
+		ForkJoinPool.commonPool().invoke(new TileTask(flatGeometries, 0, 0, 0, minZoom, maxZoom, consumer));
+	}
+
+	/**
+	 * Task to cut the geometries of a tile and all its child tiles.
+	 */
+	private final class TileTask extends RecursiveAction
+	{
+		private static final long serialVersionUID = 1L;
+
+		private final transient BiConsumer<TileId, Geometry> consumer;
+		/**
+		 * Geometries of the parent tile.
+		 */
+		private final transient Collection<Geometry> parentGeoms;
+		private final int maxZoom;
+		private final int minZoom;
+		private final int x;
+		private final int y;
+		private final int z;
+
+		/**
+		 * Constructs a task.
+		 * @param parentGeoms geometries of the parent tile
+		 * @param z zoom level
+		 * @param x column of the tile
+		 * @param y row of the tile
+		 * @param minZoom minimum zoom level
+		 * @param maxZoom maximum zoom level
+		 * @param consumer receives the tile geometries
+		 */
+		TileTask(Collection<Geometry> parentGeoms, int z, int x, int y, int minZoom, int maxZoom,
+				BiConsumer<TileId, Geometry> consumer)
+		{
+			this.parentGeoms = parentGeoms;
+			this.z = z;
+			this.x = x;
+			this.y = y;
+			this.minZoom = minZoom;
+			this.maxZoom = maxZoom;
+			this.consumer = consumer;
+		}
+
+		@Override
+		protected void compute()
+		{
+			// clip the geometries of the parent tile to this tile (buffered tiles of children lie within the buffered
+			// parent tile)
+			ArrayList<Geometry> geoms = new ArrayList<Geometry>(parentGeoms.size());
+			JtsAdapter.clipGeometries(parentGeoms, tileGrid.getTileEnvelope(z, x, y, buffer), geomFactory,
+					mvtLayerParams.getClipStrategy(), geoms, stats);
+			if (geoms.isEmpty())
+			{
+				return;
+			}
+			if (z >= minZoom)
+			{
+				Geometry tileGeom = JtsAdapter.toTileGeometry(geoms, tileGrid.getTileEnvelope(z, x, y), geomFactory,
+						mvtLayerParams, filter, z);
+				if (!tileGeom.isEmpty())
+				{
+					consumer.accept(new TileId(z, x, y), tileGeom);
+				}
+			}
+			if (z < maxZoom)
+			{
+				// process all child tiles in parallel
+				int childX = x << 1;
+				int childY = y << 1;
+				invokeAll(new TileTask(geoms, z + 1, childX, childY, minZoom, maxZoom, consumer),
+						new TileTask(geoms, z + 1, childX + 1, childY, minZoom, maxZoom, consumer),
+						new TileTask(geoms, z + 1, childX, childY + 1, minZoom, maxZoom, consumer),
+						new TileTask(geoms, z + 1, childX + 1, childY + 1, minZoom, maxZoom, consumer));
+			}
+		}
+	}
+}
@@ -0,0 +1,447 @@
+package io.github.sebasbaumh.mapbox.vectortile.adapt.jts;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import javax.annotation.Nullable;
+
+import org.eclipse.jdt.annotation.DefaultLocation;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryCollection;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+
+import io.github.sebasbaumh.mapbox.vectortile.VectorTile;
+import io.github.sebasbaumh.mapbox.vectortile.adapt.jts.model.JtsLayer;
+import io.github.sebasbaumh.mapbox.vectortile.adapt.jts.model.JtsMvt;
+import io.github.sebasbaumh.mapbox.vectortile.build.MvtLayerParams;
+import io.github.sebasbaumh.mapbox.vectortile.build.MvtLayerProps;
+import io.github.sebasbaumh.mapbox.vectortile.util.IntArrayList;
+import io.github.sebasbaumh.mapbox.vectortile.util.MvtUtil;
+import io.github.sebasbaumh.mapbox.vectortile.util.MvtValueCache;
+import io.github.sebasbaumh.mapbox.vectortile.util.MvtValueEncoding;
+import io.github.sebasbaumh.mapbox.vectortile.util.Vec2d;
+
+/**
+ * Writes a Mapbox Vector Tile (MVT) layer by layer directly in the protobuf wire format.
+ * <p>
+ * In contrast to {@link MvtEncoder} no {@link io.github.sebasbaumh.mapbox.vectortile.VectorTile.Tile} object graph is
+ * built. Only the encoded features of the current layer are buffered (as the keys and values of a layer have to be
+ * written after its features), so memory usage is bounded by the size of the largest layer. The output is the same as
+ * the one of {@link MvtEncoder}.
+ * </p>
+ * <p>
+ * Usage: call {@link #beginLayer(String, MvtLayerParams)}, add features using {@link #addFeature(Geometry)} or
+ * {@link #addFeatures(Iterable)}, then call {@link #endLayer()}. Repeat for each layer and call {@link #flush()} at
+ * the end.
+ * </p>
+ * <p>
+ * The values of all layers are encoded by the {@link MvtValueEncoding} given on construction.
+ * </p>
+ */
+@NonNullByDefault({ DefaultLocation.PARAMETER, DefaultLocation.RETURN_TYPE })
+public class MvtWriter implements Flushable
+{
+	/**
+	 * Output.
+	 */
+	private final CodedOutputStream out;
+	/**
+	 * Converter for user data (can be null).
+	 */
+	@Nullable
+	private final IUserDataConverter userDataConverter;
+	/**
+	 * Buffer for the encoded features of the current layer.
+	 */
+	private final LayerBuffer featureBuffer = new LayerBuffer();
+	/**
+	 * Output for the encoded features of the current layer.
+	 */
+	private final CodedOutputStream featureOut = CodedOutputStream.newInstance(featureBuffer);
+	/**
+	 * Buffer for geometry commands.
+	 */
+	private final IntArrayList geomCmds = new IntArrayList();
+	/**
+	 * Buffer for the MVT cursor position.
+	 */
+	private final Vec2d cursor = new Vec2d();
+	/**
+	 * Builder to collect the tags and id of a feature from the {@link #userDataConverter} (geometry is never set).
+	 */
+	private final VectorTile.Tile.Feature.Builder tagsBuilder = VectorTile.Tile.Feature.newBuilder();
+	/**
+	 * Name of the current layer (null if there is no open layer).
+	 */
+	@Nullable
+	private String layerName;
+	/**
+	 * Parameters of the current layer.
+	 */
+	private MvtLayerParams layerParams = MvtLayerParams.DEFAULT;
+	/**
+	 * Properties of the current layer.
+	 */
+	private MvtLayerProps layerProps = new MvtLayerProps();
+	/**
+	 * Cache for encoded keys and values (can be null).
+	 */
+	@Nullable
+	private final MvtValueCache valueCache;
+	/**
+	 * Encoding policy of the values.
+	 */
+	private final MvtValueEncoding valueEncoding;
+
+	/**
+	 * Constructs an instance.
+	 * @param out output
+	 * @param userDataConverter converts {@link Geometry#getUserData()} to MVT feature tags (can be null for no
+	 *            converter)
+	 */
+	public MvtWriter(CodedOutputStream out, @Nullable IUserDataConverter userDataConverter)
+	{
+		this(out, userDataConverter, null);
+	}
+
+	/**
+	 * Constructs an instance.
+	 * @param out output
+	 * @param userDataConverter converts {@link Geometry#getUserData()} to MVT feature tags (can be null for no
+	 *            converter)
+	 * @param valueCache cache for encoded keys, which can be shared by multiple writers (can be null for no cache)
+	 */
+	public MvtWriter(CodedOutputStream out, @Nullable IUserDataConverter userDataConverter,
+			@Nullable MvtValueCache valueCache)
+	{
+		this(out, userDataConverter, valueCache, MvtValueEncoding.DEFAULT);
+	}
+
+	/**
+	 * Constructs an instance.
+	 * @param out output
+	 * @param userDataConverter converts {@link Geometry#getUserData()} to MVT feature tags (can be null for no
+	 *            converter)
+	 * @param valueCache cache for encoded keys, which can be shared by multiple writers (can be null for no cache)
+	 * @param valueEncoding encoding policy of the values
+	 */
+	public MvtWriter(CodedOutputStream out, @Nullable IUserDataConverter userDataConverter,
+			@Nullable MvtValueCache valueCache, MvtValueEncoding valueEncoding)
+	{
+		this.out = Objects.requireNonNull(out);
+		this.userDataConverter = userDataConverter;
+		this.valueCache = valueCache;
+		this.valueEncoding = Objects.requireNonNull(valueEncoding);
+	}
+
+	/**
+	 * Constructs an instance.
+	 * @param out output, it is not closed by this class
+	 * @param userDataConverter converts {@link Geometry#getUserData()} to MVT feature tags (can be null for no
+	 *            converter)
+	 */
+	public MvtWriter(OutputStream out, @Nullable IUserDataConverter userDataConverter)
+	{
+		this(CodedOutputStream.newInstance(out), userDataConverter);
+	}
+
+	/**
+	 * Constructs an instance.
+	 * @param out output, it is not closed by this class
+	 * @param userDataConverter converts {@link Geometry#getUserData()} to MVT feature tags (can be null for no
+	 *            converter)
+	 * @param valueCache cache for encoded keys, which can be shared by multiple writers (can be null for no cache)
+	 */
+	public MvtWriter(OutputStream out, @Nullable IUserDataConverter userDataConverter,
+			@Nullable MvtValueCache valueCache)
+	{
+		this(CodedOutputStream.newInstance(out), userDataConverter, valueCache);
+	}
+
+	/**
+	 * Constructs an instance.
+	 * @param out output, it is not closed by this class
+	 * @param userDataConverter converts {@link Geometry#getUserData()} to MVT feature tags (can be null for no
+	 *            converter)
+	 * @param valueCache cache for encoded keys, which can be shared by multiple writers (can be null for no cache)
+	 * @param valueEncoding encoding policy of the values
+	 */
+	public MvtWriter(OutputStream out, @Nullable IUserDataConverter userDataConverter,
+			@Nullable MvtValueCache valueCache, MvtValueEncoding valueEncoding)
+	{
+		this(CodedOutputStream.newInstance(out), userDataConverter, valueCache, valueEncoding);
+	}
+
+	/**
+	 * Adds features for the given geometry to the current layer. A {@link GeometryCollection} is split up into
+	 * multiple features.
+	 * @param geometry JTS geometry (in MVT coordinates)
+	 * @throws IOException on write errors
+	 * @throws IllegalStateException if there is no open layer
+	 */
+	public void addFeature(Geometry geometry) throws IOException
+	{
+		checkLayer();
+		// short cut for simple geometries
+		if (!(geometry instanceof GeometryCollection))
+		{
+			writeFeature(geometry);
+		}
+		else
+		{
+			// split up the features
+			for (Geometry geom : JtsAdapter.collectFlatGeometries(geometry))
+			{
+				writeFeature(geom);
+			}
+		}
+	}
+
+	/**
+	 * Adds features for the given geometries to the current layer. Like
+	 * {@link JtsAdapter#addFeatures(io.github.sebasbaumh.mapbox.vectortile.VectorTile.Tile.Layer.Builder, Iterable, MvtLayerProps, IUserDataConverter)}
+	 * the geometries are expected to be flat, so any {@link GeometryCollection} is ignored.
+	 * @param geometries JTS geometries (in MVT coordinates)
+	 * @throws IOException on write errors
+	 * @throws IllegalStateException if there is no open layer
+	 */
+	public void addFeatures(Iterable<Geometry> geometries) throws IOException
+	{
+		checkLayer();
+		for (Geometry geom : geometries)
+		{
+			writeFeature(geom);
+		}
+	}
+
+	/**
+	 * Starts a new layer.
+	 * @param name layer name
+	 * @param mvtLayerParams tile creation parameters
+	 * @throws IllegalStateException if there is already an open layer
+	 */
+	public void beginLayer(String name, MvtLayerParams mvtLayerParams)
+	{
+		if (layerName != null)
+		{
+			throw new IllegalStateException("layer " + layerName + " has not been ended");
+		}
+		this.layerName = Objects.requireNonNull(name);
+		this.layerParams = mvtLayerParams;
+		this.layerProps = new MvtLayerProps(valueEncoding);
+		featureBuffer.reset();
+	}
+
+	/**
+	 * Ensures there is an open layer.
+	 * @return layer name
+	 * @throws IllegalStateException if there is no open layer
+	 */
+	private String checkLayer()
+	{
+		String name = layerName;
+		if (name == null)
+		{
+			throw new IllegalStateException("no layer has been started");
+		}
+		return name;
+	}
+
+	/**
+	 * Writes the current layer with all its features, keys and values.
+	 * @throws IOException on write errors
+	 * @throws IllegalStateException if there is no open layer
+	 */
+	public void endLayer() throws IOException
+	{
+		String name = checkLayer();
+		featureOut.flush();
+
+		// take the encoded keys from the cache (if any), values are written directly
+		final MvtValueCache cache = valueCache;
+		final List<ByteString> keys = new ArrayList<ByteString>();
+		for (String key : layerProps.getKeys())
+		{
+			keys.add((cache != null) ? cache.getKey(key) : ByteString.copyFromUtf8(key));
+		}
+
+		// calculate layer size
+		int size = CodedOutputStream.computeStringSize(VectorTile.Tile.Layer.NAME_FIELD_NUMBER, name)
+				+ featureBuffer.size();
+		for (ByteString key : keys)
+		{
+			size += CodedOutputStream.computeBytesSize(VectorTile.Tile.Layer.KEYS_FIELD_NUMBER, key);
+		}
+		for (Object value : layerProps.getValues())
+		{
+			int valueSize = MvtUtil.computeValueSize(value, MvtUtil.getValueFieldNumber(value, valueEncoding));
+			size += CodedOutputStream.computeTagSize(VectorTile.Tile.Layer.VALUES_FIELD_NUMBER)
+					+ CodedOutputStream.computeUInt32SizeNoTag(valueSize) + valueSize;
+		}
+		size += CodedOutputStream.computeUInt32Size(VectorTile.Tile.Layer.EXTENT_FIELD_NUMBER,
+				layerParams.getExtent());
+		size += CodedOutputStream.computeUInt32Size(VectorTile.Tile.Layer.VERSION_FIELD_NUMBER, MvtUtil.LAYER_VERSION);
+
+		// write layer (in field order like the generated code)
+		out.writeTag(VectorTile.Tile.LAYERS_FIELD_NUMBER, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+		out.writeUInt32NoTag(size);
+		out.writeString(VectorTile.Tile.Layer.NAME_FIELD_NUMBER, name);
+		featureBuffer.writeTo(out);
+		for (ByteString key : keys)
+		{
+			out.writeBytes(VectorTile.Tile.Layer.KEYS_FIELD_NUMBER, key);
+		}
+		for (Object value : layerProps.getValues())
+		{
+			final int valueType = MvtUtil.getValueFieldNumber(value, valueEncoding);
+			out.writeTag(VectorTile.Tile.Layer.VALUES_FIELD_NUMBER, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+			out.writeUInt32NoTag(MvtUtil.computeValueSize(value, valueType));
+			MvtUtil.writeValue(out, value, valueType);
+		}
+		out.writeUInt32(VectorTile.Tile.Layer.EXTENT_FIELD_NUMBER, layerParams.getExtent());
+		out.writeUInt32(VectorTile.Tile.Layer.VERSION_FIELD_NUMBER, MvtUtil.LAYER_VERSION);
+
+		// reset state
+		layerName = null;
+		featureBuffer.reset();
+	}
+
+	/**
+	 * Flushes the output.
+	 * @throws IOException on write errors
+	 */
+	@Override
+	public void flush() throws IOException
+	{
+		out.flush();
+	}
+
+	/**
+	 * Writes all layers of the given {@link JtsMvt}.
+	 * @param mvt MVT
+	 * @param mvtLayerParams tile creation parameters
+	 * @throws IOException on write errors
+	 * @throws IllegalStateException if there is already an open layer
+	 */
+	public void write(JtsMvt mvt, MvtLayerParams mvtLayerParams) throws IOException
+	{
+		for (JtsLayer layer : mvt.getLayers())
+		{
+			beginLayer(layer.getName(), mvtLayerParams);
+			addFeatures(layer.getGeometries());
+			endLayer();
+		}
+	}
+
+	/**
+	 * Writes a single flat geometry as feature (if it is valid).
+	 * @param geom flat geometry
+	 * @throws IOException on write errors
+	 */
+	private void writeFeature(Geometry geom) throws IOException
+	{
+		// Guard: UNKNOWN Geometry
+		final VectorTile.Tile.GeomType mvtGeomType = JtsAdapter.toGeomType(geom);
+		if ((mvtGeomType == VectorTile.Tile.GeomType.UNKNOWN)
+				|| !JtsAdapter.toGeomCmds(geom, mvtGeomType, geomCmds, cursor))
+		{
+			return;
+		}
+
+		// collect id and tags
+		tagsBuilder.clear();
+		if (userDataConverter != null)
+		{
+			Object userData = geom.getUserData();
+			if (userData != null)
+			{
+				userDataConverter.addTags(userData, layerProps, tagsBuilder);
+			}
+		}
+
+		// calculate sizes
+		final int tagsCount = tagsBuilder.getTagsCount();
+		int tagsDataSize = 0;
+		for (int i = 0; i < tagsCount; i++)
+		{
+			tagsDataSize += CodedOutputStream.computeUInt32SizeNoTag(tagsBuilder.getTags(i));
+		}
+		final int[] cmds = geomCmds.getArray();
+		final int cmdsCount = geomCmds.size();
+		int geomDataSize = 0;
+		for (int i = 0; i < cmdsCount; i++)
+		{
+			geomDataSize += CodedOutputStream.computeUInt32SizeNoTag(cmds[i]);
+		}
+		int size = 0;
+		if (tagsBuilder.hasId())
+		{
+			size += CodedOutputStream.computeUInt64Size(VectorTile.Tile.Feature.ID_FIELD_NUMBER, tagsBuilder.getId());
+		}
+		if (tagsCount > 0)
+		{
+			size += CodedOutputStream.computeTagSize(VectorTile.Tile.Feature.TAGS_FIELD_NUMBER)
+					+ CodedOutputStream.computeUInt32SizeNoTag(tagsDataSize) + tagsDataSize;
+		}
+		size += CodedOutputStream.computeEnumSize(VectorTile.Tile.Feature.TYPE_FIELD_NUMBER, mvtGeomType.getNumber());
+		size += CodedOutputStream.computeTagSize(VectorTile.Tile.Feature.GEOMETRY_FIELD_NUMBER)
+				+ CodedOutputStream.computeUInt32SizeNoTag(geomDataSize) + geomDataSize;
+
+		// write feature (in field order like the generated code)
+		featureOut.writeTag(VectorTile.Tile.Layer.FEATURES_FIELD_NUMBER, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+		featureOut.writeUInt32NoTag(size);
+		if (tagsBuilder.hasId())
+		{
+			featureOut.writeUInt64(VectorTile.Tile.Feature.ID_FIELD_NUMBER, tagsBuilder.getId());
+		}
+		if (tagsCount > 0)
+		{
+			featureOut.writeTag(VectorTile.Tile.Feature.TAGS_FIELD_NUMBER, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+			featureOut.writeUInt32NoTag(tagsDataSize);
+			for (int i = 0; i < tagsCount; i++)
+			{
+				featureOut.writeUInt32NoTag(tagsBuilder.getTags(i));
+			}
+		}
+		featureOut.writeEnum(VectorTile.Tile.Feature.TYPE_FIELD_NUMBER, mvtGeomType.getNumber());
+		featureOut.writeTag(VectorTile.Tile.Feature.GEOMETRY_FIELD_NUMBER, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+		featureOut.writeUInt32NoTag(geomDataSize);
+		for (int i = 0; i < cmdsCount; i++)
+		{
+			featureOut.writeUInt32NoTag(cmds[i]);
+		}
+	}
+
+	/**
+	 * Buffer for encoded layer data that can be written without copying it.
+	 */
+	private static final class LayerBuffer extends ByteArrayOutputStream
+	{
+		/**
+		 * Constructs an instance.
+		 */
+		LayerBuffer()
+		{
+			super(4096);
+		}
+
+		/**
+		 * Writes the buffered data.
+		 * @param output output
+		 * @throws IOException on write errors
+		 */
+		void writeTo(CodedOutputStream output) throws IOException
+		{
+			output.writeRawBytes(buf, 0, count);
+		}
+	}
+}
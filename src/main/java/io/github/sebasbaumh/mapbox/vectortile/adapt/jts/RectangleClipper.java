@@ -0,0 +1,654 @@
+package io.github.sebasbaumh.mapbox.vectortile.adapt.jts;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+import org.eclipse.jdt.annotation.DefaultLocation;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.locationtech.jts.algorithm.RayCrossingCounter;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.CoordinateList;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.geom.Location;
+import org.locationtech.jts.geom.MultiLineString;
+import org.locationtech.jts.geom.MultiPoint;
+import org.locationtech.jts.geom.MultiPolygon;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.Polygon;
+
+/**
+ * Clips geometries by an axis-aligned rectangle, which is a lot faster than a full overlay operation (see
+ * {@link Geometry#intersection(Geometry)}).
+ * <p>
+ * Lines are clipped using the Liang–Barsky algorithm and polygon rings are clipped using the Sutherland–Hodgman
+ * algorithm. The latter only gives a valid result (in terms of the OGC specification) if the clipped ring is connected,
+ * so polygons are only clipped if their exterior rings enter the rectangle at most once and their holes do not cross
+ * the boundary of the rectangle. Other polygons (e.g. a U-shape clipped across its base) are not supported and should
+ * be clipped by a full overlay operation instead.
+ * </p>
+ * <p>
+ * Instances are not thread-safe as they reuse internal buffers.
+ * </p>
+ */
+@NonNullByDefault({ DefaultLocation.PARAMETER, DefaultLocation.RETURN_TYPE })
+public final class RectangleClipper
+{
+	/**
+	 * Result of {@link #countEntries(CoordinateSequence)} for rings not intersecting the rectangle.
+	 */
+	private static final int DISJOINT = -1;
+	/**
+	 * Minimum x value of the rectangle.
+	 */
+	private final double minX;
+	/**
+	 * Minimum y value of the rectangle.
+	 */
+	private final double minY;
+	/**
+	 * Maximum x value of the rectangle.
+	 */
+	private final double maxX;
+	/**
+	 * Maximum y value of the rectangle.
+	 */
+	private final double maxY;
+	/**
+	 * Factory for resulting geometries.
+	 */
+	private final GeometryFactory geomFactory;
+	// parameters of the visible part of the last segment (see clipSegment)
+	private double t0;
+	private double t1;
+	// buffers for clipping rings
+	private double[] xs = new double[64];
+	private double[] ys = new double[64];
+	private double[] xsOut = new double[64];
+	private double[] ysOut = new double[64];
+
+	/**
+	 * Constructs an instance.
+	 * @param clipEnvelope rectangle to clip by, must not be empty
+	 * @param geomFactory factory for resulting geometries
+	 * @throws IllegalArgumentException if the envelope is empty
+	 */
+	public RectangleClipper(Envelope clipEnvelope, GeometryFactory geomFactory)
+	{
+		if (clipEnvelope.isNull())
+		{
+			throw new IllegalArgumentException("clipEnvelope must not be empty");
+		}
+		this.minX = clipEnvelope.getMinX();
+		this.minY = clipEnvelope.getMinY();
+		this.maxX = clipEnvelope.getMaxX();
+		this.maxY = clipEnvelope.getMaxY();
+		this.geomFactory = geomFactory;
+	}
+
+	/**
+	 * Adds a point to the output buffer.
+	 * @param n current size of the output buffer
+	 * @param x x
+	 * @param y y
+	 * @return new size of the output buffer
+	 */
+	private int addOut(int n, double x, double y)
+	{
+		if (n == xsOut.length)
+		{
+			xsOut = Arrays.copyOf(xsOut, n * 2);
+			ysOut = Arrays.copyOf(ysOut, n * 2);
+		}
+		// ignore repeated points
+		if ((n > 0) && (xsOut[n - 1] == x) && (ysOut[n - 1] == y))
+		{
+			return n;
+		}
+		xsOut[n] = x;
+		ysOut[n] = y;
+		return n + 1;
+	}
+
+	/**
+	 * Clips the given flat geometry.
+	 * @param geom geometry (a {@link Point}, {@link LineString}, {@link Polygon} or one of their multi geometries)
+	 * @return the clipped geometry (may be empty), or null if the geometry type is not supported or a polygon cannot be
+	 *         clipped to a valid result by this clipper
+	 */
+	@Nullable
+	public Geometry clip(Geometry geom)
+	{
+		if (geom instanceof Point || geom instanceof MultiPoint)
+		{
+			return clipPoints(geom);
+		}
+		else if (geom instanceof LineString || geom instanceof MultiLineString)
+		{
+			return clipLines(geom);
+		}
+		else if (geom instanceof Polygon || geom instanceof MultiPolygon)
+		{
+			return clipPolygons(geom);
+		}
+		return null;
+	}
+
+	/**
+	 * Clips the current ring in {@link #xs}/{@link #ys} against one edge of the rectangle (Sutherland–Hodgman).
+	 * @param n number of points in the ring
+	 * @param edge edge index (0 = left, 1 = right, 2 = bottom, 3 = top)
+	 * @return number of points in the output buffer
+	 */
+	private int clipEdge(int n, int edge)
+	{
+		int nOut = 0;
+		double px = xs[n - 1];
+		double py = ys[n - 1];
+		boolean prevInside = isInside(px, py, edge);
+		for (int i = 0; i < n; i++)
+		{
+			double cx = xs[i];
+			double cy = ys[i];
+			boolean curInside = isInside(cx, cy, edge);
+			if (curInside != prevInside)
+			{
+				// add intersection with edge
+				if (edge < 2)
+				{
+					double x = (edge == 0) ? minX : maxX;
+					nOut = addOut(nOut, x, py + (cy - py) * (x - px) / (cx - px));
+				}
+				else
+				{
+					double y = (edge == 2) ? minY : maxY;
+					nOut = addOut(nOut, px + (cx - px) * (y - py) / (cy - py), y);
+				}
+			}
+			if (curInside)
+			{
+				nOut = addOut(nOut, cx, cy);
+			}
+			px = cx;
+			py = cy;
+			prevInside = curInside;
+		}
+		return nOut;
+	}
+
+	/**
+	 * Clips a {@link LineString} and adds the resulting parts to the given list.
+	 * @param seq coordinates of the line
+	 * @param parts resulting parts
+	 */
+	private void clipLine(CoordinateSequence seq, List<LineString> parts)
+	{
+		final int size = seq.size();
+		CoordinateList part = null;
+		for (int i = 1; i < size; i++)
+		{
+			double x0 = seq.getX(i - 1);
+			double y0 = seq.getY(i - 1);
+			double dx = seq.getX(i) - x0;
+			double dy = seq.getY(i) - y0;
+			if (!clipSegment(x0, y0, dx, dy))
+			{
+				addPart(part, parts);
+				part = null;
+				continue;
+			}
+			if (part == null)
+			{
+				part = new CoordinateList();
+				part.add(clampedCoordinate(x0 + t0 * dx, y0 + t0 * dy), false);
+			}
+			// use the original end point if possible to avoid rounding issues
+			part.add((t1 == 1d) ? new Coordinate(seq.getX(i), seq.getY(i))
+					: clampedCoordinate(x0 + t1 * dx, y0 + t1 * dy), false);
+			if (t1 < 1d)
+			{
+				// line leaves the rectangle
+				addPart(part, parts);
+				part = null;
+			}
+		}
+		addPart(part, parts);
+	}
+
+	/**
+	 * Clips a segment using the Liang–Barsky algorithm. The parameters of the visible part of the segment are stored
+	 * in {@link #t0} and {@link #t1}.
+	 * @param x0 x of the start point
+	 * @param y0 y of the start point
+	 * @param dx delta x to the end point
+	 * @param dy delta y to the end point
+	 * @return true if the segment intersects the rectangle (including its boundary), else false
+	 */
+	private boolean clipSegment(double x0, double y0, double dx, double dy)
+	{
+		t0 = 0d;
+		t1 = 1d;
+		for (int edge = 0; edge < 4; edge++)
+		{
+			double p;
+			double q;
+			switch (edge)
+			{
+				case 0:
+					p = -dx;
+					q = x0 - minX;
+					break;
+				case 1:
+					p = dx;
+					q = maxX - x0;
+					break;
+				case 2:
+					p = -dy;
+					q = y0 - minY;
+					break;
+				default:
+					p = dy;
+					q = maxY - y0;
+					break;
+			}
+			if (p == 0d)
+			{
+				// parallel to edge and outside
+				if (q < 0d)
+				{
+					return false;
+				}
+			}
+			else
+			{
+				double r = q / p;
+				if (p < 0d)
+				{
+					if (r > t1)
+					{
+						return false;
+					}
+					else if (r > t0)
+					{
+						t0 = r;
+					}
+				}
+				else
+				{
+					if (r < t0)
+					{
+						return false;
+					}
+					else if (r < t1)
+					{
+						t1 = r;
+					}
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Creates a coordinate ensuring it is inside the rectangle (to handle rounding errors on intersections).
+	 * @param x x
+	 * @param y y
+	 * @return coordinate
+	 */
+	private Coordinate clampedCoordinate(double x, double y)
+	{
+		return new Coordinate(Math.min(Math.max(x, minX), maxX), Math.min(Math.max(y, minY), maxY));
+	}
+
+	/**
+	 * Clips a {@link LineString} or {@link MultiLineString}.
+	 * @param geom geometry
+	 * @return clipped geometry
+	 */
+	private Geometry clipLines(Geometry geom)
+	{
+		List<LineString> parts = new ArrayList<LineString>();
+		for (int i = 0; i < geom.getNumGeometries(); i++)
+		{
+			clipLine(((LineString) geom.getGeometryN(i)).getCoordinateSequence(), parts);
+		}
+		if (parts.size() == 1)
+		{
+			return parts.get(0);
+		}
+		return geomFactory.createMultiLineString(parts.toArray(new LineString[parts.size()]));
+	}
+
+	/**
+	 * Clips a {@link Point} or {@link MultiPoint}.
+	 * @param geom geometry
+	 * @return clipped geometry
+	 */
+	private Geometry clipPoints(Geometry geom)
+	{
+		List<Point> points = new ArrayList<Point>(geom.getNumGeometries());
+		for (int i = 0; i < geom.getNumGeometries(); i++)
+		{
+			Point p = (Point) geom.getGeometryN(i);
+			if (!p.isEmpty() && contains(p.getX(), p.getY()))
+			{
+				points.add(p);
+			}
+		}
+		if (points.size() == geom.getNumGeometries())
+		{
+			// nothing to clip
+			return geom;
+		}
+		if (points.size() == 1)
+		{
+			return geomFactory.createPoint(points.get(0).getCoordinateSequence().copy());
+		}
+		Coordinate[] coords = new Coordinate[points.size()];
+		for (int i = 0; i < coords.length; i++)
+		{
+			coords[i] = points.get(i).getCoordinate().copy();
+		}
+		return geomFactory.createMultiPointFromCoords(coords);
+	}
+
+	/**
+	 * Clips a {@link Polygon} or {@link MultiPolygon}.
+	 * @param geom geometry
+	 * @return clipped geometry, or null if a polygon cannot be clipped
+	 */
+	@Nullable
+	private Geometry clipPolygons(Geometry geom)
+	{
+		List<Polygon> polygons = new ArrayList<Polygon>(geom.getNumGeometries());
+		List<LinearRing> holes = new ArrayList<LinearRing>();
+		for (int i = 0; i < geom.getNumGeometries(); i++)
+		{
+			Polygon polygon = (Polygon) geom.getGeometryN(i);
+			CoordinateSequence shellSeq = polygon.getExteriorRing().getCoordinateSequence();
+			int entries = countEntries(shellSeq);
+			if (entries > 1)
+			{
+				// clipped ring would be split into several parts
+				return null;
+			}
+			LinearRing shell;
+			if (entries == DISJOINT)
+			{
+				// the rectangle is either completely inside or outside of the polygon
+				if (!containsRectangle(shellSeq))
+				{
+					continue;
+				}
+				shell = createRectangleRing();
+			}
+			else
+			{
+				shell = clipRing(shellSeq);
+				if (shell == null)
+				{
+					continue;
+				}
+			}
+			holes.clear();
+			for (int j = 0; j < polygon.getNumInteriorRing(); j++)
+			{
+				CoordinateSequence holeSeq = polygon.getInteriorRingN(j).getCoordinateSequence();
+				entries = countEntries(holeSeq);
+				if (entries == DISJOINT)
+				{
+					// the rectangle is completely inside of the hole
+					if (containsRectangle(holeSeq))
+					{
+						shell = null;
+						break;
+					}
+					continue;
+				}
+				else if (entries > 0)
+				{
+					// holes crossing the boundary would have to be merged into the exterior ring
+					return null;
+				}
+				LinearRing hole = clipRing(holeSeq);
+				if (hole != null)
+				{
+					holes.add(hole);
+				}
+			}
+			if (shell != null)
+			{
+				polygons.add(geomFactory.createPolygon(shell, holes.toArray(new LinearRing[holes.size()])));
+			}
+		}
+		if (polygons.size() == 1)
+		{
+			return polygons.get(0);
+		}
+		return geomFactory.createMultiPolygon(polygons.toArray(new Polygon[polygons.size()]));
+	}
+
+	/**
+	 * Counts how often the given ring enters the rectangle (including touching its boundary from outside).
+	 * @param seq coordinates of the ring
+	 * @return number of entries (0 if the ring is completely inside), or {@link #DISJOINT} if it does not intersect the
+	 *         rectangle at all
+	 */
+	private int countEntries(CoordinateSequence seq)
+	{
+		int entries = 0;
+		boolean intersects = false;
+		for (int i = 1; i < seq.size(); i++)
+		{
+			double x0 = seq.getX(i - 1);
+			double y0 = seq.getY(i - 1);
+			if (clipSegment(x0, y0, seq.getX(i) - x0, seq.getY(i) - y0))
+			{
+				intersects = true;
+				// a visible segment starting outside enters the rectangle
+				if (t0 > 0d)
+				{
+					entries++;
+				}
+			}
+		}
+		return intersects ? entries : DISJOINT;
+	}
+
+	/**
+	 * Creates a ring of the rectangle.
+	 * @return ring
+	 */
+	private LinearRing createRectangleRing()
+	{
+		return geomFactory.createLinearRing(new Coordinate[] { new Coordinate(minX, minY), new Coordinate(minX, maxY),
+				new Coordinate(maxX, maxY), new Coordinate(maxX, minY), new Coordinate(minX, minY) });
+	}
+
+	/**
+	 * Clips a polygon ring.
+	 * @param seq coordinates of the ring
+	 * @return clipped ring, or null if nothing (or only a degenerate ring) remains
+	 */
+	@Nullable
+	private LinearRing clipRing(CoordinateSequence seq)
+	{
+		// copy ring without closing point to buffer
+		int n = seq.size() - 1;
+		if (n < 3)
+		{
+			return null;
+		}
+		if (xs.length < n)
+		{
+			xs = new double[n];
+			ys = new double[n];
+		}
+		for (int i = 0; i < n; i++)
+		{
+			xs[i] = seq.getX(i);
+			ys[i] = seq.getY(i);
+		}
+		// clip against all edges
+		for (int edge = 0; edge < 4; edge++)
+		{
+			n = clipEdge(n, edge);
+			// swap buffers
+			double[] t = xs;
+			xs = xsOut;
+			xsOut = t;
+			t = ys;
+			ys = ysOut;
+			ysOut = t;
+			if (n < 3)
+			{
+				return null;
+			}
+		}
+		n = removeDegenerateEdges(n);
+		if (n < 3)
+		{
+			return null;
+		}
+		Coordinate[] coords = new Coordinate[n + 1];
+		for (int i = 0; i < n; i++)
+		{
+			coords[i] = new Coordinate(xs[i], ys[i]);
+		}
+		coords[n] = coords[0].copy();
+		return geomFactory.createLinearRing(coords);
+	}
+
+	/**
+	 * Checks if the given ring contains the rectangle. The ring must not intersect the rectangle.
+	 * @param seq coordinates of the ring
+	 * @return true if the rectangle is inside of the ring, else false
+	 */
+	private boolean containsRectangle(CoordinateSequence seq)
+	{
+		return RayCrossingCounter.locatePointInRing(new Coordinate(minX, minY), seq) != Location.EXTERIOR;
+	}
+
+	/**
+	 * Checks if the given position is inside (or on the boundary) of the rectangle.
+	 * @param x x
+	 * @param y y
+	 * @return true if it is inside, else false
+	 */
+	private boolean contains(double x, double y)
+	{
+		return (x >= minX) && (x <= maxX) && (y >= minY) && (y <= maxY);
+	}
+
+	/**
+	 * Checks if the given position is inside of an edge of the rectangle.
+	 * @param x x
+	 * @param y y
+	 * @param edge edge index (0 = left, 1 = right, 2 = bottom, 3 = top)
+	 * @return true if it is inside, else false
+	 */
+	private boolean isInside(double x, double y, int edge)
+	{
+		switch (edge)
+		{
+			case 0:
+				return x >= minX;
+			case 1:
+				return x <= maxX;
+			case 2:
+				return y >= minY;
+			default:
+				return y <= maxY;
+		}
+	}
+
+	/**
+	 * Checks if the given points are on the same boundary line of the rectangle.
+	 * @param x1 x of the first point
+	 * @param y1 y of the first point
+	 * @param x2 x of the second point
+	 * @param y2 y of the second point
+	 * @param x3 x of the third point
+	 * @param y3 y of the third point
+	 * @return true if they are on the same boundary line, else false
+	 */
+	private boolean isOnSameBoundary(double x1, double y1, double x2, double y2, double x3, double y3)
+	{
+		return ((x1 == x2) && (x2 == x3) && ((x1 == minX) || (x1 == maxX)))
+				|| ((y1 == y2) && (y2 == y3) && ((y1 == minY) || (y1 == maxY)));
+	}
+
+	/**
+	 * Removes vertices from the ring in {@link #xs}/{@link #ys} that are in the middle of collinear edges on the
+	 * boundary of the rectangle. This removes zero-width spikes along the boundary introduced by clipping, but does
+	 * not change the area of the ring.
+	 * @param n number of points in the ring
+	 * @return new number of points in the ring
+	 */
+	private int removeDegenerateEdges(int n)
+	{
+		// use the ring as a stack
+		int size = 0;
+		for (int i = 0; i < n; i++)
+		{
+			double x = xs[i];
+			double y = ys[i];
+			while ((size >= 2) && isOnSameBoundary(xs[size - 2], ys[size - 2], xs[size - 1], ys[size - 1], x, y))
+			{
+				size--;
+			}
+			if ((size > 0) && (xs[size - 1] == x) && (ys[size - 1] == y))
+			{
+				continue;
+			}
+			xs[size] = x;
+			ys[size] = y;
+			size++;
+		}
+		// handle wrap around at the start/end of the ring
+		boolean changed = true;
+		while (changed && (size >= 3))
+		{
+			changed = false;
+			if ((xs[size - 1] == xs[0]) && (ys[size - 1] == ys[0]))
+			{
+				size--;
+				changed = true;
+			}
+			else if (isOnSameBoundary(xs[size - 2], ys[size - 2], xs[size - 1], ys[size - 1], xs[0], ys[0]))
+			{
+				size--;
+				changed = true;
+			}
+			else if (isOnSameBoundary(xs[size - 1], ys[size - 1], xs[0], ys[0], xs[1], ys[1]))
+			{
+				// remove first point
+				System.arraycopy(xs, 1, xs, 0, size - 1);
+				System.arraycopy(ys, 1, ys, 0, size - 1);
+				size--;
+				changed = true;
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * Adds a line part (if it is not degenerate).
+	 * @param part coordinates of the part (can be null)
+	 * @param parts parts
+	 */
+	private void addPart(@Nullable CoordinateList part, List<LineString> parts)
+	{
+		if ((part != null) && (part.size() >= 2))
+		{
+			parts.add(geomFactory.createLineString(part.toCoordinateArray()));
+		}
+	}
+}
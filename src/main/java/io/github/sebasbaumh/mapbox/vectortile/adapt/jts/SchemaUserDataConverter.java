@@ -0,0 +1,190 @@
+package io.github.sebasbaumh.mapbox.vectortile.adapt.jts;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+import org.eclipse.jdt.annotation.DefaultLocation;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+import io.github.sebasbaumh.mapbox.vectortile.VectorTile;
+import io.github.sebasbaumh.mapbox.vectortile.build.MvtLayerProps;
+
+/**
+ * <p>
+ * Convert user data of type {@link IAttributeRow} to MVT tags using a declared schema of key names and column types.
+ * In contrast to {@link UserDataKeyValueMapConverter} no {@link java.util.Map} is needed for each feature, values are
+ * read by their column index without boxing numbers and the key indices are only resolved once per layer.
+ * </p>
+ * <p>
+ * Null values are skipped. The tags of a feature are in the order of the columns, so the result is the same as the one
+ * of {@link UserDataKeyValueMapConverter} with a {@link java.util.LinkedHashMap} of the same keys and values.
+ * </p>
+ * <p>
+ * The converter keeps the key indices of the current layer, so it is not thread-safe.
+ * </p>
+ * @see IUserDataConverter
+ */
+@NonNullByDefault({ DefaultLocation.PARAMETER, DefaultLocation.RETURN_TYPE })
+public class SchemaUserDataConverter implements IUserDataConverter
+{
+	/**
+	 * Index of the column holding the feature id (-1 for no id).
+	 */
+	private final int idColumn;
+	/**
+	 * Key indices of the columns in {@link #layerProps} (-1 if not resolved yet).
+	 */
+	private final int[] keyIndices;
+	/**
+	 * Keys of the columns.
+	 */
+	private final String[] keys;
+	/**
+	 * Properties of the layer the key indices belong to.
+	 */
+	@Nullable
+	private MvtLayerProps layerProps;
+	/**
+	 * Types of the columns.
+	 */
+	private final ColumnType[] types;
+
+	/**
+	 * Does not set feature id.
+	 * @param keys keys of the columns
+	 * @param types types of the columns
+	 * @throws IllegalArgumentException if the number of keys and types differ or keys are not unique
+	 */
+	public SchemaUserDataConverter(List<String> keys, List<ColumnType> types)
+	{
+		this(keys, types, -1);
+	}
+
+	/**
+	 * Sets feature ids from an integer column.
+	 * @param keys keys of the columns
+	 * @param types types of the columns
+	 * @param idColumn index of the {@link ColumnType#LONG} column holding the feature id (-1 for no id)
+	 * @throws IllegalArgumentException if the number of keys and types differ, keys are not unique or the id column is
+	 *             invalid
+	 */
+	public SchemaUserDataConverter(List<String> keys, List<ColumnType> types, int idColumn)
+	{
+		if (keys.size() != types.size())
+		{
+			throw new IllegalArgumentException("number of keys and types differ");
+		}
+		if (new HashSet<String>(keys).size() != keys.size())
+		{
+			throw new IllegalArgumentException("keys are not unique: " + keys);
+		}
+		if ((idColumn < -1) || (idColumn >= keys.size())
+				|| ((idColumn >= 0) && (types.get(idColumn) != ColumnType.LONG)))
+		{
+			throw new IllegalArgumentException("invalid id column: " + idColumn);
+		}
+		this.keys = keys.toArray(new String[keys.size()]);
+		this.types = types.toArray(new ColumnType[types.size()]);
+		this.idColumn = idColumn;
+		this.keyIndices = new int[this.keys.length];
+	}
+
+	@Override
+	public void addTags(Object userData, MvtLayerProps layerProps, VectorTile.Tile.Feature.Builder featureBuilder)
+	{
+		if (!(userData instanceof IAttributeRow row))
+		{
+			throw new IllegalArgumentException("unsupported user data: " + userData);
+		}
+		// resolve the keys again for a new layer
+		if (layerProps != this.layerProps)
+		{
+			this.layerProps = layerProps;
+			Arrays.fill(keyIndices, -1);
+		}
+		for (int column = 0; column < keys.length; column++)
+		{
+			if (row.isNull(column))
+			{
+				continue;
+			}
+			final int valueIndex;
+			switch (types[column])
+			{
+				case BOOLEAN:
+					valueIndex = layerProps.addValue(Boolean.valueOf(row.getBoolean(column)));
+					break;
+				case DOUBLE:
+					valueIndex = layerProps.addDoubleValue(row.getDouble(column));
+					break;
+				case FLOAT:
+					valueIndex = layerProps.addFloatValue(row.getFloat(column));
+					break;
+				case LONG:
+					valueIndex = layerProps.addLongValue(row.getLong(column));
+					break;
+				default:
+				{
+					final String value = row.getString(column);
+					if (value == null)
+					{
+						continue;
+					}
+					valueIndex = layerProps.addValue(value);
+					break;
+				}
+			}
+			int keyIndex = keyIndices[column];
+			if (keyIndex < 0)
+			{
+				keyIndex = layerProps.addKey(keys[column]);
+				keyIndices[column] = keyIndex;
+			}
+			featureBuilder.addTags(keyIndex);
+			featureBuilder.addTags(valueIndex);
+		}
+
+		// Set feature id value?
+		if ((idColumn >= 0) && !row.isNull(idColumn))
+		{
+			featureBuilder.setId(row.getLong(idColumn));
+		}
+	}
+
+	@Override
+	public String toString()
+	{
+		return this.getClass().getSimpleName() + " [keys=" + Arrays.toString(keys) + ", types="
+				+ Arrays.toString(types) + ", idColumn=" + idColumn + "]";
+	}
+
+	/**
+	 * Type of a column.
+	 */
+	public enum ColumnType
+	{
+		/**
+		 * Boolean values (see {@link IAttributeRow#getBoolean(int)}).
+		 */
+		BOOLEAN,
+		/**
+		 * Double values (see {@link IAttributeRow#getDouble(int)}).
+		 */
+		DOUBLE,
+		/**
+		 * Float values (see {@link IAttributeRow#getFloat(int)}).
+		 */
+		FLOAT,
+		/**
+		 * Integer values (see {@link IAttributeRow#getLong(int)}).
+		 */
+		LONG,
+		/**
+		 * String values (see {@link IAttributeRow#getString(int)}).
+		 */
+		STRING
+	}
+}
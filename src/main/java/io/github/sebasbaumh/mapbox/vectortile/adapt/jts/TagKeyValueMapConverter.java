@@ -11,6 +11,7 @@ import org.eclipse.jdt.annotation.DefaultLocation;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 
 import io.github.sebasbaumh.mapbox.vectortile.VectorTile;
+import io.github.sebasbaumh.mapbox.vectortile.util.IntArrayList;
 import io.github.sebasbaumh.mapbox.vectortile.util.MvtUtil;
 
 /**
@@ -107,4 +108,34 @@ public class TagKeyValueMapConverter implements ITagConverter
 		}
 		return userData;
 	}
+
+	@Nullable
+	@Override
+	public Object toUserData(@Nullable Long id, IntArrayList tags, TagTable tagTable)
+	{
+		// Guard: empty
+		if (nullIfEmpty && tags.isEmpty() && (!addId || id == null))
+		{
+			return null;
+		}
+
+		final Map<String, Object> userData = LinkedHashMap.<String, Object>newLinkedHashMap(((tags.size() + 1) / 2));
+		// Add feature properties (values are already decoded)
+		for (int i = 0; i < tags.size() - 1; i += 2)
+		{
+			final int keyIndex = tags.get(i);
+			final int valIndex = tags.get(i + 1);
+			if (tagTable.isValid(keyIndex, valIndex))
+			{
+				userData.put(tagTable.getKey(keyIndex), tagTable.getValue(valIndex));
+			}
+		}
+
+		// Add ID, value may be null
+		if (addId)
+		{
+			userData.put(idKey, id);
+		}
+		return userData;
+	}
 }
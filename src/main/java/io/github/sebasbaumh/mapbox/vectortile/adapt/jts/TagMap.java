@@ -0,0 +1,195 @@
+package io.github.sebasbaumh.mapbox.vectortile.adapt.jts;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+import org.eclipse.jdt.annotation.DefaultLocation;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Immutable {@link Map} view of the tags of a feature backed by its tag index pairs and the shared {@link TagTable} of
+ * its layer. Entries are in the order of the tags followed by the feature id (if any).
+ * @see TagMapConverter
+ */
+@NonNullByDefault({ DefaultLocation.PARAMETER, DefaultLocation.RETURN_TYPE })
+final class TagMap extends AbstractMap<String, Object>
+{
+	/**
+	 * Feature id.
+	 */
+	@Nullable
+	private final Long id;
+	/**
+	 * Index of the entry holding the feature id (-1 if there is none).
+	 */
+	private final int idIndex;
+	/**
+	 * Key of the feature id.
+	 */
+	@Nullable
+	private final String idKey;
+	/**
+	 * Number of entries.
+	 */
+	private final int size;
+	/**
+	 * Keys and values of the layer.
+	 */
+	private final TagTable tagTable;
+	/**
+	 * Valid tag index pairs with unique keys.
+	 */
+	private final int[] tags;
+
+	/**
+	 * Creates a map.
+	 * @param tagTable keys and values of the layer
+	 * @param tags valid tag index pairs with unique keys
+	 * @param idKey key of the feature id (can be null to not add the id)
+	 * @param id feature id
+	 */
+	TagMap(TagTable tagTable, int[] tags, @Nullable String idKey, @Nullable Long id)
+	{
+		this.tagTable = tagTable;
+		this.tags = tags;
+		this.idKey = idKey;
+		this.id = id;
+		final int numTags = tags.length / 2;
+		if (idKey == null)
+		{
+			this.idIndex = -1;
+			this.size = numTags;
+		}
+		else
+		{
+			// the id replaces the value of a tag with the same key
+			final int index = indexOfTag(idKey);
+			this.idIndex = (index >= 0) ? index : numTags;
+			this.size = (index >= 0) ? numTags : numTags + 1;
+		}
+	}
+
+	@Override
+	public boolean containsKey(@Nullable Object key)
+	{
+		return indexOf(key) >= 0;
+	}
+
+	@Override
+	public Set<Map.Entry<String, Object>> entrySet()
+	{
+		return new AbstractSet<Map.Entry<String, Object>>()
+		{
+			@Override
+			public Iterator<Map.Entry<String, Object>> iterator()
+			{
+				return new Iterator<Map.Entry<String, Object>>()
+				{
+					private int index;
+
+					@Override
+					public boolean hasNext()
+					{
+						return index < size;
+					}
+
+					@Override
+					public Map.Entry<String, Object> next()
+					{
+						if (index >= size)
+						{
+							throw new NoSuchElementException();
+						}
+						final Map.Entry<String, Object> entry = new AbstractMap.SimpleImmutableEntry<String, Object>(
+								getKey(index), getValue(index));
+						index++;
+						return entry;
+					}
+				};
+			}
+
+			@Override
+			public int size()
+			{
+				return size;
+			}
+		};
+	}
+
+	@Nullable
+	@Override
+	public Object get(@Nullable Object key)
+	{
+		final int index = indexOf(key);
+		return (index >= 0) ? getValue(index) : null;
+	}
+
+	/**
+	 * Gets the key of the given entry.
+	 * @param index index of the entry
+	 * @return key
+	 */
+	@SuppressWarnings("null")
+	private String getKey(int index)
+	{
+		return (index < tags.length / 2) ? tagTable.getKey(tags[index * 2]) : idKey;
+	}
+
+	/**
+	 * Gets the value of the given entry.
+	 * @param index index of the entry
+	 * @return value
+	 */
+	@Nullable
+	private Object getValue(int index)
+	{
+		return (index == idIndex) ? id : tagTable.getValue(tags[index * 2 + 1]);
+	}
+
+	/**
+	 * Gets the index of the entry with the given key.
+	 * @param key key
+	 * @return index of the entry or -1 if there is none
+	 */
+	private int indexOf(@Nullable Object key)
+	{
+		if (key == null)
+		{
+			return -1;
+		}
+		if ((idIndex >= 0) && key.equals(idKey))
+		{
+			return idIndex;
+		}
+		return indexOfTag(key);
+	}
+
+	/**
+	 * Gets the index of the tag with the given key.
+	 * @param key key
+	 * @return index of the tag or -1 if there is none
+	 */
+	private int indexOfTag(Object key)
+	{
+		for (int i = 0; i < tags.length; i += 2)
+		{
+			if (key.equals(tagTable.getKey(tags[i])))
+			{
+				return i / 2;
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public int size()
+	{
+		return size;
+	}
+}
@@ -0,0 +1,126 @@
+package io.github.sebasbaumh.mapbox.vectortile.adapt.jts;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import javax.annotation.Nullable;
+
+import org.eclipse.jdt.annotation.DefaultLocation;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+import io.github.sebasbaumh.mapbox.vectortile.VectorTile;
+import io.github.sebasbaumh.mapbox.vectortile.util.IntArrayList;
+
+/**
+ * <p>
+ * Convert MVT tags to an immutable {@link Map} of {@link String} to {@link Object} like
+ * {@link TagKeyValueMapConverter}, but without copying the keys and values.
+ * </p>
+ * <p>
+ * The map of each feature only holds its tag index pairs and shares the decoded keys and values of its layer (see
+ * {@link TagTable}), so it is much smaller than a {@link java.util.LinkedHashMap}. Lookups scan the tags of the feature.
+ * Tags indices that are out of range of the key or value list are ignored.
+ * </p>
+ * @see ITagConverter
+ */
+@NonNullByDefault({ DefaultLocation.PARAMETER, DefaultLocation.RETURN_TYPE })
+public class TagMapConverter implements ITagConverter
+{
+	/**
+	 * The {@link Map} key for the feature id (null to ignore feature ids).
+	 */
+	@Nullable
+	private final String idKey;
+
+	/**
+	 * If true, return null user data when tags are empty.
+	 */
+	private final boolean nullIfEmpty;
+
+	/**
+	 * Always created user data object, even with empty tags. Ignore feature ids.
+	 */
+	public TagMapConverter()
+	{
+		this(false);
+	}
+
+	/**
+	 * Ignore feature ids.
+	 * @param nullIfEmpty if true, return null user data when tags are empty
+	 */
+	public TagMapConverter(boolean nullIfEmpty)
+	{
+		this.nullIfEmpty = nullIfEmpty;
+		this.idKey = null;
+	}
+
+	/**
+	 * Store feature ids using idKey. Id value may be null if not present.
+	 * @param nullIfEmpty if true, return null user data when tags are empty
+	 * @param idKey key name to use for feature id value
+	 */
+	public TagMapConverter(boolean nullIfEmpty, String idKey)
+	{
+		Objects.requireNonNull(idKey);
+
+		this.nullIfEmpty = nullIfEmpty;
+		this.idKey = idKey;
+	}
+
+	/**
+	 * Decodes the keys and values of the layer for each call. Use {@link #toUserData(Long, IntArrayList, TagTable)}
+	 * instead.
+	 */
+	@Nullable
+	@Override
+	public Object toUserData(@Nullable Long id, List<Integer> tags, List<String> keysList,
+			List<VectorTile.Tile.Value> valuesList)
+	{
+		final IntArrayList tagsArray = new IntArrayList(tags.size());
+		for (Integer tag : tags)
+		{
+			tagsArray.add(tag.intValue());
+		}
+		return toUserData(id, tagsArray, TagTable.decode(keysList, valuesList));
+	}
+
+	@Nullable
+	@Override
+	public Object toUserData(@Nullable Long id, IntArrayList tags, TagTable tagTable)
+	{
+		// Guard: empty
+		if (nullIfEmpty && tags.isEmpty() && ((idKey == null) || (id == null)))
+		{
+			return null;
+		}
+
+		// keep valid tags, a later tag with the same key replaces the value of an earlier one
+		final int[] validTags = new int[tags.size() & ~1];
+		int n = 0;
+		for (int i = 0; i < tags.size() - 1; i += 2)
+		{
+			final int keyIndex = tags.get(i);
+			final int valIndex = tags.get(i + 1);
+			if (!tagTable.isValid(keyIndex, valIndex))
+			{
+				continue;
+			}
+			final String key = tagTable.getKey(keyIndex);
+			int j = 0;
+			while ((j < n) && !key.equals(tagTable.getKey(validTags[j])))
+			{
+				j += 2;
+			}
+			validTags[j] = keyIndex;
+			validTags[j + 1] = valIndex;
+			if (j == n)
+			{
+				n += 2;
+			}
+		}
+		return new TagMap(tagTable, (n == validTags.length) ? validTags : Arrays.copyOf(validTags, n), idKey, id);
+	}
+}
@@ -0,0 +1,210 @@
+package io.github.sebasbaumh.mapbox.vectortile.adapt.jts;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import javax.annotation.Nullable;
+
+import org.eclipse.jdt.annotation.DefaultLocation;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+import io.github.sebasbaumh.mapbox.vectortile.VectorTile;
+import io.github.sebasbaumh.mapbox.vectortile.model.MvtLayer;
+import io.github.sebasbaumh.mapbox.vectortile.util.MvtUtil;
+import io.github.sebasbaumh.mapbox.vectortile.util.MvtValueEncoding;
+
+/**
+ * <p>
+ * Keys and values of a MVT layer decoded once for all features of the layer.
+ * </p>
+ * <p>
+ * Each value is converted by {@link MvtUtil#toObject(VectorTile.Tile.Value)} only once on its first access, so features
+ * sharing a value also share the same object, resolving the tags of a feature is just index lookups and values that
+ * are never accessed are never decoded.
+ * </p>
+ * @see ITagConverter#toUserData(Long, io.github.sebasbaumh.mapbox.vectortile.util.IntArrayList, TagTable)
+ */
+@NonNullByDefault({ DefaultLocation.PARAMETER, DefaultLocation.RETURN_TYPE })
+public final class TagTable
+{
+	/**
+	 * Marker for values which have not been decoded yet.
+	 */
+	private static final Object NOT_DECODED = new Object();
+
+	private final String[] keys;
+	private final List<String> keysList;
+	private final Object[] values;
+	@Nullable
+	private List<VectorTile.Tile.Value> valuesList;
+	/**
+	 * Fields of the decoded values (null to use {@link MvtValueEncoding#DEFAULT}).
+	 */
+	@Nullable
+	private final int[] valueTypes;
+
+	/**
+	 * Creates a table from the given keys and decoded values.
+	 * @param keys keys
+	 * @param values values (Strings or boxed primitives or null if a value is not set)
+	 * @param valueTypes fields of the values (can be null to use {@link MvtValueEncoding#DEFAULT})
+	 */
+	private TagTable(List<String> keys, Object[] values, @Nullable int[] valueTypes)
+	{
+		this.keysList = keys;
+		this.keys = keys.toArray(new String[keys.size()]);
+		this.values = values;
+		this.valueTypes = valueTypes;
+	}
+
+	/**
+	 * Creates a table decoding the given values on their first access.
+	 * @param keys keys of the layer
+	 * @param values values of the layer
+	 * @return table
+	 */
+	public static TagTable decode(List<String> keys, List<VectorTile.Tile.Value> values)
+	{
+		final Object[] decodedValues = new Object[values.size()];
+		Arrays.fill(decodedValues, NOT_DECODED);
+		final TagTable table = new TagTable(keys, decodedValues, null);
+		table.valuesList = values;
+		return table;
+	}
+
+	/**
+	 * Creates a table of the already decoded keys and values of the given layer. The fields the values are stored in
+	 * are kept for {@link #getValuesList()}.
+	 * @param layer layer
+	 * @return table
+	 */
+	public static TagTable of(MvtLayer layer)
+	{
+		final List<Object> values = layer.getValues();
+		final int[] valueTypes = new int[values.size()];
+		for (int i = 0; i < valueTypes.length; i++)
+		{
+			valueTypes[i] = layer.getValueType(i);
+		}
+		return new TagTable(layer.getKeys(), values.toArray(), valueTypes);
+	}
+
+	/**
+	 * Creates a table of already decoded values. {@link #getValuesList()} stores them in the fields given by
+	 * {@link MvtValueEncoding#DEFAULT}, e.g. integral numbers as sint values.
+	 * @param keys keys of the layer
+	 * @param values values of the layer (Strings or boxed primitives or null if a value is not set)
+	 * @return table
+	 */
+	public static TagTable of(List<String> keys, List<Object> values)
+	{
+		return new TagTable(keys, values.toArray(), null);
+	}
+
+	/**
+	 * Gets the key at the given index.
+	 * @param index index
+	 * @return key
+	 * @throws ArrayIndexOutOfBoundsException if the index is out of range
+	 */
+	public String getKey(int index)
+	{
+		return keys[index];
+	}
+
+	/**
+	 * Gets the number of keys.
+	 * @return number of keys
+	 */
+	public int getKeyCount()
+	{
+		return keys.length;
+	}
+
+	/**
+	 * Gets the keys.
+	 * @return keys
+	 */
+	public List<String> getKeysList()
+	{
+		return keysList;
+	}
+
+	/**
+	 * Gets the value at the given index.
+	 * @param index index
+	 * @return String or boxed primitive or null if the value is not set
+	 * @throws ArrayIndexOutOfBoundsException if the index is out of range
+	 */
+	@Nullable
+	public Object getValue(int index)
+	{
+		Object value = values[index];
+		if (value == NOT_DECODED)
+		{
+			// valuesList is always set for tables with undecoded values
+			value = MvtUtil.toObject(Objects.requireNonNull(valuesList).get(index));
+			values[index] = value;
+		}
+		return value;
+	}
+
+	/**
+	 * Gets the number of values.
+	 * @return number of values
+	 */
+	public int getValueCount()
+	{
+		return values.length;
+	}
+
+	/**
+	 * Gets the values as MVT values. If the table has been created of decoded values, they are created once on the
+	 * first call using the fields the values were stored in (see {@link #of(MvtLayer)}) or
+	 * {@link MvtValueEncoding#DEFAULT} if these are not known.
+	 * @return values
+	 */
+	public List<VectorTile.Tile.Value> getValuesList()
+	{
+		List<VectorTile.Tile.Value> list = valuesList;
+		if (list == null)
+		{
+			final int[] types = valueTypes;
+			list = new ArrayList<VectorTile.Tile.Value>(values.length);
+			for (int i = 0; i < values.length; i++)
+			{
+				final Object value = getValue(i);
+				list.add(MvtUtil.toMvtValue(value,
+						(types != null) ? types[i] : MvtUtil.getValueFieldNumber(value, MvtValueEncoding.DEFAULT)));
+			}
+			list = Collections.unmodifiableList(list);
+			valuesList = list;
+		}
+		return list;
+	}
+
+	/**
+	 * Checks if the given tag is valid, i.e. its key and value indices are in range.
+	 * @param keyIndex key index
+	 * @param valueIndex value index
+	 * @return true if it is valid, else false
+	 */
+	public boolean isValid(int keyIndex, int valueIndex)
+	{
+		return (keyIndex >= 0) && (keyIndex < keys.length) && (valueIndex >= 0) && (valueIndex < values.length);
+	}
+
+	@Override
+	public String toString()
+	{
+		final Object[] decodedValues = new Object[values.length];
+		for (int i = 0; i < decodedValues.length; i++)
+		{
+			decodedValues[i] = getValue(i);
+		}
+		return "TagTable{" + "keys=" + Arrays.toString(keys) + ", values=" + Arrays.toString(decodedValues) + '}';
+	}
+}
@@ -0,0 +1,110 @@
+package io.github.sebasbaumh.mapbox.vectortile.adapt.jts;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.DefaultLocation;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Counts how (flat) source geometries were clipped while creating tile geometries.
+ * <p>
+ * Instances are thread-safe, so they can be shared between tiles created in parallel.
+ * </p>
+ */
+@NonNullByDefault({ DefaultLocation.PARAMETER, DefaultLocation.RETURN_TYPE })
+public final class TileGeomStats
+{
+	private final LongAdder clipped = new LongAdder();
+	private final LongAdder contained = new LongAdder();
+	private final LongAdder outside = new LongAdder();
+	private final LongAdder overlay = new LongAdder();
+
+	/**
+	 * Counts a geometry clipped by the rectangle clipper.
+	 */
+	void addClipped()
+	{
+		clipped.increment();
+	}
+
+	/**
+	 * Counts a geometry completely inside the clip envelope.
+	 */
+	void addContained()
+	{
+		contained.increment();
+	}
+
+	/**
+	 * Counts a geometry outside of the clip envelope.
+	 */
+	void addOutside()
+	{
+		outside.increment();
+	}
+
+	/**
+	 * Counts a geometry clipped by a full overlay operation.
+	 */
+	void addOverlay()
+	{
+		overlay.increment();
+	}
+
+	/**
+	 * Gets the number of geometries clipped by the fast rectangle clipper.
+	 * @return number of geometries
+	 */
+	public long getClipped()
+	{
+		return clipped.sum();
+	}
+
+	/**
+	 * Gets the number of geometries whose envelope was completely inside the clip envelope, so they were not clipped
+	 * at all.
+	 * @return number of geometries
+	 */
+	public long getContained()
+	{
+		return contained.sum();
+	}
+
+	/**
+	 * Gets the number of geometries whose envelope did not intersect the clip envelope, so they were skipped.
+	 * @return number of geometries
+	 */
+	public long getOutside()
+	{
+		return outside.sum();
+	}
+
+	/**
+	 * Gets the number of geometries clipped by a full overlay operation (see
+	 * {@link io.github.sebasbaumh.mapbox.vectortile.build.ClipStrategy#OVERLAY}) or as they could not be clipped by
+	 * the rectangle clipper.
+	 * @return number of geometries
+	 */
+	public long getOverlay()
+	{
+		return overlay.sum();
+	}
+
+	/**
+	 * Resets all counts to 0.
+	 */
+	public void reset()
+	{
+		clipped.reset();
+		contained.reset();
+		outside.reset();
+		overlay.reset();
+	}
+
+	@Override
+	public String toString()
+	{
+		return "TileGeomStats{" + "outside=" + getOutside() + ", contained=" + getContained() + ", clipped="
+				+ getClipped() + ", overlay=" + getOverlay() + '}';
+	}
+}
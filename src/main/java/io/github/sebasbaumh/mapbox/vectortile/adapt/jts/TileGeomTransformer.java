@@ -0,0 +1,214 @@
+package io.github.sebasbaumh.mapbox.vectortile.adapt.jts;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.DefaultLocation;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryCollection;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.geom.MultiLineString;
+import org.locationtech.jts.geom.MultiPoint;
+import org.locationtech.jts.geom.MultiPolygon;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.util.AffineTransformation;
+import org.locationtech.jts.geom.util.GeometryTransformer;
+
+/**
+ * Transforms geometries from world coordinates to integer MVT 'extent' coordinates in a single pass.
+ * <p>
+ * Each coordinate is transformed and rounded (see {@link RoundingFilter}) and consecutive duplicate points in lines and
+ * rings are dropped directly while writing the resulting {@link CoordinateSequence}. The resulting geometries can be
+ * created by another geometry factory than the input, e.g. one using {@link IntCoordinateSequence}s.
+ * </p>
+ * <p>
+ * Instances are not thread-safe as they reuse internal buffers.
+ * </p>
+ */
+@NonNullByDefault({ DefaultLocation.PARAMETER, DefaultLocation.RETURN_TYPE })
+final class TileGeomTransformer extends GeometryTransformer
+{
+	// transformation matrix entries
+	private final double m00;
+	private final double m01;
+	private final double m02;
+	private final double m10;
+	private final double m11;
+	private final double m12;
+	// buffers for transformed coordinates
+	private double[] xs = new double[64];
+	private double[] ys = new double[64];
+
+	/**
+	 * Constructs an instance.
+	 * @param tileEnvelope world coordinate bounds for tile
+	 * @param extent the resolution of the MVT local coordinate system
+	 */
+	TileGeomTransformer(Envelope tileEnvelope, int extent)
+	{
+		// build transformation to transform geometry to the tile
+		AffineTransformation t = new AffineTransformation();
+		// Transform Setup: Shift to 0 as minimum value
+		t.translate(-tileEnvelope.getMinX(), -tileEnvelope.getMinY());
+		// Transform Setup: Scale X and Y to tile extent values, flip Y values
+		t.scale(1d / (tileEnvelope.getWidth() / extent), -1d / (tileEnvelope.getHeight() / extent));
+		// Transform Setup: Bump Y values to positive quadrant
+		t.translate(0d, extent);
+		double[] m = t.getMatrixEntries();
+		this.m00 = m[0];
+		this.m01 = m[1];
+		this.m02 = m[2];
+		this.m10 = m[3];
+		this.m11 = m[4];
+		this.m12 = m[5];
+	}
+
+	/**
+	 * Checks if the given geometry (in MVT coordinates) has any parts that could be changed by simplification, i.e.
+	 * lines with more than 2 points or rings with more than 4 points.
+	 * @param geom geometry
+	 * @return true if simplification could change the geometry, else false
+	 */
+	static boolean isSimplifiable(Geometry geom)
+	{
+		for (int i = 0; i < geom.getNumGeometries(); i++)
+		{
+			Geometry part = geom.getGeometryN(i);
+			if (part instanceof Polygon polygon)
+			{
+				if (polygon.getExteriorRing().getNumPoints() > 4)
+				{
+					return true;
+				}
+				for (int j = 0; j < polygon.getNumInteriorRing(); j++)
+				{
+					if (polygon.getInteriorRingN(j).getNumPoints() > 4)
+					{
+						return true;
+					}
+				}
+			}
+			else if ((part instanceof LineString) && (part.getNumPoints() > 2))
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Transforms the given geometry creating the result by the given geometry factory.
+	 * @param geom geometry in world coordinates
+	 * @param tileGeomFactory geometry factory for the result
+	 * @return geometry in MVT coordinates
+	 * @see #transform(Geometry)
+	 */
+	Geometry transform(Geometry geom, GeometryFactory tileGeomFactory)
+	{
+		// transform(Geometry) always uses the factory of the input
+		this.factory = tileGeomFactory;
+		return transformGeometry(geom);
+	}
+
+	/**
+	 * Transforms the given geometry using the current factory.
+	 * @param geom geometry in world coordinates
+	 * @return geometry in MVT coordinates
+	 */
+	private Geometry transformGeometry(Geometry geom)
+	{
+		if (geom instanceof Point point)
+		{
+			return transformPoint(point, point);
+		}
+		if (geom instanceof MultiPoint multiPoint)
+		{
+			return transformMultiPoint(multiPoint, multiPoint);
+		}
+		if (geom instanceof LinearRing ring)
+		{
+			return transformLinearRing(ring, ring);
+		}
+		if (geom instanceof LineString line)
+		{
+			return transformLineString(line, line);
+		}
+		if (geom instanceof MultiLineString multiLine)
+		{
+			return transformMultiLineString(multiLine, multiLine);
+		}
+		if (geom instanceof Polygon polygon)
+		{
+			return transformPolygon(polygon, polygon);
+		}
+		if (geom instanceof MultiPolygon multiPolygon)
+		{
+			return transformMultiPolygon(multiPolygon, multiPolygon);
+		}
+		// like GeometryTransformer, keep the type of other collections
+		final List<Geometry> geoms = new ArrayList<Geometry>(geom.getNumGeometries());
+		for (int i = 0; i < geom.getNumGeometries(); i++)
+		{
+			final Geometry transformed = transformGeometry(geom.getGeometryN(i));
+			if (transformed != null)
+			{
+				geoms.add(transformed);
+			}
+		}
+		return factory.createGeometryCollection(GeometryFactory.toGeometryArray(geoms));
+	}
+
+	@SuppressWarnings("null")
+	@Override
+	protected CoordinateSequence transformCoordinates(CoordinateSequence coords, Geometry parent)
+	{
+		final int size = coords.size();
+		if (xs.length < size)
+		{
+			xs = new double[size];
+			ys = new double[size];
+		}
+		// transform and round coordinates, drop repeated points in lines and rings
+		final boolean dropRepeated = parent instanceof LineString;
+		int n = 0;
+		for (int i = 0; i < size; i++)
+		{
+			double x = coords.getX(i);
+			double y = coords.getY(i);
+			double tx = Math.round(m00 * x + m01 * y + m02);
+			double ty = Math.round(m10 * x + m11 * y + m12);
+			if (dropRepeated && (n > 0) && (xs[n - 1] == tx) && (ys[n - 1] == ty))
+			{
+				continue;
+			}
+			xs[n] = tx;
+			ys[n] = ty;
+			n++;
+		}
+		// keep the structure of collapsed lines and rings valid (they are dropped on encoding)
+		if (dropRepeated && (n < size))
+		{
+			int minSize = (parent instanceof LinearRing) ? 4 : 2;
+			if (n < minSize)
+			{
+				Arrays.fill(xs, n, minSize, xs[n - 1]);
+				Arrays.fill(ys, n, minSize, ys[n - 1]);
+				n = minSize;
+			}
+		}
+		CoordinateSequence seq = factory.getCoordinateSequenceFactory().create(n, 2);
+		for (int i = 0; i < n; i++)
+		{
+			seq.setOrdinate(i, CoordinateSequence.X, xs[i]);
+			seq.setOrdinate(i, CoordinateSequence.Y, ys[i]);
+		}
+		return seq;
+	}
+}
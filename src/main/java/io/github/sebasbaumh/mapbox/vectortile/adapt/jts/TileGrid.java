@@ -0,0 +1,102 @@
+package io.github.sebasbaumh.mapbox.vectortile.adapt.jts;
+
+import org.eclipse.jdt.annotation.DefaultLocation;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.locationtech.jts.geom.Envelope;
+
+/**
+ * Immutable quadtree tile grid (XYZ scheme) over a square or rectangular world envelope.
+ * <p>
+ * Zoom level 0 consists of a single tile covering the whole world envelope. Each tile is split into 4 tiles on the
+ * next zoom level. Tile rows are counted from north (maximum y) to south.
+ * </p>
+ */
+@NonNullByDefault({ DefaultLocation.PARAMETER, DefaultLocation.RETURN_TYPE })
+public final class TileGrid
+{
+	/**
+	 * Maximum supported zoom level.
+	 */
+	public static final int MAX_ZOOM = 30;
+	/**
+	 * Tile grid of the Web Mercator projection (EPSG:3857).
+	 */
+	public static final TileGrid WEB_MERCATOR = new TileGrid(
+			new Envelope(-20037508.342789244, 20037508.342789244, -20037508.342789244, 20037508.342789244));
+
+	private final double minX;
+	private final double maxY;
+	private final double width;
+	private final double height;
+
+	/**
+	 * Creates a tile grid.
+	 * @param worldEnvelope world coordinate bounds of the tile on zoom level 0
+	 * @throws IllegalArgumentException if the envelope is empty or has no area
+	 */
+	public TileGrid(Envelope worldEnvelope)
+	{
+		if (worldEnvelope.isNull() || !(worldEnvelope.getArea() > 0))
+		{
+			throw new IllegalArgumentException("invalid world envelope: " + worldEnvelope);
+		}
+		this.minX = worldEnvelope.getMinX();
+		this.maxY = worldEnvelope.getMaxY();
+		this.width = worldEnvelope.getWidth();
+		this.height = worldEnvelope.getHeight();
+	}
+
+	/**
+	 * Gets the world coordinate bounds of the given tile.
+	 * @param z zoom level
+	 * @param x column of the tile
+	 * @param y row of the tile
+	 * @return world coordinate bounds
+	 * @throws IllegalArgumentException if the zoom level, column or row are out of range
+	 */
+	public Envelope getTileEnvelope(int z, int x, int y)
+	{
+		TileId.checkTile(z, x, y);
+		// calculate all edges the same way so neighboring tiles share exactly the same coordinates
+		double n = 1 << z;
+		return new Envelope(minX + width * x / n, minX + width * (x + 1) / n, maxY - height * (y + 1) / n,
+				maxY - height * y / n);
+	}
+
+	/**
+	 * Gets the world coordinate bounds of the given tile.
+	 * @param tile tile
+	 * @return world coordinate bounds
+	 */
+	public Envelope getTileEnvelope(TileId tile)
+	{
+		return getTileEnvelope(tile.getZ(), tile.getX(), tile.getY());
+	}
+
+	/**
+	 * Gets the world coordinate bounds of the given tile expanded by a buffer.
+	 * @param z zoom level
+	 * @param x column of the tile
+	 * @param y row of the tile
+	 * @param buffer buffer as a fraction of the tile size (e.g. 64/256 for a buffer of 64 pixels on a tile of 256
+	 *            pixels)
+	 * @return world coordinate bounds
+	 * @throws IllegalArgumentException if the zoom level, column or row are out of range
+	 */
+	public Envelope getTileEnvelope(int z, int x, int y, double buffer)
+	{
+		Envelope env = getTileEnvelope(z, x, y);
+		if (buffer != 0d)
+		{
+			env.expandBy(env.getWidth() * buffer, env.getHeight() * buffer);
+		}
+		return env;
+	}
+
+	@Override
+	public String toString()
+	{
+		return this.getClass().getSimpleName() + " [minX=" + minX + ", maxY=" + maxY + ", width=" + width
+				+ ", height=" + height + "]";
+	}
+}
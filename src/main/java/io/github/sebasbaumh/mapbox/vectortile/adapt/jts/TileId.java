@@ -0,0 +1,103 @@
+package io.github.sebasbaumh.mapbox.vectortile.adapt.jts;
+
+import javax.annotation.Nullable;
+
+import org.eclipse.jdt.annotation.DefaultLocation;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Immutable identifier of a tile by its zoom level and column/row in a {@link TileGrid}.
+ */
+@NonNullByDefault({ DefaultLocation.PARAMETER, DefaultLocation.RETURN_TYPE })
+public final class TileId
+{
+	private final int x;
+	private final int y;
+	private final int z;
+
+	/**
+	 * Creates a tile identifier.
+	 * @param z zoom level (0 to {@link TileGrid#MAX_ZOOM})
+	 * @param x column of the tile (0 to 2<sup>z</sup>-1, from west to east)
+	 * @param y row of the tile (0 to 2<sup>z</sup>-1, from north to south)
+	 * @throws IllegalArgumentException if the zoom level, column or row are out of range
+	 */
+	public TileId(int z, int x, int y)
+	{
+		checkTile(z, x, y);
+		this.z = z;
+		this.x = x;
+		this.y = y;
+	}
+
+	/**
+	 * Checks if the given zoom level, column and row denote a valid tile.
+	 * @param z zoom level
+	 * @param x column of the tile
+	 * @param y row of the tile
+	 * @throws IllegalArgumentException if the zoom level, column or row are out of range
+	 */
+	static void checkTile(int z, int x, int y)
+	{
+		if ((z < 0) || (z > TileGrid.MAX_ZOOM))
+		{
+			throw new IllegalArgumentException("invalid zoom level: " + z);
+		}
+		int n = 1 << z;
+		if ((x < 0) || (x >= n) || (y < 0) || (y >= n))
+		{
+			throw new IllegalArgumentException("invalid tile: " + z + "/" + x + "/" + y);
+		}
+	}
+
+	@Override
+	public boolean equals(@Nullable Object o)
+	{
+		if (this == o) return true;
+		if (!(o instanceof TileId)) return false;
+		TileId other = (TileId) o;
+		return (z == other.z) && (x == other.x) && (y == other.y);
+	}
+
+	/**
+	 * Gets the column of the tile (from west to east).
+	 * @return column
+	 */
+	public int getX()
+	{
+		return x;
+	}
+
+	/**
+	 * Gets the row of the tile (from north to south).
+	 * @return row
+	 */
+	public int getY()
+	{
+		return y;
+	}
+
+	/**
+	 * Gets the zoom level.
+	 * @return zoom level
+	 */
+	public int getZ()
+	{
+		return z;
+	}
+
+	@Override
+	public int hashCode()
+	{
+		int result = z;
+		result = 31 * result + x;
+		result = 31 * result + y;
+		return result;
+	}
+
+	@Override
+	public String toString()
+	{
+		return z + "/" + x + "/" + y;
+	}
+}
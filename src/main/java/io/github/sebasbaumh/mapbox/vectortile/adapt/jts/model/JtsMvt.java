@@ -69,10 +69,10 @@ public class JtsMvt
 	public boolean equals(@Nullable Object o)
 	{
 		if (this == o) return true;
-		if (o == null || getClass() != o.getClass()) return false;
+		// compare by layers only, so lazily decoded tiles are equal to decoded ones
+		if (!(o instanceof JtsMvt jtsMvt)) return false;
 
-		JtsMvt jtsMvt = (JtsMvt) o;
-		return layersByName.equals(jtsMvt.layersByName);
+		return getLayersByName().equals(jtsMvt.getLayersByName());
 	}
 
 	/**
@@ -106,7 +106,7 @@ public class JtsMvt
 	@Override
 	public int hashCode()
 	{
-		return layersByName.hashCode();
+		return getLayersByName().hashCode();
 	}
 
 	@Override
@@ -0,0 +1,119 @@
+package io.github.sebasbaumh.mapbox.vectortile.adapt.jts.model;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.annotation.DefaultLocation;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * JTS model of a Mapbox Vector Tile decoding its layers lazily.
+ * <p>
+ * Each layer is only decoded on the first access to it by {@link #getLayer(String)}. Accessing all layers (e.g. by
+ * {@link #getLayers()}, {@link #equals(Object)} or {@link #hashCode()}) decodes all of them. Decoded layers are
+ * cached. An instance is equal to a {@link JtsMvt} with the same layers.
+ * </p>
+ * <p>
+ * Instances are thread-safe.
+ * </p>
+ */
+@NonNullByDefault({ DefaultLocation.PARAMETER, DefaultLocation.RETURN_TYPE })
+public class LazyJtsMvt extends JtsMvt
+{
+	/**
+	 * Decoded layers by name.
+	 */
+	private final Map<String, JtsLayer> decodedLayers = new HashMap<String, JtsLayer>();
+	/**
+	 * Functions to decode the layers by name (in their original order).
+	 */
+	private final Map<String, Supplier<JtsLayer>> layerDecoders;
+
+	/**
+	 * Create a MVT with the provided layers.
+	 * @param layerDecoders functions decoding the layers by name (the order is kept)
+	 */
+	public LazyJtsMvt(Map<String, Supplier<JtsLayer>> layerDecoders)
+	{
+		super();
+		this.layerDecoders = new LinkedHashMap<String, Supplier<JtsLayer>>(layerDecoders);
+	}
+
+	/**
+	 * Get the layer by the given name. The layer is decoded on the first call.
+	 * @param name layer name
+	 * @return layer with matching name, or null if none exists
+	 * @throws java.io.UncheckedIOException if the layer cannot be decoded
+	 */
+	@Override
+	public synchronized JtsLayer getLayer(String name)
+	{
+		JtsLayer layer = decodedLayers.get(name);
+		if (layer == null)
+		{
+			Supplier<JtsLayer> decoder = layerDecoders.get(name);
+			if (decoder == null)
+			{
+				return null;
+			}
+			layer = decoder.get();
+			decodedLayers.put(name, layer);
+		}
+		return layer;
+	}
+
+	/**
+	 * Get the names of all layers without decoding them.
+	 * @return insertion-ordered set of layer names
+	 */
+	public Set<String> getLayerNames()
+	{
+		return Collections.unmodifiableSet(layerDecoders.keySet());
+	}
+
+	/**
+	 * Get get all layers within the vector tile. All layers are decoded.
+	 * @return insertion-ordered collection of layers
+	 */
+	@Override
+	public Collection<JtsLayer> getLayers()
+	{
+		return getLayersByName().values();
+	}
+
+	/**
+	 * Get all layers within the vector tile mapped by name. All layers are decoded.
+	 * @return mapping of layer name to layer
+	 */
+	@Override
+	public Map<String, JtsLayer> getLayersByName()
+	{
+		Map<String, JtsLayer> layersByName = LinkedHashMap.newLinkedHashMap(layerDecoders.size());
+		for (String name : layerDecoders.keySet())
+		{
+			layersByName.put(name, getLayer(name));
+		}
+		return Collections.unmodifiableMap(layersByName);
+	}
+
+	/**
+	 * Checks if the layer with the given name has already been decoded.
+	 * @param name layer name
+	 * @return true if it has been decoded, else false
+	 */
+	public synchronized boolean isDecoded(String name)
+	{
+		return decodedLayers.containsKey(name);
+	}
+
+	@Override
+	public String toString()
+	{
+		return "LazyJtsMvt{" + "layers=" + layerDecoders.keySet() + '}';
+	}
+}
@@ -0,0 +1,25 @@
+package io.github.sebasbaumh.mapbox.vectortile.build;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Strategies for clipping source geometries by the (buffered) tile envelope.
+ * @see MvtLayerParams
+ */
+@NonNullByDefault
+public enum ClipStrategy
+{
+//@formatter:off
+	/**
+	 * Full overlay operation (see
+	 * {@link org.locationtech.jts.geom.Geometry#intersection(org.locationtech.jts.geom.Geometry)}), which is used by
+	 * default.
+	 */
+	OVERLAY,
+	/**
+	 * Fast rectangle clipper (see {@link io.github.sebasbaumh.mapbox.vectortile.adapt.jts.RectangleClipper}), which
+	 * falls back to a full overlay operation for polygons it cannot clip to a valid result.
+	 */
+	RECTANGLE;
+//@formatter:on
+}
@@ -1,5 +1,8 @@
 package io.github.sebasbaumh.mapbox.vectortile.build;
 
+import java.util.Arrays;
+import java.util.Objects;
+
 import org.eclipse.jdt.annotation.DefaultLocation;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 
@@ -20,25 +23,88 @@ public class MvtLayerParams
 	 * </p>
 	 * <ul>
 	 * <li>{@link #getExtent()} = 4096</li>
+	 * <li>{@link #getSimplification()} = {@link Simplification#TOPOLOGY_PRESERVING}</li>
+	 * <li>{@link #getSimplificationTolerance(int)} = 0</li>
+	 * <li>{@link #getClipStrategy()} = {@link ClipStrategy#OVERLAY}</li>
 	 * </ul>
 	 */
 	public static final MvtLayerParams DEFAULT = new MvtLayerParams(DEFAULT_EXTENT);
+	/**
+	 * Clipping strategy.
+	 */
+	private final ClipStrategy clipStrategy;
 	/**
 	 * the resolution of the MVT local coordinate system.
 	 */
 	private final int extent;
+	/**
+	 * Simplification strategy.
+	 */
+	private final Simplification simplification;
+	/**
+	 * Simplification tolerances in tile pixels by zoom level.
+	 */
+	private final double[] simplificationTolerances;
 
 	/**
 	 * Construct layer sizing parameters for MVT creation.
 	 * @param extent the resolution of the MVT local coordinate system, must be &gt; 0
 	 */
 	public MvtLayerParams(int extent)
+	{
+		this(extent, Simplification.TOPOLOGY_PRESERVING, 0d);
+	}
+
+	/**
+	 * Construct layer sizing and simplification parameters for MVT creation.
+	 * @param extent the resolution of the MVT local coordinate system, must be &gt; 0
+	 * @param simplification simplification strategy
+	 * @param simplificationTolerances simplification tolerances in tile pixels (see {@link #getTileSize()}) for zoom
+	 *            levels 0, 1, 2, ..., must be &gt;= 0. The last value is used for all higher zoom levels, so a single
+	 *            value applies to all zoom levels. If none is given, 0 is used.
+	 */
+	public MvtLayerParams(int extent, Simplification simplification, double... simplificationTolerances)
+	{
+		this(extent, simplification, ClipStrategy.OVERLAY, simplificationTolerances);
+	}
+
+	/**
+	 * Construct layer sizing, simplification and clipping parameters for MVT creation.
+	 * @param extent the resolution of the MVT local coordinate system, must be &gt; 0
+	 * @param simplification simplification strategy
+	 * @param clipStrategy clipping strategy
+	 * @param simplificationTolerances simplification tolerances in tile pixels (see {@link #getTileSize()}) for zoom
+	 *            levels 0, 1, 2, ..., must be &gt;= 0. The last value is used for all higher zoom levels, so a single
+	 *            value applies to all zoom levels. If none is given, 0 is used.
+	 */
+	public MvtLayerParams(int extent, Simplification simplification, ClipStrategy clipStrategy,
+			double... simplificationTolerances)
 	{
 		if (extent <= 0)
 		{
 			throw new IllegalArgumentException("extent must be > 0");
 		}
+		for (double tolerance : simplificationTolerances)
+		{
+			if (!(tolerance >= 0d))
+			{
+				throw new IllegalArgumentException("simplification tolerances must be >= 0");
+			}
+		}
 		this.extent = extent;
+		this.simplification = Objects.requireNonNull(simplification);
+		this.clipStrategy = Objects.requireNonNull(clipStrategy);
+		this.simplificationTolerances = (simplificationTolerances.length > 0) ? simplificationTolerances.clone()
+				: new double[] { 0d };
+	}
+
+	/**
+	 * Gets the clipping strategy.
+	 * @return clipping strategy
+	 */
+	public ClipStrategy getClipStrategy()
+	{
+		return clipStrategy;
 	}
 
 	/**
@@ -60,6 +126,30 @@ public class MvtLayerParams
 		return extent / 256.0;
 	}
 
+	/**
+	 * Gets the simplification strategy.
+	 * @return simplification strategy
+	 */
+	public Simplification getSimplification()
+	{
+		return simplification;
+	}
+
+	/**
+	 * Gets the simplification tolerance in tile pixels for the given zoom level.
+	 * @param zoom zoom level (a negative value means the zoom level is unknown, so the tolerance for the highest
+	 *            configured zoom level is used)
+	 * @return simplification tolerance in tile pixels
+	 */
+	public double getSimplificationTolerance(int zoom)
+	{
+		if ((zoom < 0) || (zoom >= simplificationTolerances.length))
+		{
+			return simplificationTolerances[simplificationTolerances.length - 1];
+		}
+		return simplificationTolerances[zoom];
+	}
+
 	/**
 	 * Gets the resolution of the tile in pixel coordinates
 	 * @return the resolution of the tile in pixel coordinates
@@ -75,7 +165,8 @@ public class MvtLayerParams
 	public String toString()
 	{
 		return this.getClass().getSimpleName() + " [tileSize=" + getTileSize() + ", extent=" + getExtent() + ", ratio="
-				+ getRatio() + "]";
+				+ getRatio() + ", simplification=" + simplification + ", simplificationTolerances="
+				+ Arrays.toString(simplificationTolerances) + ", clipStrategy=" + clipStrategy + "]";
 	}
 
 }
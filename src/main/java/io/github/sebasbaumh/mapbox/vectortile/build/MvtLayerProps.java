@@ -1,27 +1,108 @@
 package io.github.sebasbaumh.mapbox.vectortile.build;
 
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Objects;
 
+import javax.annotation.Nullable;
+
 import org.eclipse.jdt.annotation.DefaultLocation;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 
 import io.github.sebasbaumh.mapbox.vectortile.util.MvtUtil;
+import io.github.sebasbaumh.mapbox.vectortile.util.MvtValueEncoding;
 
 /**
+ * <p>
  * Support MVT features that must reference properties by their key and value index.
+ * </p>
+ * <p>
+ * Values are kept in primitive arrays and looked up in open addressing tables for each value type, so adding a
+ * primitive value (see {@link #addLongValue(long)}, {@link #addFloatValue(float)} and {@link #addDoubleValue(double)})
+ * does not box it. Values that are encoded to the same MVT value (see {@link MvtUtil#toMvtValue(Object)}) share the
+ * same index, e.g. equal {@link Integer} and {@link Long} values are both encoded as sint values. Such a value is
+ * returned with the type it has been added with first.
+ * </p>
+ * <p>
+ * The value encoding policy (see {@link MvtValueEncoding}) is used for writing the values by
+ * {@link MvtUtil#writeProps(io.github.sebasbaumh.mapbox.vectortile.VectorTile.Tile.Layer.Builder, MvtLayerProps)}.
+ * With {@link MvtValueEncoding#COMPACT} doubles that can be represented exactly as floats are added as floats, so they
+ * share their index with equal float values.
+ * </p>
  */
 @NonNullByDefault({ DefaultLocation.PARAMETER, DefaultLocation.RETURN_TYPE })
 public class MvtLayerProps
 {
+	/**
+	 * Type of boolean values.
+	 */
+	private static final byte TYPE_BOOL = 0;
+	/**
+	 * Type of double values.
+	 */
+	private static final byte TYPE_DOUBLE = 1;
+	/**
+	 * Type of float values.
+	 */
+	private static final byte TYPE_FLOAT = 2;
+	/**
+	 * Type of sint values added as {@link Integer}.
+	 */
+	private static final byte TYPE_INT = 3;
+	/**
+	 * Type of sint values.
+	 */
+	private static final byte TYPE_SINT = 4;
+	/**
+	 * Type of string values.
+	 */
+	private static final byte TYPE_STRING = 5;
+
+	private final LongIndexTable doubleValues = new LongIndexTable();
+	private int falseIndex = -1;
+	private final LongIndexTable floatValues = new LongIndexTable();
 	private final LinkedHashMap<String, Integer> keys = new LinkedHashMap<String, Integer>();
-	private final LinkedHashMap<Object, Integer> values = new LinkedHashMap<Object, Integer>();
+	private final LongIndexTable sintValues = new LongIndexTable();
+	private final StringIndexTable stringValues = new StringIndexTable();
+	private int trueIndex = -1;
+	/**
+	 * Values as long (sint), raw bits (double and float) or 0/1 (boolean) in order of their indices.
+	 */
+	private long[] valueBits = new long[16];
+	/**
+	 * Number of values.
+	 */
+	private int valueCount;
+	/**
+	 * Encoding policy of the values.
+	 */
+	private final MvtValueEncoding valueEncoding;
+	/**
+	 * String values in order of their indices (null for other types).
+	 */
+	private String[] valueStrings = new String[16];
+	/**
+	 * Types of the values in order of their indices.
+	 */
+	private byte[] valueTypes = new byte[16];
 
 	/**
-	 * Constructs an instance.
+	 * Constructs an instance using {@link MvtValueEncoding#DEFAULT}.
 	 */
 	public MvtLayerProps()
 	{
+		this(MvtValueEncoding.DEFAULT);
+	}
+
+	/**
+	 * Constructs an instance.
+	 * @param valueEncoding encoding policy of the values
+	 */
+	public MvtLayerProps(MvtValueEncoding valueEncoding)
+	{
+		this.valueEncoding = Objects.requireNonNull(valueEncoding);
 	}
 
 	/**
@@ -38,6 +119,106 @@ public class MvtLayerProps
 		return mapIndex == null ? nextIndex : mapIndex;
 	}
 
+	/**
+	 * Adds a value with the given type.
+	 * @param type type
+	 * @param bits value as long, raw bits or 0/1
+	 * @param s string value (null for other types)
+	 * @return index of the value
+	 */
+	private int addValue(byte type, long bits, @Nullable String s)
+	{
+		if (valueCount == valueTypes.length)
+		{
+			final int capacity = valueCount * 2;
+			valueTypes = Arrays.copyOf(valueTypes, capacity);
+			valueBits = Arrays.copyOf(valueBits, capacity);
+			valueStrings = Arrays.copyOf(valueStrings, capacity);
+		}
+		valueTypes[valueCount] = type;
+		valueBits[valueCount] = bits;
+		valueStrings[valueCount] = s;
+		return valueCount++;
+	}
+
+	/**
+	 * Add the boolean value and return it's index code. If the value already is present, the previous index code is
+	 * returned and no insertion is done.
+	 * @param value value to add
+	 * @return index of the value
+	 */
+	private int addBooleanValue(boolean value)
+	{
+		if (value)
+		{
+			if (trueIndex < 0)
+			{
+				trueIndex = addValue(TYPE_BOOL, 1, null);
+			}
+			return trueIndex;
+		}
+		if (falseIndex < 0)
+		{
+			falseIndex = addValue(TYPE_BOOL, 0, null);
+		}
+		return falseIndex;
+	}
+
+	/**
+	 * Add the double value and return it's index code. If the value already is present, the previous index code is
+	 * returned and no insertion is done. Values are compared by their bits.
+	 * @param value value to add
+	 * @return index of the value
+	 */
+	public int addDoubleValue(double value)
+	{
+		// doubles encoded as floats share the index of the float value
+		if ((valueEncoding == MvtValueEncoding.COMPACT) && MvtUtil.isFloat(value))
+		{
+			return addFloatValue((float) value);
+		}
+		final long bits = Double.doubleToRawLongBits(value);
+		final int index = doubleValues.putIfAbsent(bits, valueCount);
+		return (index >= 0) ? index : addValue(TYPE_DOUBLE, bits, null);
+	}
+
+	/**
+	 * Add the float value and return it's index code. If the value already is present, the previous index code is
+	 * returned and no insertion is done. Values are compared by their bits.
+	 * @param value value to add
+	 * @return index of the value
+	 */
+	public int addFloatValue(float value)
+	{
+		final long bits = Float.floatToRawIntBits(value);
+		final int index = floatValues.putIfAbsent(bits, valueCount);
+		return (index >= 0) ? index : addValue(TYPE_FLOAT, bits, null);
+	}
+
+	/**
+	 * Add the integer value and return it's index code. If the value already is present (also as an {@link Long}), the
+	 * previous index code is returned and no insertion is done.
+	 * @param value value to add
+	 * @return index of the value
+	 */
+	private int addIntValue(int value)
+	{
+		final int index = sintValues.putIfAbsent(value, valueCount);
+		return (index >= 0) ? index : addValue(TYPE_INT, value, null);
+	}
+
+	/**
+	 * Add the integer value and return it's index code. If the value already is present (also as an {@link Integer} or
+	 * {@link Long}), the previous index code is returned and no insertion is done.
+	 * @param value value to add
+	 * @return index of the value
+	 */
+	public int addLongValue(long value)
+	{
+		final int index = sintValues.putIfAbsent(value, valueCount);
+		return (index >= 0) ? index : addValue(TYPE_SINT, value, null);
+	}
+
 	/**
 	 * Add the value and return it's index code. If the value already is present, the previous index code is returned
 	 * and no insertion is done. If {@code value} is an unsupported type for encoding in a MVT, then it will not be
@@ -49,14 +230,32 @@ public class MvtLayerProps
 	public int addValue(Object value)
 	{
 		Objects.requireNonNull(value);
-		if (!MvtUtil.isValidPropValue(value))
+		if (value instanceof String v)
 		{
-			return -1;
+			final int index = stringValues.putIfAbsent(v, valueCount);
+			return (index >= 0) ? index : addValue(TYPE_STRING, 0, v);
 		}
-
-		int nextIndex = values.size();
-		final Integer mapIndex = values.putIfAbsent(value, nextIndex);
-		return mapIndex == null ? nextIndex : mapIndex;
+		else if (value instanceof Integer v)
+		{
+			return addIntValue(v.intValue());
+		}
+		else if (value instanceof Long v)
+		{
+			return addLongValue(v.longValue());
+		}
+		else if (value instanceof Double v)
+		{
+			return addDoubleValue(v.doubleValue());
+		}
+		else if (value instanceof Float v)
+		{
+			return addFloatValue(v.floatValue());
+		}
+		else if (value instanceof Boolean v)
+		{
+			return addBooleanValue(v.booleanValue());
+		}
+		return -1;
 	}
 
 	/**
@@ -69,18 +268,245 @@ public class MvtLayerProps
 	}
 
 	/**
-	 * Gets all values.
+	 * Gets the value with the given index.
+	 * @param index index of the value
+	 * @return {@link Boolean}, {@link Integer}, {@link Long}, {@link Float}, {@link Double} or {@link String}
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	public Object getValue(int index)
+	{
+		Objects.checkIndex(index, valueCount);
+		final long bits = valueBits[index];
+		switch (valueTypes[index])
+		{
+			case TYPE_BOOL:
+				return Boolean.valueOf(bits != 0);
+			case TYPE_DOUBLE:
+				return Double.valueOf(Double.longBitsToDouble(bits));
+			case TYPE_FLOAT:
+				return Float.valueOf(Float.intBitsToFloat((int) bits));
+			case TYPE_INT:
+				return Integer.valueOf((int) bits);
+			case TYPE_SINT:
+				return Long.valueOf(bits);
+			default:
+				return valueStrings[index];
+		}
+	}
+
+	/**
+	 * Gets the encoding policy of the values.
+	 * @return encoding policy
+	 */
+	public MvtValueEncoding getValueEncoding()
+	{
+		return valueEncoding;
+	}
+
+	/**
+	 * Gets the number of values.
+	 * @return number of values
+	 */
+	public int getValueCount()
+	{
+		return valueCount;
+	}
+
+	/**
+	 * Gets all values in order of their indices (see {@link #getValue(int)}).
 	 * @return values
 	 */
 	public Iterable<Object> getValues()
 	{
-		return values.keySet();
+		return new AbstractList<Object>()
+		{
+			@Override
+			public Object get(int index)
+			{
+				return getValue(index);
+			}
+
+			@Override
+			public int size()
+			{
+				return valueCount;
+			}
+		};
 	}
 
 	@Override
 	public String toString()
 	{
-		return "MvtLayerProps [keys=" + keys + ", values=" + values + "]";
+		return "MvtLayerProps [keys=" + keys + ", values=" + getValues() + "]";
 	}
 
+	/**
+	 * Open addressing hash table of long keys to value indices.
+	 */
+	private static final class LongIndexTable
+	{
+		/**
+		 * Value indices + 1 (0 for empty slots).
+		 */
+		private int[] indices = new int[16];
+		private long[] keys = new long[16];
+		private int size;
+
+		/**
+		 * Constructs an instance.
+		 */
+		LongIndexTable()
+		{
+		}
+
+		/**
+		 * Gets the first slot of the given key.
+		 * @param key key
+		 * @param mask mask of the table size
+		 * @return slot
+		 */
+		private static int slot(long key, int mask)
+		{
+			final long h = key * 0x9E3779B97F4A7C15L;
+			return (int) (h ^ (h >>> 32)) & mask;
+		}
+
+		/**
+		 * Doubles the size of the table.
+		 */
+		private void grow()
+		{
+			final long[] oldKeys = keys;
+			final int[] oldIndices = indices;
+			keys = new long[oldKeys.length * 2];
+			indices = new int[oldIndices.length * 2];
+			final int mask = keys.length - 1;
+			for (int i = 0; i < oldKeys.length; i++)
+			{
+				if (oldIndices[i] != 0)
+				{
+					int j = slot(oldKeys[i], mask);
+					while (indices[j] != 0)
+					{
+						j = (j + 1) & mask;
+					}
+					keys[j] = oldKeys[i];
+					indices[j] = oldIndices[i];
+				}
+			}
+		}
+
+		/**
+		 * Adds the given key if it is not present yet.
+		 * @param key key
+		 * @param index value index of the key
+		 * @return value index of an existing key or -1 if the key has been added
+		 */
+		int putIfAbsent(long key, int index)
+		{
+			final int mask = keys.length - 1;
+			int i = slot(key, mask);
+			while (indices[i] != 0)
+			{
+				if (keys[i] == key)
+				{
+					return indices[i] - 1;
+				}
+				i = (i + 1) & mask;
+			}
+			keys[i] = key;
+			indices[i] = index + 1;
+			// keep the load factor below 0.5
+			if (++size * 2 > keys.length)
+			{
+				grow();
+			}
+			return -1;
+		}
+	}
+
+	/**
+	 * Open addressing hash table of string keys to value indices.
+	 */
+	private static final class StringIndexTable
+	{
+		/**
+		 * Value indices + 1 (0 for empty slots).
+		 */
+		private int[] indices = new int[16];
+		private String[] keys = new String[16];
+		private int size;
+
+		/**
+		 * Constructs an instance.
+		 */
+		StringIndexTable()
+		{
+		}
+
+		/**
+		 * Gets the first slot of the given key.
+		 * @param key key
+		 * @param mask mask of the table size
+		 * @return slot
+		 */
+		private static int slot(String key, int mask)
+		{
+			final int h = key.hashCode() * 0x9E3779B9;
+			return (h ^ (h >>> 16)) & mask;
+		}
+
+		/**
+		 * Doubles the size of the table.
+		 */
+		private void grow()
+		{
+			final String[] oldKeys = keys;
+			final int[] oldIndices = indices;
+			keys = new String[oldKeys.length * 2];
+			indices = new int[oldIndices.length * 2];
+			final int mask = keys.length - 1;
+			for (int i = 0; i < oldKeys.length; i++)
+			{
+				if (oldIndices[i] != 0)
+				{
+					int j = slot(oldKeys[i], mask);
+					while (indices[j] != 0)
+					{
+						j = (j + 1) & mask;
+					}
+					keys[j] = oldKeys[i];
+					indices[j] = oldIndices[i];
+				}
+			}
+		}
+
+		/**
+		 * Adds the given key if it is not present yet.
+		 * @param key key
+		 * @param index value index of the key
+		 * @return value index of an existing key or -1 if the key has been added
+		 */
+		int putIfAbsent(String key, int index)
+		{
+			final int mask = keys.length - 1;
+			int i = slot(key, mask);
+			while (indices[i] != 0)
+			{
+				if (key.equals(keys[i]))
+				{
+					return indices[i] - 1;
+				}
+				i = (i + 1) & mask;
+			}
+			keys[i] = key;
+			indices[i] = index + 1;
+			// keep the load factor below 0.5
+			if (++size * 2 > keys.length)
+			{
+				grow();
+			}
+			return -1;
+		}
+	}
 }
@@ -0,0 +1,30 @@
+package io.github.sebasbaumh.mapbox.vectortile.build;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Line and polygon simplification strategies applied to tile geometries.
+ * @see MvtLayerParams
+ */
+@NonNullByDefault
+public enum Simplification
+{
+//@formatter:off
+	/**
+	 * No simplification (only repeated points are removed).
+	 */
+	NONE,
+	/**
+	 * Douglas–Peucker simplification, which may change the topology.
+	 */
+	DOUGLAS_PEUCKER,
+	/**
+	 * Douglas–Peucker simplification preserving the topology.
+	 */
+	TOPOLOGY_PRESERVING,
+	/**
+	 * Visvalingam–Whyatt simplification (removes vertices forming the smallest triangle areas).
+	 */
+	VISVALINGAM_WHYATT;
+//@formatter:on
+}
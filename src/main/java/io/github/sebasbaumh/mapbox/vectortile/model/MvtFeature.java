@@ -0,0 +1,237 @@
+package io.github.sebasbaumh.mapbox.vectortile.model;
+
+import java.util.Arrays;
+
+import javax.annotation.Nullable;
+
+import org.eclipse.jdt.annotation.DefaultLocation;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+import io.github.sebasbaumh.mapbox.vectortile.VectorTile.Tile.GeomType;
+
+/**
+ * <p>
+ * Compact model of a Mapbox Vector Tile (MVT) feature backed by primitive arrays.
+ * </p>
+ * <p>
+ * The geometry is stored as absolute tile coordinates (pairs of x and y) split into parts by offsets:
+ * </p>
+ * <ul>
+ * <li>{@link GeomType#POINT}: a single part containing all points</li>
+ * <li>{@link GeomType#LINESTRING}: one part per line string</li>
+ * <li>{@link GeomType#POLYGON}: one part per ring, without repeating the first coordinate at the end (rings are
+ * grouped into polygons when converting them to geometries, e.g. by
+ * {@link io.github.sebasbaumh.mapbox.vectortile.adapt.jts.MvtModelAdapter})</li>
+ * </ul>
+ * <p>
+ * The arrays are not copied, so they must not be modified after creating a feature.
+ * </p>
+ */
+@NonNullByDefault({ DefaultLocation.PARAMETER, DefaultLocation.RETURN_TYPE })
+public final class MvtFeature
+{
+	private static final int[] EMPTY = new int[0];
+
+	private final int[] coordinates;
+	private final boolean hasId;
+	private final long id;
+	private final int[] partOffsets;
+	private final int[] tags;
+	private final GeomType type;
+
+	/**
+	 * Creates a feature without an id.
+	 * @param type geometry type
+	 * @param coordinates absolute tile coordinates (pairs of x and y)
+	 * @param partOffsets index of the first coordinate of each part followed by the number of coordinates
+	 * @param tags pairs of indices into the keys and values of the layer
+	 * @throws IllegalArgumentException if the arrays do not match
+	 */
+	public MvtFeature(GeomType type, int[] coordinates, int[] partOffsets, int[] tags)
+	{
+		this(0, false, type, coordinates, partOffsets, tags);
+	}
+
+	/**
+	 * Creates a feature.
+	 * @param id id
+	 * @param hasId true if the feature has an id, else false
+	 * @param type geometry type
+	 * @param coordinates absolute tile coordinates (pairs of x and y)
+	 * @param partOffsets index of the first coordinate of each part followed by the number of coordinates
+	 * @param tags pairs of indices into the keys and values of the layer
+	 * @throws IllegalArgumentException if the arrays do not match
+	 */
+	public MvtFeature(long id, boolean hasId, GeomType type, int[] coordinates, int[] partOffsets, int[] tags)
+	{
+		if ((coordinates.length % 2) != 0)
+		{
+			throw new IllegalArgumentException("coordinates must have an even length");
+		}
+		if ((tags.length % 2) != 0)
+		{
+			throw new IllegalArgumentException("tags must have an even length");
+		}
+		if ((partOffsets.length == 0) ? (coordinates.length != 0)
+				: ((partOffsets[0] != 0) || (partOffsets[partOffsets.length - 1] != coordinates.length / 2)))
+		{
+			throw new IllegalArgumentException("part offsets do not match coordinates");
+		}
+		this.id = id;
+		this.hasId = hasId;
+		this.type = type;
+		this.coordinates = coordinates;
+		this.partOffsets = partOffsets;
+		this.tags = tags;
+	}
+
+	/**
+	 * Creates a feature with a single part.
+	 * @param id id
+	 * @param hasId true if the feature has an id, else false
+	 * @param type geometry type
+	 * @param coordinates absolute tile coordinates (pairs of x and y)
+	 * @param tags pairs of indices into the keys and values of the layer
+	 * @return feature
+	 * @throws IllegalArgumentException if the arrays are invalid
+	 */
+	public static MvtFeature of(long id, boolean hasId, GeomType type, int[] coordinates, int[] tags)
+	{
+		return new MvtFeature(id, hasId, type, coordinates,
+				(coordinates.length == 0) ? EMPTY : new int[] { 0, coordinates.length / 2 }, tags);
+	}
+
+	@Override
+	public boolean equals(@Nullable Object o)
+	{
+		if (this == o) return true;
+		if (o == null || getClass() != o.getClass()) return false;
+		MvtFeature feature = (MvtFeature) o;
+		return (id == feature.id) && (hasId == feature.hasId) && (type == feature.type)
+				&& Arrays.equals(coordinates, feature.coordinates) && Arrays.equals(partOffsets, feature.partOffsets)
+				&& Arrays.equals(tags, feature.tags);
+	}
+
+	/**
+	 * Gets the absolute tile coordinates as pairs of x and y (not copied).
+	 * @return coordinates
+	 */
+	public int[] getCoordinates()
+	{
+		return coordinates;
+	}
+
+	/**
+	 * Gets the number of coordinates.
+	 * @return number of coordinates
+	 */
+	public int getCoordinateCount()
+	{
+		return coordinates.length / 2;
+	}
+
+	/**
+	 * Gets the id.
+	 * @return id (0 if it has no id)
+	 * @see #hasId()
+	 */
+	public long getId()
+	{
+		return id;
+	}
+
+	/**
+	 * Gets the number of parts (points, line strings or rings, see {@link MvtFeature}).
+	 * @return number of parts
+	 */
+	public int getPartCount()
+	{
+		return Math.max(partOffsets.length - 1, 0);
+	}
+
+	/**
+	 * Gets the index of the first coordinate of the given part.
+	 * @param part index of the part
+	 * @return index of the first coordinate
+	 */
+	public int getPartStart(int part)
+	{
+		return partOffsets[part];
+	}
+
+	/**
+	 * Gets the index after the last coordinate of the given part.
+	 * @param part index of the part
+	 * @return index after the last coordinate
+	 */
+	public int getPartEnd(int part)
+	{
+		return partOffsets[part + 1];
+	}
+
+	/**
+	 * Gets the tags as pairs of indices into the keys and values of the layer (not copied).
+	 * @return tags
+	 */
+	public int[] getTags()
+	{
+		return tags;
+	}
+
+	/**
+	 * Gets the geometry type.
+	 * @return geometry type
+	 */
+	public GeomType getType()
+	{
+		return type;
+	}
+
+	/**
+	 * Gets the x coordinate at the given index.
+	 * @param index index of the coordinate
+	 * @return x
+	 */
+	public int getX(int index)
+	{
+		return coordinates[index * 2];
+	}
+
+	/**
+	 * Gets the y coordinate at the given index.
+	 * @param index index of the coordinate
+	 * @return y
+	 */
+	public int getY(int index)
+	{
+		return coordinates[index * 2 + 1];
+	}
+
+	@Override
+	public int hashCode()
+	{
+		int result = Long.hashCode(id);
+		result = 31 * result + type.hashCode();
+		result = 31 * result + Arrays.hashCode(coordinates);
+		result = 31 * result + Arrays.hashCode(partOffsets);
+		result = 31 * result + Arrays.hashCode(tags);
+		return result;
+	}
+
+	/**
+	 * Checks if the feature has an id.
+	 * @return true if it has an id, else false
+	 */
+	public boolean hasId()
+	{
+		return hasId;
+	}
+
+	@Override
+	public String toString()
+	{
+		return "MvtFeature{" + "id=" + (hasId ? Long.toString(id) : "none") + ", type=" + type + ", coordinates="
+				+ Arrays.toString(coordinates) + ", partOffsets=" + Arrays.toString(partOffsets) + ", tags="
+				+ Arrays.toString(tags) + '}';
+	}
+}
@@ -0,0 +1,202 @@
+package io.github.sebasbaumh.mapbox.vectortile.model;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+import org.eclipse.jdt.annotation.DefaultLocation;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+import io.github.sebasbaumh.mapbox.vectortile.VectorTile;
+import io.github.sebasbaumh.mapbox.vectortile.build.MvtLayerParams;
+import io.github.sebasbaumh.mapbox.vectortile.util.MvtUtil;
+import io.github.sebasbaumh.mapbox.vectortile.util.MvtValueEncoding;
+
+/**
+ * <p>
+ * Compact model of a Mapbox Vector Tile (MVT) layer consisting of {@link MvtFeature}s.
+ * </p>
+ * <p>
+ * Keys and values are kept as in the tile, so the tags of the features can be resolved on demand. The field each value
+ * is stored in (e.g. uint or sint) is kept, too, so a layer is written back unchanged.
+ * </p>
+ */
+@NonNullByDefault({ DefaultLocation.PARAMETER, DefaultLocation.RETURN_TYPE })
+public final class MvtLayer
+{
+	private final int extent;
+	private final List<MvtFeature> features;
+	private final List<String> keys;
+	private final String name;
+	private final int[] valueTypes;
+	private final List<Object> values;
+	private final int version;
+
+	/**
+	 * Creates a layer using the default extent and version.
+	 * @param name name
+	 * @param keys keys
+	 * @param values values (Strings or boxed primitives, see {@link MvtUtil#isValidPropValue(Object)})
+	 * @param features features
+	 */
+	public MvtLayer(String name, List<String> keys, List<Object> values, List<MvtFeature> features)
+	{
+		this(name, MvtLayerParams.DEFAULT_EXTENT, MvtUtil.LAYER_VERSION, keys, values, features);
+	}
+
+	/**
+	 * Creates a layer. The values are stored in their fields by {@link MvtValueEncoding#DEFAULT}.
+	 * @param name name
+	 * @param extent extent
+	 * @param version version
+	 * @param keys keys
+	 * @param values values (Strings or boxed primitives, see {@link MvtUtil#isValidPropValue(Object)})
+	 * @param features features
+	 * @throws IllegalArgumentException if {@code extent} is less than or equal to 0
+	 */
+	public MvtLayer(String name, int extent, int version, List<String> keys, List<Object> values,
+			List<MvtFeature> features)
+	{
+		this(name, extent, version, keys, values, getValueTypes(values), features);
+	}
+
+	/**
+	 * Creates a layer.
+	 * @param name name
+	 * @param extent extent
+	 * @param version version
+	 * @param keys keys
+	 * @param values values (Strings or boxed primitives, see {@link MvtUtil#isValidPropValue(Object)})
+	 * @param valueTypes fields the values are stored in (e.g. {@link VectorTile.Tile.Value#UINT_VALUE_FIELD_NUMBER}),
+	 *            not copied
+	 * @param features features
+	 * @throws IllegalArgumentException if {@code extent} is less than or equal to 0 or the number of value types does
+	 *             not match the number of values
+	 */
+	public MvtLayer(String name, int extent, int version, List<String> keys, List<Object> values, int[] valueTypes,
+			List<MvtFeature> features)
+	{
+		if (extent <= 0)
+		{
+			throw new IllegalArgumentException("extent is less than or equal to 0");
+		}
+		if (valueTypes.length != values.size())
+		{
+			throw new IllegalArgumentException("number of value types does not match the number of values");
+		}
+		this.valueTypes = valueTypes;
+		this.name = name;
+		this.extent = extent;
+		this.version = version;
+		this.keys = Collections.unmodifiableList(keys);
+		this.values = Collections.unmodifiableList(values);
+		this.features = Collections.unmodifiableList(features);
+	}
+
+	@Override
+	public boolean equals(@Nullable Object o)
+	{
+		if (this == o) return true;
+		if (o == null || getClass() != o.getClass()) return false;
+		MvtLayer layer = (MvtLayer) o;
+		return (extent == layer.extent) && (version == layer.version) && name.equals(layer.name)
+				&& keys.equals(layer.keys) && values.equals(layer.values) && Arrays.equals(valueTypes, layer.valueTypes)
+				&& features.equals(layer.features);
+	}
+
+	/**
+	 * Gets the fields of the given values using {@link MvtValueEncoding#DEFAULT}.
+	 * @param values values
+	 * @return field numbers
+	 */
+	private static int[] getValueTypes(List<Object> values)
+	{
+		final int[] valueTypes = new int[values.size()];
+		for (int i = 0; i < valueTypes.length; i++)
+		{
+			valueTypes[i] = MvtUtil.getValueFieldNumber(values.get(i), MvtValueEncoding.DEFAULT);
+		}
+		return valueTypes;
+	}
+
+	/**
+	 * Gets the extent.
+	 * @return extent
+	 */
+	public int getExtent()
+	{
+		return extent;
+	}
+
+	/**
+	 * Gets the features.
+	 * @return unmodifiable list of features
+	 */
+	public List<MvtFeature> getFeatures()
+	{
+		return features;
+	}
+
+	/**
+	 * Gets the keys referenced by the tags of the features.
+	 * @return unmodifiable list of keys
+	 */
+	public List<String> getKeys()
+	{
+		return keys;
+	}
+
+	/**
+	 * Gets the name.
+	 * @return name
+	 */
+	public String getName()
+	{
+		return name;
+	}
+
+	/**
+	 * Gets the values referenced by the tags of the features.
+	 * @return unmodifiable list of values (Strings or boxed primitives or null if a value is not set)
+	 */
+	public List<Object> getValues()
+	{
+		return values;
+	}
+
+	/**
+	 * Gets the field the value at the given index is stored in.
+	 * @param index index of the value
+	 * @return field number (e.g. {@link VectorTile.Tile.Value#UINT_VALUE_FIELD_NUMBER}, 0 if the value is not set)
+	 */
+	public int getValueType(int index)
+	{
+		return valueTypes[index];
+	}
+
+	/**
+	 * Gets the version.
+	 * @return version
+	 */
+	public int getVersion()
+	{
+		return version;
+	}
+
+	@Override
+	public int hashCode()
+	{
+		int result = name.hashCode();
+		result = 31 * result + extent;
+		result = 31 * result + features.hashCode();
+		return result;
+	}
+
+	@Override
+	public String toString()
+	{
+		return "MvtLayer{" + "name='" + name + '\'' + ", features=" + features.size() + ", extent=" + extent + '}';
+	}
+}
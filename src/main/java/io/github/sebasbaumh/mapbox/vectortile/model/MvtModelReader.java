@@ -0,0 +1,209 @@
+package io.github.sebasbaumh.mapbox.vectortile.model;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.DefaultLocation;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+import io.github.sebasbaumh.mapbox.vectortile.VectorTile.Tile.GeomType;
+import io.github.sebasbaumh.mapbox.vectortile.util.GeomCmd;
+import io.github.sebasbaumh.mapbox.vectortile.util.IntArrayList;
+import io.github.sebasbaumh.mapbox.vectortile.util.MvtCursor;
+import io.github.sebasbaumh.mapbox.vectortile.util.MvtUtil;
+
+/**
+ * Reads Mapbox Vector Tiles (MVT) into {@link MvtLayer}s and {@link MvtFeature}s without creating any JTS geometries.
+ * <p>
+ * Invalid geometry commands are handled like in {@link io.github.sebasbaumh.mapbox.vectortile.adapt.jts.MvtReader}:
+ * decoding stops at the first invalid command and the parts read so far are kept. A trailing unpaired tag of a feature
+ * is dropped like {@link io.github.sebasbaumh.mapbox.vectortile.adapt.jts.TagKeyValueMapConverter} ignores it.
+ * </p>
+ */
+@NonNullByDefault({ DefaultLocation.PARAMETER, DefaultLocation.RETURN_TYPE })
+public final class MvtModelReader
+{
+	private static final int MIN_LINE_STRING_LEN = 6; // MoveTo,1 + LineTo,1
+	private static final int MIN_POLYGON_LEN = 9; // MoveTo,1 + LineTo,2 + ClosePath
+
+	// prevent instantiating this class
+	@Deprecated
+	private MvtModelReader()
+	{
+	}
+
+	/**
+	 * Decodes geometry commands to absolute coordinates and part offsets.
+	 * @param type geometry type
+	 * @param geomCmds geometry commands
+	 * @param coords list to add the coordinates to
+	 * @param partOffsets list to add the part offsets to
+	 */
+	private static void decodeGeometry(GeomType type, IntArrayList geomCmds, IntArrayList coords,
+			IntArrayList partOffsets)
+	{
+		final int size = geomCmds.size();
+		int x = 0;
+		int y = 0;
+		int i = 0;
+		switch (type)
+		{
+			case POINT:
+			{
+				if (size == 0)
+				{
+					return;
+				}
+				final int cmdHdr = geomCmds.get(i++);
+				final int cmdLength = MvtUtil.getGeomCmdLength(cmdHdr);
+				if ((MvtUtil.getGeomCmd(cmdHdr) != GeomCmd.MOVE_TO) || (cmdLength < 1)
+						|| (cmdLength * GeomCmd.MOVE_TO.getParamCount() + 1 > size))
+				{
+					return;
+				}
+				for (int n = 0; n < cmdLength; n++)
+				{
+					x += MvtUtil.decodeZigZag(geomCmds.get(i++));
+					y += MvtUtil.decodeZigZag(geomCmds.get(i++));
+					coords.add(x, y);
+				}
+				break;
+			}
+			case LINESTRING:
+			case POLYGON:
+			{
+				final boolean polygon = type == GeomType.POLYGON;
+				final int minLength = polygon ? MIN_POLYGON_LEN : MIN_LINE_STRING_LEN;
+				while (i <= size - minLength)
+				{
+					// MoveTo command of length 1
+					int cmdHdr = geomCmds.get(i++);
+					if ((MvtUtil.getGeomCmd(cmdHdr) != GeomCmd.MOVE_TO) || (MvtUtil.getGeomCmdLength(cmdHdr) != 1))
+					{
+						break;
+					}
+					x += MvtUtil.decodeZigZag(geomCmds.get(i++));
+					y += MvtUtil.decodeZigZag(geomCmds.get(i++));
+					final int start = coords.size();
+					coords.add(x, y);
+					// LineTo command (plus ClosePath for rings)
+					cmdHdr = geomCmds.get(i++);
+					final int cmdLength = MvtUtil.getGeomCmdLength(cmdHdr);
+					if ((MvtUtil.getGeomCmd(cmdHdr) != GeomCmd.LINE_TO) || (cmdLength < (polygon ? 2 : 1))
+							|| ((cmdLength * GeomCmd.LINE_TO.getParamCount()) + i + (polygon ? 1 : 0) > size))
+					{
+						coords.truncate(start);
+						break;
+					}
+					for (int n = 0; n < cmdLength; n++)
+					{
+						x += MvtUtil.decodeZigZag(geomCmds.get(i++));
+						y += MvtUtil.decodeZigZag(geomCmds.get(i++));
+						coords.add(x, y);
+					}
+					if (polygon)
+					{
+						cmdHdr = geomCmds.get(i++);
+						if ((MvtUtil.getGeomCmd(cmdHdr) != GeomCmd.CLOSE_PATH)
+								|| (MvtUtil.getGeomCmdLength(cmdHdr) != 1))
+						{
+							coords.truncate(start);
+							break;
+						}
+					}
+					partOffsets.add(start / 2);
+				}
+				break;
+			}
+			default:
+				return;
+		}
+		if (!coords.isEmpty())
+		{
+			if (type == GeomType.POINT)
+			{
+				partOffsets.add(0);
+			}
+			partOffsets.add(coords.size() / 2);
+		}
+	}
+
+	/**
+	 * Reads all layers of the given tile data.
+	 * @param data tile data (not copied and must not be modified while reading)
+	 * @return layers
+	 * @throws IOException failure reading MVT
+	 */
+	public static List<MvtLayer> loadLayers(byte[] data) throws IOException
+	{
+		return loadLayers(new MvtCursor(data));
+	}
+
+	/**
+	 * Reads all layers of the given stream (the stream is not closed).
+	 * @param is stream with MVT data
+	 * @return layers
+	 * @throws IOException failure reading MVT from stream
+	 */
+	public static List<MvtLayer> loadLayers(InputStream is) throws IOException
+	{
+		return loadLayers(new MvtCursor(is));
+	}
+
+	/**
+	 * Reads all remaining layers of the given cursor.
+	 * @param cursor cursor
+	 * @return layers
+	 * @throws IOException failure reading MVT
+	 */
+	public static List<MvtLayer> loadLayers(MvtCursor cursor) throws IOException
+	{
+		final List<MvtLayer> layers = new ArrayList<MvtLayer>();
+		while (cursor.nextLayer())
+		{
+			layers.add(readLayer(cursor));
+		}
+		return layers;
+	}
+
+	/**
+	 * Reads the remaining features of the current layer of the given cursor. Features of unknown geometry type are
+	 * skipped.
+	 * @param cursor cursor positioned at a layer
+	 * @return layer
+	 * @throws IOException failure reading MVT or if the extent of the layer is not positive
+	 */
+	public static MvtLayer readLayer(MvtCursor cursor) throws IOException
+	{
+		if (cursor.getLayerExtent() <= 0)
+		{
+			throw new IOException("invalid extent of layer " + cursor.getLayerName() + ": "
+					+ Integer.toUnsignedString(cursor.getLayerExtent()));
+		}
+		final List<MvtFeature> features = new ArrayList<MvtFeature>();
+		final IntArrayList coords = new IntArrayList();
+		final IntArrayList partOffsets = new IntArrayList();
+		while (cursor.nextFeature())
+		{
+			final GeomType type = cursor.getFeatureType();
+			if (type == GeomType.UNKNOWN)
+			{
+				continue;
+			}
+			coords.clear();
+			partOffsets.clear();
+			decodeGeometry(type, cursor.getGeometry(), coords, partOffsets);
+			// drop an unpaired tag at the end
+			final IntArrayList tags = cursor.getTags();
+			final int[] tagArray = Arrays.copyOf(tags.getArray(), tags.size() & ~1);
+			features.add(new MvtFeature(cursor.getFeatureId(), cursor.hasFeatureId(), type, coords.toArray(),
+					partOffsets.toArray(), tagArray));
+		}
+		return new MvtLayer(cursor.getLayerName(), cursor.getLayerExtent(), cursor.getLayerVersion(),
+				new ArrayList<String>(cursor.getLayerKeys()), new ArrayList<Object>(cursor.getLayerValues()),
+				cursor.getLayerValueTypes().toArray(), features);
+	}
+}
@@ -0,0 +1,153 @@
+package io.github.sebasbaumh.mapbox.vectortile.model;
+
+import java.util.List;
+
+import org.eclipse.jdt.annotation.DefaultLocation;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+import io.github.sebasbaumh.mapbox.vectortile.VectorTile;
+import io.github.sebasbaumh.mapbox.vectortile.VectorTile.Tile.GeomType;
+import io.github.sebasbaumh.mapbox.vectortile.util.GeomCmd;
+import io.github.sebasbaumh.mapbox.vectortile.util.MvtUtil;
+
+/**
+ * Encodes {@link MvtLayer}s and {@link MvtFeature}s to Mapbox Vector Tiles (MVT).
+ */
+@NonNullByDefault({ DefaultLocation.PARAMETER, DefaultLocation.RETURN_TYPE })
+public final class MvtModelWriter
+{
+	// prevent instantiating this class
+	@Deprecated
+	private MvtModelWriter()
+	{
+	}
+
+	/**
+	 * Encode the given layers to byte[] ready for writing to a file.
+	 * @param layers layers
+	 * @return bytes ready for writing to a .mvt
+	 */
+	public static byte[] encode(Iterable<MvtLayer> layers)
+	{
+		return toTile(layers).toByteArray();
+	}
+
+	/**
+	 * Encodes the geometry of the given feature to MVT geometry commands. Parts with too few coordinates (less than 2
+	 * for line strings and less than 3 for rings) are skipped.
+	 * @param feature feature
+	 * @param featureBuilder builder to add the geometry commands to
+	 */
+	private static void encodeGeometry(MvtFeature feature, VectorTile.Tile.Feature.Builder featureBuilder)
+	{
+		final int minLength = (feature.getType() == GeomType.POLYGON) ? 3 : 2;
+		int x = 0;
+		int y = 0;
+		if (feature.getType() == GeomType.POINT)
+		{
+			final int n = feature.getCoordinateCount();
+			if (n == 0)
+			{
+				return;
+			}
+			featureBuilder.addGeometry(MvtUtil.geomCmdHdr(GeomCmd.MOVE_TO, n));
+			for (int i = 0; i < n; i++)
+			{
+				featureBuilder.addGeometry(MvtUtil.encodeZigZag(feature.getX(i) - x));
+				featureBuilder.addGeometry(MvtUtil.encodeZigZag(feature.getY(i) - y));
+				x = feature.getX(i);
+				y = feature.getY(i);
+			}
+			return;
+		}
+		for (int part = 0; part < feature.getPartCount(); part++)
+		{
+			final int start = feature.getPartStart(part);
+			final int end = feature.getPartEnd(part);
+			if (end - start < minLength)
+			{
+				continue;
+			}
+			for (int i = start; i < end; i++)
+			{
+				if (i == start)
+				{
+					featureBuilder.addGeometry(MvtUtil.geomCmdHdr(GeomCmd.MOVE_TO, 1));
+				}
+				else if (i == start + 1)
+				{
+					featureBuilder.addGeometry(MvtUtil.geomCmdHdr(GeomCmd.LINE_TO, end - start - 1));
+				}
+				featureBuilder.addGeometry(MvtUtil.encodeZigZag(feature.getX(i) - x));
+				featureBuilder.addGeometry(MvtUtil.encodeZigZag(feature.getY(i) - y));
+				x = feature.getX(i);
+				y = feature.getY(i);
+			}
+			if (feature.getType() == GeomType.POLYGON)
+			{
+				featureBuilder.addGeometry(MvtUtil.CLOSE_PATH_HDR);
+			}
+		}
+	}
+
+	/**
+	 * Converts the given feature to a MVT feature.
+	 * @param feature feature
+	 * @return MVT feature
+	 */
+	public static VectorTile.Tile.Feature toFeature(MvtFeature feature)
+	{
+		final VectorTile.Tile.Feature.Builder featureBuilder = VectorTile.Tile.Feature.newBuilder();
+		if (feature.hasId())
+		{
+			featureBuilder.setId(feature.getId());
+		}
+		featureBuilder.setType(feature.getType());
+		encodeGeometry(feature, featureBuilder);
+		for (int tag : feature.getTags())
+		{
+			featureBuilder.addTags(tag);
+		}
+		return featureBuilder.build();
+	}
+
+	/**
+	 * Converts the given layer to a MVT layer.
+	 * @param layer layer
+	 * @return MVT layer
+	 */
+	public static VectorTile.Tile.Layer toLayer(MvtLayer layer)
+	{
+		final VectorTile.Tile.Layer.Builder layerBuilder = VectorTile.Tile.Layer.newBuilder();
+		layerBuilder.setVersion(layer.getVersion());
+		layerBuilder.setName(layer.getName());
+		layerBuilder.setExtent(layer.getExtent());
+		for (MvtFeature feature : layer.getFeatures())
+		{
+			layerBuilder.addFeatures(toFeature(feature));
+		}
+		layerBuilder.addAllKeys(layer.getKeys());
+		// keep the field of each value (e.g. uint or sint)
+		final List<Object> values = layer.getValues();
+		for (int i = 0; i < values.size(); i++)
+		{
+			layerBuilder.addValues(MvtUtil.toMvtValue(values.get(i), layer.getValueType(i)));
+		}
+		return layerBuilder.build();
+	}
+
+	/**
+	 * Converts the given layers to a MVT.
+	 * @param layers layers
+	 * @return {@link io.github.sebasbaumh.mapbox.vectortile.VectorTile.Tile}
+	 */
+	public static VectorTile.Tile toTile(Iterable<MvtLayer> layers)
+	{
+		final VectorTile.Tile.Builder tileBuilder = VectorTile.Tile.newBuilder();
+		for (MvtLayer layer : layers)
+		{
+			tileBuilder.addLayers(toLayer(layer));
+		}
+		return tileBuilder.build();
+	}
+}
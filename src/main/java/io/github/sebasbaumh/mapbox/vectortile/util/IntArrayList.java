@@ -0,0 +1,205 @@
+package io.github.sebasbaumh.mapbox.vectortile.util;
+
+import java.util.Arrays;
+
+import org.eclipse.jdt.annotation.DefaultLocation;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * A growable list of primitive int values.
+ * <p>
+ * It is intended to be reused as a buffer (e.g. for MVT geometry commands), so values are never boxed and the backing
+ * array is kept on {@link #clear()}.
+ * </p>
+ */
+@NonNullByDefault({ DefaultLocation.PARAMETER, DefaultLocation.RETURN_TYPE })
+public final class IntArrayList
+{
+	/**
+	 * Default initial capacity.
+	 */
+	private static final int DEFAULT_CAPACITY = 64;
+
+	/**
+	 * Backing array.
+	 */
+	private int[] data;
+	/**
+	 * Number of used entries in {@link #data}.
+	 */
+	private int size;
+
+	/**
+	 * Constructs an empty instance with a default capacity.
+	 */
+	public IntArrayList()
+	{
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Constructs an empty instance.
+	 * @param capacity initial capacity
+	 */
+	public IntArrayList(int capacity)
+	{
+		if (capacity < 0)
+		{
+			throw new IllegalArgumentException("capacity must be >= 0");
+		}
+		this.data = new int[capacity];
+	}
+
+	/**
+	 * Appends a value.
+	 * @param value value
+	 */
+	public void add(int value)
+	{
+		if (size == data.length)
+		{
+			grow(size + 1);
+		}
+		data[size++] = value;
+	}
+
+	/**
+	 * Appends two values, e.g. the parameters of a geometry command.
+	 * @param value1 first value
+	 * @param value2 second value
+	 */
+	public void add(int value1, int value2)
+	{
+		if (size + 2 > data.length)
+		{
+			grow(size + 2);
+		}
+		data[size++] = value1;
+		data[size++] = value2;
+	}
+
+	/**
+	 * Removes all values, but keeps the allocated capacity.
+	 */
+	public void clear()
+	{
+		size = 0;
+	}
+
+	/**
+	 * Ensures that the given number of values fits into the list without growing it again.
+	 * @param capacity minimum capacity
+	 */
+	public void ensureCapacity(int capacity)
+	{
+		if (capacity > data.length)
+		{
+			grow(capacity);
+		}
+	}
+
+	/**
+	 * Gets the value at the given index.
+	 * @param index index
+	 * @return value
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	public int get(int index)
+	{
+		if (index >= size)
+		{
+			throw new IndexOutOfBoundsException(index);
+		}
+		return data[index];
+	}
+
+	/**
+	 * Gets the backing array. Only the first {@link #size()} entries are valid and the array will change if the list
+	 * grows.
+	 * @return backing array
+	 */
+	public int[] getArray()
+	{
+		return data;
+	}
+
+	/**
+	 * Grows the backing array.
+	 * @param minCapacity minimum capacity
+	 */
+	private void grow(int minCapacity)
+	{
+		data = Arrays.copyOf(data, Math.max(minCapacity, Math.max(DEFAULT_CAPACITY, data.length + (data.length >> 1))));
+	}
+
+	/**
+	 * Checks if the list is empty.
+	 * @return true if there are no values, else false
+	 */
+	public boolean isEmpty()
+	{
+		return size == 0;
+	}
+
+	/**
+	 * Sets the value at the given index.
+	 * @param index index
+	 * @param value value
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	public void set(int index, int value)
+	{
+		if (index >= size)
+		{
+			throw new IndexOutOfBoundsException(index);
+		}
+		data[index] = value;
+	}
+
+	/**
+	 * Gets the number of values.
+	 * @return number of values
+	 */
+	public int size()
+	{
+		return size;
+	}
+
+	/**
+	 * Copies the values to a new array.
+	 * @return values
+	 */
+	public int[] toArray()
+	{
+		return Arrays.copyOf(data, size);
+	}
+
+	@Override
+	public String toString()
+	{
+		StringBuilder sb = new StringBuilder("[");
+		for (int i = 0; i < size; i++)
+		{
+			if (i > 0)
+			{
+				sb.append(", ");
+			}
+			sb.append(data[i]);
+		}
+		return sb.append(']').toString();
+	}
+
+	/**
+	 * Removes all values from the given index on (e.g. to discard values added after a checkpoint).
+	 * @param newSize new size, must be &lt;= {@link #size()}
+	 * @throws IndexOutOfBoundsException if the new size is out of range
+	 */
+	public void truncate(int newSize)
+	{
+		if ((newSize < 0) || (newSize > size))
+		{
+			throw new IndexOutOfBoundsException(newSize);
+		}
+		size = newSize;
+	}
+}
@@ -0,0 +1,458 @@
+package io.github.sebasbaumh.mapbox.vectortile.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+import org.eclipse.jdt.annotation.DefaultLocation;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.WireFormat;
+
+import io.github.sebasbaumh.mapbox.vectortile.VectorTile;
+import io.github.sebasbaumh.mapbox.vectortile.VectorTile.Tile.GeomType;
+import io.github.sebasbaumh.mapbox.vectortile.build.MvtLayerParams;
+
+/**
+ * Pull-style reader walking the layers and features of a Mapbox Vector Tile directly on the protobuf wire format.
+ * <p>
+ * No {@link VectorTile.Tile}, {@link VectorTile.Tile.Layer} or {@link VectorTile.Tile.Feature} messages are created.
+ * Features are decoded one at a time into reused buffers, so the caller can stop at any time.
+ * </p>
+ * <p>
+ * The keys and values of a layer are usually written after its features, so the whole layer has to be read before
+ * its first feature can be returned. When reading from a byte array the bytes of the current layer are not copied.
+ * When reading from a stream each layer is copied into memory as a whole, so memory usage is bounded by the size of
+ * the largest layer (not by the size of a feature).
+ * </p>
+ * <p>
+ * Usage:
+ * </p>
+ *
+ * <pre>
+ * MvtCursor cursor = new MvtCursor(data);
+ * while (cursor.nextLayer())
+ * {
+ * 	String name = cursor.getLayerName();
+ * 	while (cursor.nextFeature())
+ * 	{
+ * 		IntArrayList geometry = cursor.getGeometry();
+ * 		...
+ * 	}
+ * }
+ * </pre>
+ * <p>
+ * Instances are not thread-safe.
+ * </p>
+ */
+@NonNullByDefault({ DefaultLocation.PARAMETER, DefaultLocation.RETURN_TYPE })
+public final class MvtCursor
+{
+	/**
+	 * Input of the whole tile.
+	 */
+	private final CodedInputStream in;
+	/**
+	 * Input of the features of the current layer.
+	 */
+	@Nullable
+	private CodedInputStream layerIn;
+	// layer state
+	private String layerName = "";
+	private int layerExtent;
+	private int layerVersion;
+	private final ArrayList<String> keys = new ArrayList<String>();
+	private final ArrayList<Object> values = new ArrayList<Object>();
+	private final IntArrayList valueTypes = new IntArrayList();
+	// feature state
+	private long featureId;
+	private boolean hasFeatureId;
+	private GeomType featureType = GeomType.UNKNOWN;
+	private final IntArrayList geometry = new IntArrayList();
+	private final IntArrayList tags = new IntArrayList();
+
+	/**
+	 * Creates a cursor on the given tile data (the data is not copied and must not be modified while reading).
+	 * @param data tile data
+	 */
+	public MvtCursor(byte[] data)
+	{
+		this(CodedInputStream.newInstance(data));
+		// avoid copying the layer data
+		in.enableAliasing(true);
+	}
+
+	/**
+	 * Creates a cursor on the given input. Each layer is copied into memory unless aliasing is enabled on the input
+	 * (see {@link CodedInputStream#enableAliasing(boolean)}).
+	 * @param in input
+	 */
+	public MvtCursor(CodedInputStream in)
+	{
+		this.in = in;
+	}
+
+	/**
+	 * Creates a cursor on the given stream (the stream is not closed). Each layer is copied into memory as a whole.
+	 * @param is stream
+	 */
+	public MvtCursor(InputStream is)
+	{
+		this(CodedInputStream.newInstance(is));
+	}
+
+	/**
+	 * Reads a packed or unpacked repeated uint32 field.
+	 * @param input input
+	 * @param tag tag of the field
+	 * @param list list to add the values to
+	 * @throws IOException on errors
+	 */
+	private static void readUInt32s(CodedInputStream input, int tag, IntArrayList list) throws IOException
+	{
+		if (WireFormat.getTagWireType(tag) == WireFormat.WIRETYPE_LENGTH_DELIMITED)
+		{
+			int oldLimit = input.pushLimit(input.readRawVarint32());
+			while (input.getBytesUntilLimit() > 0)
+			{
+				list.add(input.readUInt32());
+			}
+			input.popLimit(oldLimit);
+		}
+		else
+		{
+			list.add(input.readUInt32());
+		}
+	}
+
+	/**
+	 * Reads a {@link VectorTile.Tile.Value} message, converts it like
+	 * {@link MvtUtil#toObject(io.github.sebasbaumh.mapbox.vectortile.VectorTile.Tile.Value)} and adds it to the values
+	 * of the layer along with its field.
+	 * @param input input positioned at the message
+	 * @throws IOException on errors
+	 */
+	private void readValue(CodedInputStream input) throws IOException
+	{
+		int oldLimit = input.pushLimit(input.readRawVarint32());
+		Object value = null;
+		int valueType = 0;
+		int tag;
+		while ((tag = input.readTag()) != 0)
+		{
+			final int fieldNumber = WireFormat.getTagFieldNumber(tag);
+			switch (fieldNumber)
+			{
+				case VectorTile.Tile.Value.STRING_VALUE_FIELD_NUMBER:
+					value = input.readString();
+					break;
+				case VectorTile.Tile.Value.FLOAT_VALUE_FIELD_NUMBER:
+					value = input.readFloat();
+					break;
+				case VectorTile.Tile.Value.DOUBLE_VALUE_FIELD_NUMBER:
+					value = input.readDouble();
+					break;
+				case VectorTile.Tile.Value.INT_VALUE_FIELD_NUMBER:
+					value = input.readInt64();
+					break;
+				case VectorTile.Tile.Value.UINT_VALUE_FIELD_NUMBER:
+					value = input.readUInt64();
+					break;
+				case VectorTile.Tile.Value.SINT_VALUE_FIELD_NUMBER:
+					value = input.readSInt64();
+					break;
+				case VectorTile.Tile.Value.BOOL_VALUE_FIELD_NUMBER:
+					value = input.readBool();
+					break;
+				default:
+					input.skipField(tag);
+					continue;
+			}
+			valueType = fieldNumber;
+		}
+		input.popLimit(oldLimit);
+		values.add(value);
+		valueTypes.add(valueType);
+	}
+
+	/**
+	 * Gets the id of the current feature.
+	 * @return id (0 if it has no id)
+	 * @see #hasFeatureId()
+	 */
+	public long getFeatureId()
+	{
+		return featureId;
+	}
+
+	/**
+	 * Gets the geometry type of the current feature.
+	 * @return geometry type
+	 */
+	public GeomType getFeatureType()
+	{
+		return featureType;
+	}
+
+	/**
+	 * Gets the geometry commands of the current feature. The list is reused for the next feature.
+	 * @return geometry commands
+	 */
+	public IntArrayList getGeometry()
+	{
+		return geometry;
+	}
+
+	/**
+	 * Gets the extent of the current layer.
+	 * @return extent
+	 */
+	public int getLayerExtent()
+	{
+		return layerExtent;
+	}
+
+	/**
+	 * Gets the keys of the current layer.
+	 * @return unmodifiable list of keys
+	 */
+	public List<String> getLayerKeys()
+	{
+		return Collections.unmodifiableList(keys);
+	}
+
+	/**
+	 * Gets the name of the current layer.
+	 * @return name
+	 */
+	public String getLayerName()
+	{
+		return layerName;
+	}
+
+	/**
+	 * Gets the values of the current layer.
+	 * @return unmodifiable list of values (Strings or boxed primitives or null if a value is not set, see
+	 *         {@link MvtUtil#toObject(io.github.sebasbaumh.mapbox.vectortile.VectorTile.Tile.Value)})
+	 */
+	public List<Object> getLayerValues()
+	{
+		return Collections.unmodifiableList(values);
+	}
+
+	/**
+	 * Gets the fields the values of the current layer are stored in (e.g.
+	 * {@link VectorTile.Tile.Value#UINT_VALUE_FIELD_NUMBER}, 0 if a value is not set). The list is reused for the next
+	 * layer.
+	 * @return field numbers in the order of {@link #getLayerValues()}
+	 */
+	public IntArrayList getLayerValueTypes()
+	{
+		return valueTypes;
+	}
+
+	/**
+	 * Gets the version of the current layer.
+	 * @return version
+	 */
+	public int getLayerVersion()
+	{
+		return layerVersion;
+	}
+
+	/**
+	 * Gets the tags of the current feature (pairs of indices into {@link #getLayerKeys()} and
+	 * {@link #getLayerValues()}). The list is reused for the next feature.
+	 * @return tags
+	 */
+	public IntArrayList getTags()
+	{
+		return tags;
+	}
+
+	/**
+	 * Checks if the current feature has an id.
+	 * @return true if it has an id, else false
+	 */
+	public boolean hasFeatureId()
+	{
+		return hasFeatureId;
+	}
+
+	/**
+	 * Moves to the next feature of the current layer.
+	 * @return true if there is a feature, false if the end of the layer has been reached
+	 * @throws IOException on errors
+	 */
+	public boolean nextFeature() throws IOException
+	{
+		CodedInputStream input = layerIn;
+		if (input == null)
+		{
+			return false;
+		}
+		int tag;
+		while ((tag = input.readTag()) != 0)
+		{
+			if (WireFormat.getTagFieldNumber(tag) == VectorTile.Tile.Layer.FEATURES_FIELD_NUMBER)
+			{
+				readFeature(input);
+				return true;
+			}
+			input.skipField(tag);
+		}
+		layerIn = null;
+		return false;
+	}
+
+	/**
+	 * Moves to the next layer. Remaining features of the current layer are skipped. The layer is read completely (see
+	 * {@link MvtCursor}).
+	 * @return true if there is a layer, false if the end of the tile has been reached
+	 * @throws IOException on errors
+	 */
+	public boolean nextLayer() throws IOException
+	{
+		final ByteString layerBytes = nextLayerBytes();
+		if (layerBytes == null)
+		{
+			return false;
+		}
+		readLayer(layerBytes);
+		return true;
+	}
+
+	/**
+	 * Moves to the next layer without reading it, e.g. to parse or skip it by its name (see
+	 * {@link #readLayerName(ByteString)}). The getters of the layer are not updated and there are no features to read.
+	 * @return bytes of the layer message or null if the end of the tile has been reached
+	 * @throws IOException on errors
+	 */
+	@Nullable
+	public ByteString nextLayerBytes() throws IOException
+	{
+		layerIn = null;
+		int tag;
+		while ((tag = in.readTag()) != 0)
+		{
+			if (WireFormat.getTagFieldNumber(tag) == VectorTile.Tile.LAYERS_FIELD_NUMBER)
+			{
+				return in.readBytes();
+			}
+			in.skipField(tag);
+		}
+		return null;
+	}
+
+	/**
+	 * Reads a feature message.
+	 * @param input input positioned at the message
+	 * @throws IOException on errors
+	 */
+	private void readFeature(CodedInputStream input) throws IOException
+	{
+		featureId = 0;
+		hasFeatureId = false;
+		featureType = GeomType.UNKNOWN;
+		geometry.clear();
+		tags.clear();
+		int oldLimit = input.pushLimit(input.readRawVarint32());
+		int tag;
+		while ((tag = input.readTag()) != 0)
+		{
+			switch (WireFormat.getTagFieldNumber(tag))
+			{
+				case VectorTile.Tile.Feature.ID_FIELD_NUMBER:
+					featureId = input.readUInt64();
+					hasFeatureId = true;
+					break;
+				case VectorTile.Tile.Feature.TAGS_FIELD_NUMBER:
+					readUInt32s(input, tag, tags);
+					break;
+				case VectorTile.Tile.Feature.TYPE_FIELD_NUMBER:
+					GeomType type = GeomType.forNumber(input.readEnum());
+					featureType = (type != null) ? type : GeomType.UNKNOWN;
+					break;
+				case VectorTile.Tile.Feature.GEOMETRY_FIELD_NUMBER:
+					readUInt32s(input, tag, geometry);
+					break;
+				default:
+					input.skipField(tag);
+					break;
+			}
+		}
+		input.popLimit(oldLimit);
+	}
+
+	/**
+	 * Reads the name of a layer without reading the whole layer.
+	 * @param layerBytes bytes of the layer message
+	 * @return name of the layer
+	 * @throws IOException on errors
+	 */
+	public static String readLayerName(ByteString layerBytes) throws IOException
+	{
+		final CodedInputStream input = layerBytes.newCodedInput();
+		int tag;
+		while ((tag = input.readTag()) != 0)
+		{
+			// the name is usually the first field
+			if (WireFormat.getTagFieldNumber(tag) == VectorTile.Tile.Layer.NAME_FIELD_NUMBER)
+			{
+				return input.readString();
+			}
+			input.skipField(tag);
+		}
+		return "";
+	}
+
+	/**
+	 * Reads the metadata, keys and values of a layer and prepares reading its features.
+	 * @param layerBytes bytes of the layer message
+	 * @throws IOException on errors
+	 */
+	private void readLayer(ByteString layerBytes) throws IOException
+	{
+		// defaults of the specification
+		layerName = "";
+		layerExtent = MvtLayerParams.DEFAULT_EXTENT;
+		layerVersion = 1;
+		keys.clear();
+		values.clear();
+		valueTypes.clear();
+		CodedInputStream input = layerBytes.newCodedInput();
+		int tag;
+		while ((tag = input.readTag()) != 0)
+		{
+			switch (WireFormat.getTagFieldNumber(tag))
+			{
+				case VectorTile.Tile.Layer.NAME_FIELD_NUMBER:
+					layerName = input.readString();
+					break;
+				case VectorTile.Tile.Layer.KEYS_FIELD_NUMBER:
+					keys.add(input.readString());
+					break;
+				case VectorTile.Tile.Layer.VALUES_FIELD_NUMBER:
+					readValue(input);
+					break;
+				case VectorTile.Tile.Layer.EXTENT_FIELD_NUMBER:
+					layerExtent = input.readUInt32();
+					break;
+				case VectorTile.Tile.Layer.VERSION_FIELD_NUMBER:
+					layerVersion = input.readUInt32();
+					break;
+				default:
+					// features are read later
+					input.skipField(tag);
+					break;
+			}
+		}
+		layerIn = layerBytes.newCodedInput();
+	}
+}
@@ -1,6 +1,10 @@
 package io.github.sebasbaumh.mapbox.vectortile.util;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Objects;
 
 import javax.annotation.Nullable;
@@ -8,6 +12,8 @@ import javax.annotation.Nullable;
 import org.eclipse.jdt.annotation.DefaultLocation;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 
+import com.google.protobuf.CodedOutputStream;
+
 import io.github.sebasbaumh.mapbox.vectortile.VectorTile;
 import io.github.sebasbaumh.mapbox.vectortile.build.MvtLayerParams;
 import io.github.sebasbaumh.mapbox.vectortile.build.MvtLayerProps;
@@ -27,6 +33,10 @@ public final class MvtUtil
 	 * Maximum allowed 'command header' length value.
 	 */
 	public static final int GEOM_CMD_HDR_LEN_MAX = (int) (Math.pow(2, 29) - 1);
+	/**
+	 * Version of the MVT specification written to layers.
+	 */
+	public static final int LAYER_VERSION = 2;
 
 	// prevent instantiating this class
 	@Deprecated
@@ -157,46 +167,183 @@ public final class MvtUtil
 	public static VectorTile.Tile.Layer.Builder newLayerBuilder(String layerName, MvtLayerParams mvtLayerParams)
 	{
 		VectorTile.Tile.Layer.Builder layerBuilder = VectorTile.Tile.Layer.newBuilder();
-		layerBuilder.setVersion(2);
+		layerBuilder.setVersion(LAYER_VERSION);
 		layerBuilder.setName(layerName);
 		layerBuilder.setExtent(mvtLayerParams.getExtent());
 		return layerBuilder;
 	}
 
 	/**
-	 * Covert an {@link Object} to a new {@link io.github.sebasbaumh.mapbox.vectortile.VectorTile.Tile.Value} instance.
-	 * @param value target for conversion
-	 * @return new instance with String or primitive value set
+	 * Checks if the given double can be represented exactly as a float.
+	 * @param value value
+	 * @return true if it can be represented as a float, else false
 	 */
-	public static VectorTile.Tile.Value toMvtValue(Object value)
+	public static boolean isFloat(double value)
 	{
-		final VectorTile.Tile.Value.Builder tileValue = VectorTile.Tile.Value.newBuilder();
+		return ((float) value == value) || Double.isNaN(value);
+	}
 
-		if (value instanceof Boolean v)
+	/**
+	 * Computes the encoded size of the fields of a {@link io.github.sebasbaumh.mapbox.vectortile.VectorTile.Tile.Value}
+	 * holding the given value in the given field (like {@link #toMvtValue(Object, int)}, but without creating it).
+	 * @param value String or boxed primitive matching the field
+	 * @param fieldNumber field of the value (see {@link #getValueFieldNumber(Object, MvtValueEncoding)}) or 0 for an
+	 *            empty value
+	 * @return size in bytes
+	 * @throws ClassCastException if the value does not match the field
+	 */
+	public static int computeValueSize(@Nullable Object value, int fieldNumber)
+	{
+		switch (fieldNumber)
 		{
-			tileValue.setBoolValue(v);
+			case VectorTile.Tile.Value.STRING_VALUE_FIELD_NUMBER:
+				return CodedOutputStream.computeStringSize(fieldNumber, (String) value);
+			case VectorTile.Tile.Value.FLOAT_VALUE_FIELD_NUMBER:
+				return CodedOutputStream.computeFloatSize(fieldNumber, ((Number) value).floatValue());
+			case VectorTile.Tile.Value.DOUBLE_VALUE_FIELD_NUMBER:
+				return CodedOutputStream.computeDoubleSize(fieldNumber, ((Number) value).doubleValue());
+			case VectorTile.Tile.Value.INT_VALUE_FIELD_NUMBER:
+				return CodedOutputStream.computeInt64Size(fieldNumber, ((Number) value).longValue());
+			case VectorTile.Tile.Value.UINT_VALUE_FIELD_NUMBER:
+				return CodedOutputStream.computeUInt64Size(fieldNumber, ((Number) value).longValue());
+			case VectorTile.Tile.Value.SINT_VALUE_FIELD_NUMBER:
+				return CodedOutputStream.computeSInt64Size(fieldNumber, ((Number) value).longValue());
+			case VectorTile.Tile.Value.BOOL_VALUE_FIELD_NUMBER:
+				return CodedOutputStream.computeBoolSize(fieldNumber, ((Boolean) value).booleanValue());
+			default:
+				return 0;
 		}
-		else if (value instanceof Integer v)
+	}
+
+	/**
+	 * Gets the field of a {@link io.github.sebasbaumh.mapbox.vectortile.VectorTile.Tile.Value} the given value is
+	 * written to using the given encoding policy.
+	 * @param value String or boxed primitive
+	 * @param encoding encoding policy
+	 * @return field number (e.g. {@link VectorTile.Tile.Value#SINT_VALUE_FIELD_NUMBER}) or 0 if the value is not
+	 *         supported
+	 */
+	public static int getValueFieldNumber(@Nullable Object value, MvtValueEncoding encoding)
+	{
+		if (value instanceof Boolean)
 		{
-			tileValue.setSintValue(v);
+			return VectorTile.Tile.Value.BOOL_VALUE_FIELD_NUMBER;
 		}
-		else if (value instanceof Long v)
+		else if ((value instanceof Integer) || (value instanceof Long))
 		{
-			tileValue.setSintValue(v);
+			// uint needs fewer bytes for non-negative values than the zigzag encoding of sint
+			if ((encoding == MvtValueEncoding.COMPACT) && (((Number) value).longValue() >= 0))
+			{
+				return VectorTile.Tile.Value.UINT_VALUE_FIELD_NUMBER;
+			}
+			return VectorTile.Tile.Value.SINT_VALUE_FIELD_NUMBER;
 		}
-		else if (value instanceof Float v)
+		else if (value instanceof Float)
 		{
-			tileValue.setFloatValue(v);
+			return VectorTile.Tile.Value.FLOAT_VALUE_FIELD_NUMBER;
 		}
 		else if (value instanceof Double v)
 		{
-			tileValue.setDoubleValue(v);
+			if ((encoding == MvtValueEncoding.COMPACT) && isFloat(v))
+			{
+				return VectorTile.Tile.Value.FLOAT_VALUE_FIELD_NUMBER;
+			}
+			return VectorTile.Tile.Value.DOUBLE_VALUE_FIELD_NUMBER;
 		}
-		else if (value instanceof String v)
+		else if (value instanceof String)
 		{
-			tileValue.setStringValue(v);
+			return VectorTile.Tile.Value.STRING_VALUE_FIELD_NUMBER;
 		}
-		return tileValue.build();
+		return 0;
+	}
+
+	/**
+	 * Covert an {@link Object} to a new {@link io.github.sebasbaumh.mapbox.vectortile.VectorTile.Tile.Value} instance
+	 * using the given field.
+	 * @param value target for conversion
+	 * @param fieldNumber field of the value (e.g. {@link VectorTile.Tile.Value#UINT_VALUE_FIELD_NUMBER}) or 0 for an
+	 *            empty value
+	 * @return new instance with String or primitive value set
+	 * @throws IllegalArgumentException if the value cannot be written to the given field
+	 * @see #getValueFieldNumber(Object, MvtValueEncoding)
+	 */
+	public static VectorTile.Tile.Value toMvtValue(@Nullable Object value, int fieldNumber)
+	{
+		final VectorTile.Tile.Value.Builder tileValue = VectorTile.Tile.Value.newBuilder();
+		switch (fieldNumber)
+		{
+			case 0:
+				return tileValue.build();
+			case VectorTile.Tile.Value.STRING_VALUE_FIELD_NUMBER:
+				if (value instanceof String v)
+				{
+					return tileValue.setStringValue(v).build();
+				}
+				break;
+			case VectorTile.Tile.Value.FLOAT_VALUE_FIELD_NUMBER:
+				if ((value instanceof Float) || (value instanceof Double))
+				{
+					return tileValue.setFloatValue(((Number) value).floatValue()).build();
+				}
+				break;
+			case VectorTile.Tile.Value.DOUBLE_VALUE_FIELD_NUMBER:
+				if ((value instanceof Float) || (value instanceof Double))
+				{
+					return tileValue.setDoubleValue(((Number) value).doubleValue()).build();
+				}
+				break;
+			case VectorTile.Tile.Value.INT_VALUE_FIELD_NUMBER:
+				if ((value instanceof Integer) || (value instanceof Long))
+				{
+					return tileValue.setIntValue(((Number) value).longValue()).build();
+				}
+				break;
+			case VectorTile.Tile.Value.UINT_VALUE_FIELD_NUMBER:
+				// values above Long.MAX_VALUE are kept as the negative long with the same bits
+				if ((value instanceof Integer) || (value instanceof Long))
+				{
+					return tileValue.setUintValue(((Number) value).longValue()).build();
+				}
+				break;
+			case VectorTile.Tile.Value.SINT_VALUE_FIELD_NUMBER:
+				if ((value instanceof Integer) || (value instanceof Long))
+				{
+					return tileValue.setSintValue(((Number) value).longValue()).build();
+				}
+				break;
+			case VectorTile.Tile.Value.BOOL_VALUE_FIELD_NUMBER:
+				if (value instanceof Boolean v)
+				{
+					return tileValue.setBoolValue(v).build();
+				}
+				break;
+			default:
+				break;
+		}
+		throw new IllegalArgumentException("value " + value + " cannot be written to field " + fieldNumber);
+	}
+
+	/**
+	 * Covert an {@link Object} to a new {@link io.github.sebasbaumh.mapbox.vectortile.VectorTile.Tile.Value} instance
+	 * using the given encoding policy.
+	 * @param value target for conversion
+	 * @param encoding encoding policy
+	 * @return new instance with String or primitive value set
+	 */
+	public static VectorTile.Tile.Value toMvtValue(Object value, MvtValueEncoding encoding)
+	{
+		return toMvtValue(value, getValueFieldNumber(value, encoding));
+	}
+
+	/**
+	 * Covert an {@link Object} to a new {@link io.github.sebasbaumh.mapbox.vectortile.VectorTile.Tile.Value} instance.
+	 * @param value target for conversion
+	 * @return new instance with String or primitive value set
+	 * @see MvtValueEncoding#DEFAULT
+	 */
+	public static VectorTile.Tile.Value toMvtValue(Object value)
+	{
+		return toMvtValue(value, MvtValueEncoding.DEFAULT);
 	}
 
 	/**
@@ -238,6 +385,48 @@ public final class MvtUtil
 		return null;
 	}
 
+	/**
+	 * Writes the fields of a {@link io.github.sebasbaumh.mapbox.vectortile.VectorTile.Tile.Value} holding the given
+	 * value in the given field (like {@link #toMvtValue(Object, int)}, but without creating it).
+	 * @param output output
+	 * @param value String or boxed primitive matching the field
+	 * @param fieldNumber field of the value (see {@link #getValueFieldNumber(Object, MvtValueEncoding)}) or 0 for an
+	 *            empty value
+	 * @throws IOException on write errors
+	 * @throws ClassCastException if the value does not match the field
+	 * @see #computeValueSize(Object, int)
+	 */
+	public static void writeValue(CodedOutputStream output, @Nullable Object value, int fieldNumber)
+			throws IOException
+	{
+		switch (fieldNumber)
+		{
+			case VectorTile.Tile.Value.STRING_VALUE_FIELD_NUMBER:
+				output.writeString(fieldNumber, (String) value);
+				break;
+			case VectorTile.Tile.Value.FLOAT_VALUE_FIELD_NUMBER:
+				output.writeFloat(fieldNumber, ((Number) value).floatValue());
+				break;
+			case VectorTile.Tile.Value.DOUBLE_VALUE_FIELD_NUMBER:
+				output.writeDouble(fieldNumber, ((Number) value).doubleValue());
+				break;
+			case VectorTile.Tile.Value.INT_VALUE_FIELD_NUMBER:
+				output.writeInt64(fieldNumber, ((Number) value).longValue());
+				break;
+			case VectorTile.Tile.Value.UINT_VALUE_FIELD_NUMBER:
+				output.writeUInt64(fieldNumber, ((Number) value).longValue());
+				break;
+			case VectorTile.Tile.Value.SINT_VALUE_FIELD_NUMBER:
+				output.writeSInt64(fieldNumber, ((Number) value).longValue());
+				break;
+			case VectorTile.Tile.Value.BOOL_VALUE_FIELD_NUMBER:
+				output.writeBool(fieldNumber, ((Boolean) value).booleanValue());
+				break;
+			default:
+				break;
+		}
+	}
+
 	/**
 	 * Modifies {@code layerBuilder} to contain properties from {@code layerProps}.
 	 * @param layerBuilder layer builder to write to
@@ -250,7 +439,131 @@ public final class MvtUtil
 		// Add values
 		for (Object val : layerProps.getValues())
 		{
-			layerBuilder.addValues(toMvtValue(val));
+			layerBuilder.addValues(toMvtValue(val, layerProps.getValueEncoding()));
+		}
+	}
+
+	/**
+	 * Modifies {@code layerBuilder} to contain properties from {@code layerProps} ordered by descending frequency. The
+	 * usage of each key and value is counted in the tags of the features of the layer and the tags are rewritten to
+	 * the new indices, so the most frequent keys and values get the smallest indices and need the fewest bytes in the
+	 * tags of each feature. Keys and values with the same frequency keep their order.
+	 * <p>
+	 * Use it instead of {@link #writeProps(VectorTile.Tile.Layer.Builder, MvtLayerProps)} after all features have been
+	 * added to the layer.
+	 * </p>
+	 * @param layerBuilder layer builder containing the features to write to
+	 * @param layerProps properties to write
+	 */
+	public static void writePropsByFrequency(VectorTile.Tile.Layer.Builder layerBuilder, MvtLayerProps layerProps)
+	{
+		final List<String> keys = new ArrayList<String>();
+		for (String key : layerProps.getKeys())
+		{
+			keys.add(key);
+		}
+		// count the usage of the keys and values
+		final int[] keyCounts = new int[keys.size()];
+		final int[] valueCounts = new int[layerProps.getValueCount()];
+		for (VectorTile.Tile.Feature feature : layerBuilder.getFeaturesList())
+		{
+			for (int i = 0; i < feature.getTagsCount() - 1; i += 2)
+			{
+				final int keyIndex = feature.getTags(i);
+				final int valueIndex = feature.getTags(i + 1);
+				if ((keyIndex >= 0) && (keyIndex < keyCounts.length))
+				{
+					keyCounts[keyIndex]++;
+				}
+				if ((valueIndex >= 0) && (valueIndex < valueCounts.length))
+				{
+					valueCounts[valueIndex]++;
+				}
+			}
+		}
+		final int[] keyOrder = orderByFrequency(keyCounts);
+		final int[] valueOrder = orderByFrequency(valueCounts);
+		// rewrite the tags of the features
+		final int[] newKeyIndices = new int[keyOrder.length];
+		for (int i = 0; i < keyOrder.length; i++)
+		{
+			newKeyIndices[keyOrder[i]] = i;
+		}
+		final int[] newValueIndices = new int[valueOrder.length];
+		for (int i = 0; i < valueOrder.length; i++)
+		{
+			newValueIndices[valueOrder[i]] = i;
+		}
+		for (int f = 0; f < layerBuilder.getFeaturesCount(); f++)
+		{
+			final VectorTile.Tile.Feature.Builder featureBuilder = layerBuilder.getFeaturesBuilder(f);
+			for (int i = 0; i < featureBuilder.getTagsCount() - 1; i += 2)
+			{
+				final int keyIndex = featureBuilder.getTags(i);
+				final int valueIndex = featureBuilder.getTags(i + 1);
+				if ((keyIndex >= 0) && (keyIndex < newKeyIndices.length))
+				{
+					featureBuilder.setTags(i, newKeyIndices[keyIndex]);
+				}
+				if ((valueIndex >= 0) && (valueIndex < newValueIndices.length))
+				{
+					featureBuilder.setTags(i + 1, newValueIndices[valueIndex]);
+				}
+			}
+		}
+		// Add keys
+		for (int index : keyOrder)
+		{
+			layerBuilder.addKeys(keys.get(index));
+		}
+		// Add values
+		for (int index : valueOrder)
+		{
+			layerBuilder.addValues(toMvtValue(layerProps.getValue(index), layerProps.getValueEncoding()));
+		}
+	}
+
+	/**
+	 * Orders indices by descending counts. Indices with equal counts keep their order.
+	 * @param counts counts of each index
+	 * @return indices in the new order
+	 */
+	private static int[] orderByFrequency(int[] counts)
+	{
+		// sort by negated count in the upper and index in the lower bits
+		final long[] sortKeys = new long[counts.length];
+		for (int i = 0; i < counts.length; i++)
+		{
+			sortKeys[i] = (-(long) counts[i] << 32) | i;
+		}
+		Arrays.sort(sortKeys);
+		final int[] order = new int[counts.length];
+		for (int i = 0; i < order.length; i++)
+		{
+			order[i] = (int) sortKeys[i];
+		}
+		return order;
+	}
+
+	/**
+	 * Modifies {@code layerBuilder} to contain properties from {@code layerProps}. Encoded keys and values are taken
+	 * from the given cache, so they are only created once for all tiles sharing the cache.
+	 * @param layerBuilder layer builder to write to
+	 * @param layerProps properties to write
+	 * @param valueCache cache for encoded keys and values
+	 */
+	public static void writeProps(VectorTile.Tile.Layer.Builder layerBuilder, MvtLayerProps layerProps,
+			MvtValueCache valueCache)
+	{
+		// Add keys
+		for (String key : layerProps.getKeys())
+		{
+			layerBuilder.addKeysBytes(valueCache.getKey(key));
+		}
+		// Add values
+		for (Object val : layerProps.getValues())
+		{
+			layerBuilder.addValues(valueCache.getValue(val, layerProps.getValueEncoding()));
 		}
 	}
 
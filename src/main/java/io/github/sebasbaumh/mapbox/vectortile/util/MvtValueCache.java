@@ -0,0 +1,202 @@
+package io.github.sebasbaumh.mapbox.vectortile.util;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.DefaultLocation;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+import com.google.protobuf.ByteString;
+
+import io.github.sebasbaumh.mapbox.vectortile.VectorTile;
+
+/**
+ * <p>
+ * Thread-safe cache of {@link VectorTile.Tile.Value} messages and UTF-8 encoded keys, which can be shared for encoding
+ * many tiles (e.g. a whole zoom level), so the same values are not built again for every tile.
+ * </p>
+ * <p>
+ * The cache is bounded by the given maximum number of entries. Entries are never evicted: once it is full, it keeps
+ * the values and keys seen first and the ones not in the cache are still created, but not added to it anymore. Call
+ * {@link #clear()} to make room again, e.g. before encoding the tiles of the next zoom level.
+ * </p>
+ * @see MvtUtil#writeProps(VectorTile.Tile.Layer.Builder, io.github.sebasbaumh.mapbox.vectortile.build.MvtLayerProps,
+ *      MvtValueCache)
+ */
+@NonNullByDefault({ DefaultLocation.PARAMETER, DefaultLocation.RETURN_TYPE })
+public final class MvtValueCache
+{
+	/**
+	 * Default maximum number of entries.
+	 */
+	public static final int DEFAULT_MAX_SIZE = 65536;
+
+	private final ConcurrentHashMap<Object, VectorTile.Tile.Value> compactValues = new ConcurrentHashMap<>();
+	private final LongAdder hits = new LongAdder();
+	private final ConcurrentHashMap<String, ByteString> keys = new ConcurrentHashMap<>();
+	private final int maxSize;
+	private final LongAdder misses = new LongAdder();
+	/**
+	 * Number of entries in all maps.
+	 */
+	private final AtomicInteger size = new AtomicInteger();
+	private final ConcurrentHashMap<Object, VectorTile.Tile.Value> values = new ConcurrentHashMap<>();
+
+	/**
+	 * Constructs an instance with a maximum of {@link #DEFAULT_MAX_SIZE} entries.
+	 */
+	public MvtValueCache()
+	{
+		this(DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * Constructs an instance.
+	 * @param maxSize maximum number of entries
+	 * @throws IllegalArgumentException if the maximum number of entries is negative
+	 */
+	public MvtValueCache(int maxSize)
+	{
+		if (maxSize < 0)
+		{
+			throw new IllegalArgumentException("maxSize must be >= 0");
+		}
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Removes all entries. The counters are kept.
+	 */
+	public void clear()
+	{
+		keys.clear();
+		values.clear();
+		compactValues.clear();
+		size.set(0);
+	}
+
+	/**
+	 * Caches the given entry if the cache is not full.
+	 * @param cache map to add the entry to
+	 * @param key key of the entry
+	 * @param value value of the entry
+	 * @return the cached value for the key or the given value if it is not cached
+	 */
+	private <K, V> V put(ConcurrentHashMap<K, V> cache, K key, V value)
+	{
+		// reserve an entry first, so the maximum size is never exceeded
+		if (size.incrementAndGet() > maxSize)
+		{
+			size.decrementAndGet();
+			return value;
+		}
+		final V existing = cache.putIfAbsent(key, value);
+		if (existing != null)
+		{
+			size.decrementAndGet();
+			return existing;
+		}
+		return value;
+	}
+
+	/**
+	 * Gets the number of lookups that have been answered from the cache.
+	 * @return number of hits
+	 */
+	public long getHitCount()
+	{
+		return hits.sum();
+	}
+
+	/**
+	 * Gets the UTF-8 encoded key.
+	 * @param key key
+	 * @return encoded key
+	 */
+	public ByteString getKey(String key)
+	{
+		ByteString encoded = keys.get(key);
+		if (encoded != null)
+		{
+			hits.increment();
+			return encoded;
+		}
+		misses.increment();
+		return put(keys, key, ByteString.copyFromUtf8(key));
+	}
+
+	/**
+	 * Gets the maximum number of entries.
+	 * @return maximum number of entries
+	 */
+	public int getMaxSize()
+	{
+		return maxSize;
+	}
+
+	/**
+	 * Gets the number of lookups that had to create a new value or key.
+	 * @return number of misses
+	 */
+	public long getMissCount()
+	{
+		return misses.sum();
+	}
+
+	/**
+	 * Gets the MVT value of the given value like {@link MvtUtil#toMvtValue(Object)}. Integers and longs are cached as
+	 * the same sint value.
+	 * @param value value
+	 * @return MVT value
+	 */
+	public VectorTile.Tile.Value getValue(Object value)
+	{
+		return getValue(value, MvtValueEncoding.DEFAULT);
+	}
+
+	/**
+	 * Gets the MVT value of the given value like {@link MvtUtil#toMvtValue(Object, MvtValueEncoding)}. Integers and
+	 * longs are cached as the same value.
+	 * @param value value
+	 * @param encoding encoding policy
+	 * @return MVT value
+	 */
+	public VectorTile.Tile.Value getValue(Object value, MvtValueEncoding encoding)
+	{
+		Objects.requireNonNull(value);
+		if (!MvtUtil.isValidPropValue(value))
+		{
+			return MvtUtil.toMvtValue(value);
+		}
+		final ConcurrentHashMap<Object, VectorTile.Tile.Value> cache = (encoding == MvtValueEncoding.COMPACT)
+				? compactValues
+				: values;
+		final Object cacheKey = (value instanceof Integer v) ? Long.valueOf(v.longValue()) : value;
+		VectorTile.Tile.Value mvtValue = cache.get(cacheKey);
+		if (mvtValue != null)
+		{
+			hits.increment();
+			return mvtValue;
+		}
+		misses.increment();
+		return put(cache, cacheKey, MvtUtil.toMvtValue(cacheKey, encoding));
+	}
+
+	/**
+	 * Gets the number of cached values and keys.
+	 * @return number of entries
+	 */
+	public int size()
+	{
+		return size.get();
+	}
+
+	@Override
+	public String toString()
+	{
+		return "MvtValueCache [size=" + size() + ", maxSize=" + maxSize + ", hits=" + getHitCount() + ", misses="
+				+ getMissCount() + "]";
+	}
+}
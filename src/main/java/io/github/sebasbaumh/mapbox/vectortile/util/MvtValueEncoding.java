@@ -0,0 +1,19 @@
+package io.github.sebasbaumh.mapbox.vectortile.util;
+
+/**
+ * Policy for encoding values to {@link io.github.sebasbaumh.mapbox.vectortile.VectorTile.Tile.Value}s (see
+ * {@link MvtUtil#toMvtValue(Object, MvtValueEncoding)}).
+ */
+public enum MvtValueEncoding
+{
+	/**
+	 * Integers are encoded as sint values, floats as float values and doubles as double values.
+	 */
+	DEFAULT,
+	/**
+	 * The smallest encoding is chosen: non-negative integers are encoded as uint values, negative integers as sint
+	 * values and doubles as float values if they can be represented exactly as floats. Values are read back with the
+	 * same numeric value, but such doubles are read back as {@link Float}s.
+	 */
+	COMPACT;
+}
@@ -0,0 +1,85 @@
+package io.github.sebasbaumh.mapbox.vectortile.adapt.jts;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+
+import io.github.sebasbaumh.mapbox.vectortile.build.ClipStrategy;
+import io.github.sebasbaumh.mapbox.vectortile.build.MvtLayerParams;
+import io.github.sebasbaumh.mapbox.vectortile.build.Simplification;
+
+/**
+ * Test creating tiles from indexed geometries.
+ */
+@SuppressWarnings({ "javadoc", "static-method" })
+public final class IndexedTileSourceTest
+{
+	private static final GeometryFactory GEOMETRY_FACTORY = new GeometryFactory();
+	private static final TileGrid TILE_GRID = new TileGrid(new Envelope(0, 100, 0, 100));
+	private static final MvtLayerParams PARAMS = new MvtLayerParams(MvtLayerParams.DEFAULT_EXTENT,
+			Simplification.TOPOLOGY_PRESERVING, ClipStrategy.RECTANGLE);
+
+	@Test
+	public void testTile()
+	{
+		// random small lines and points
+		Random random = new Random(42);
+		List<Geometry> geoms = new ArrayList<Geometry>();
+		for (int i = 0; i < 500; i++)
+		{
+			double x = random.nextDouble() * 100;
+			double y = random.nextDouble() * 100;
+			Geometry geom = (i % 2 == 0) ? GEOMETRY_FACTORY.createPoint(new Coordinate(x, y))
+					: GEOMETRY_FACTORY.createLineString(
+							new Coordinate[] { new Coordinate(x, y), new Coordinate(x + 5, y - 3) });
+			geom.setUserData(Integer.valueOf(i));
+			geoms.add(geom);
+		}
+		double bufferPixels = 8;
+		IndexedTileSource source = new IndexedTileSource(geoms, TILE_GRID, GEOMETRY_FACTORY, bufferPixels, null);
+		assertEquals(geoms.size(), source.size());
+		Geometry all = GEOMETRY_FACTORY.buildGeometry(geoms);
+		for (int z = 0; z <= 3; z++)
+		{
+			for (int x = 0; x < (1 << z); x++)
+			{
+				for (int y = 0; y < (1 << z); y++)
+				{
+					Geometry expected = JtsAdapter.createTileGeom(all, TILE_GRID.getTileEnvelope(z, x, y),
+							TILE_GRID.getTileEnvelope(z, x, y, bufferPixels / PARAMS.getTileSize()),
+							GEOMETRY_FACTORY, PARAMS, null, z);
+					Geometry actual = source.tile(z, x, y, PARAMS);
+					// same geometries in the same order
+					assertTrue(expected.equalsExact(actual));
+					for (int i = 0; i < expected.getNumGeometries(); i++)
+					{
+						assertEquals(expected.getGeometryN(i).getUserData(), actual.getGeometryN(i).getUserData());
+					}
+				}
+			}
+		}
+		// only candidates of the index are checked, most of them are completely inside a tile
+		TileGeomStats stats = source.getStats();
+		assertEquals(0, stats.getOutside());
+		assertEquals(0, stats.getOverlay());
+		assertTrue(stats.getContained() > stats.getClipped());
+	}
+
+	@Test
+	public void testEmpty()
+	{
+		IndexedTileSource source = new IndexedTileSource(Collections.<Geometry> emptyList(), TILE_GRID,
+				GEOMETRY_FACTORY);
+		assertTrue(source.tile(0, 0, 0, MvtLayerParams.DEFAULT).isEmpty());
+	}
+}
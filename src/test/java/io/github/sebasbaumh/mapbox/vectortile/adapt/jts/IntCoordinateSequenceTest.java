@@ -0,0 +1,163 @@
+package io.github.sebasbaumh.mapbox.vectortile.adapt.jts;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.CoordinateSequenceFilter;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequenceFactory;
+
+import io.github.sebasbaumh.mapbox.vectortile.adapt.jts.model.JtsLayer;
+import io.github.sebasbaumh.mapbox.vectortile.adapt.jts.model.JtsMvt;
+import io.github.sebasbaumh.mapbox.vectortile.build.MvtLayerParams;
+
+/**
+ * Test storing MVT coordinates in {@link IntCoordinateSequence}s.
+ */
+@SuppressWarnings({ "javadoc", "static-method" })
+public final class IntCoordinateSequenceTest
+{
+	private static final GeometryFactory INT_FACTORY = new GeometryFactory(IntCoordinateSequenceFactory.INSTANCE);
+	private static final GeometryFactory PACKED_FACTORY = new GeometryFactory(
+			PackedCoordinateSequenceFactory.DOUBLE_FACTORY);
+
+	private static void assertIntCoordinates(Geometry geom)
+	{
+		for (int i = 0; i < geom.getNumGeometries(); i++)
+		{
+			Geometry part = geom.getGeometryN(i);
+			if (part instanceof Polygon polygon)
+			{
+				assertIntCoordinates(polygon.getExteriorRing());
+				for (int j = 0; j < polygon.getNumInteriorRing(); j++)
+				{
+					assertIntCoordinates(polygon.getInteriorRingN(j));
+				}
+			}
+			else if (part instanceof LineString line)
+			{
+				assertTrue(line.getCoordinateSequence() instanceof IntCoordinateSequence);
+			}
+		}
+	}
+
+	@Test
+	public void testSequence()
+	{
+		CoordinateSequence seq = IntCoordinateSequenceFactory.INSTANCE
+				.create(new Coordinate[] { new Coordinate(1, 2), new Coordinate(3, -5, 7) });
+		assertEquals(2, seq.size());
+		assertEquals(2, seq.getDimension());
+		assertEquals(new Coordinate(3, -5), seq.getCoordinate(1));
+		assertTrue(Double.isNaN(seq.getZ(1)));
+		seq.setOrdinate(0, CoordinateSequence.X, 11);
+		seq.setOrdinate(0, CoordinateSequence.Z, Double.NaN);
+		assertEquals(11, seq.getX(0), 0);
+		assertEquals(new Envelope(3, 11, -5, 2), seq.expandEnvelope(new Envelope()));
+		CoordinateSequence copy = seq.copy();
+		assertNotSame(seq, copy);
+		assertEquals(seq, copy);
+		assertArrayEquals(new int[] { 11, 2, 3, -5 }, ((IntCoordinateSequence) copy).getRawCoordinates());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSetNonIntegral()
+	{
+		new IntCoordinateSequence(1).setOrdinate(0, CoordinateSequence.Y, 0.5);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSetZ()
+	{
+		new IntCoordinateSequence(1).setOrdinate(0, CoordinateSequence.Z, 1);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testCreateNonIntegral()
+	{
+		IntCoordinateSequenceFactory.INSTANCE.create(new Coordinate[] { new Coordinate(0.5, 1) });
+	}
+
+	@Test
+	public void testFactories()
+	{
+		GeometryFactory geomFactory = new GeometryFactory();
+		assertSame(geomFactory, IntCoordinateSequenceFactory.getWorldGeometryFactory(geomFactory));
+		assertSame(PACKED_FACTORY, IntCoordinateSequenceFactory.getWorldGeometryFactory(PACKED_FACTORY));
+		GeometryFactory worldFactory = IntCoordinateSequenceFactory.getWorldGeometryFactory(INT_FACTORY);
+		assertEquals(geomFactory.getCoordinateSequenceFactory().getClass(),
+				worldFactory.getCoordinateSequenceFactory().getClass());
+		assertEquals(INT_FACTORY.getSRID(), worldFactory.getSRID());
+	}
+
+	@Test
+	public void testRead() throws IOException
+	{
+		File file = new File("src/test/resources/vec_tile_test/game.mvt");
+		JtsMvt expected = MvtReader.loadMvt(file, new GeometryFactory(), null);
+		// int sequences are only used on request
+		for (JtsLayer layer : expected.getLayers())
+		{
+			for (Geometry geom : layer.getGeometries())
+			{
+				geom.apply(new CoordinateSequenceFilter() {
+					@Override
+					public void filter(CoordinateSequence seq, int i)
+					{
+						assertFalse(seq instanceof IntCoordinateSequence);
+					}
+
+					@Override
+					public boolean isDone()
+					{
+						return false;
+					}
+
+					@Override
+					public boolean isGeometryChanged()
+					{
+						return false;
+					}
+				});
+			}
+		}
+		JtsMvt result = MvtReader.loadMvt(file, INT_FACTORY, null);
+		assertEquals(expected, result);
+		for (JtsLayer layer : result.getLayers())
+		{
+			for (Geometry geom : layer.getGeometries())
+			{
+				assertIntCoordinates(geom);
+			}
+		}
+	}
+
+	@Test
+	public void testCreateTileGeom()
+	{
+		Geometry geom = PACKED_FACTORY.createPolygon(new Coordinate[] { new Coordinate(0.1, 0.1),
+				new Coordinate(5.3, 0.2), new Coordinate(5.2, 4.9), new Coordinate(2.1, 7.3), new Coordinate(0.1, 0.1) });
+		Envelope tileEnvelope = new Envelope(0, 4, 0, 4);
+		Geometry expected = JtsAdapter.createTileGeom(geom, tileEnvelope, tileEnvelope, new GeometryFactory(),
+				MvtLayerParams.DEFAULT, null);
+		assertFalse(((Polygon) expected).getExteriorRing().getCoordinateSequence() instanceof IntCoordinateSequence);
+		Geometry result = JtsAdapter.createTileGeom(geom, tileEnvelope, tileEnvelope, INT_FACTORY,
+				MvtLayerParams.DEFAULT, null);
+		assertTrue(expected.equalsExact(result));
+		assertIntCoordinates(result);
+	}
+}
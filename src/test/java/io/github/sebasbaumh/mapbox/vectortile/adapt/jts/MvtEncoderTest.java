@@ -2,10 +2,16 @@ package io.github.sebasbaumh.mapbox.vectortile.adapt.jts;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -16,9 +22,16 @@ import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequenceFactory;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKTReader;
 
+import io.github.sebasbaumh.mapbox.vectortile.VectorTile;
 import io.github.sebasbaumh.mapbox.vectortile.adapt.jts.model.JtsLayer;
 import io.github.sebasbaumh.mapbox.vectortile.adapt.jts.model.JtsMvt;
+import io.github.sebasbaumh.mapbox.vectortile.build.MvtLayerParams;
+import io.github.sebasbaumh.mapbox.vectortile.util.MvtValueEncoding;
 
 @SuppressWarnings({ "javadoc", "static-method" })
 public final class MvtEncoderTest {
@@ -52,6 +65,103 @@ public final class MvtEncoderTest {
         assertEquals(mvt, decode(encoded));
     }
 
+    @Test
+    public void doesNotModifyInput() throws IOException, ParseException {
+        GeometryFactory packedFactory = new GeometryFactory(new PrecisionModel(), 0,
+            PackedCoordinateSequenceFactory.DOUBLE_FACTORY);
+        // exterior ring has the wrong winding order for MVTs, so it has to be reversed on encoding
+        Geometry arrayPolygon = new WKTReader(GEOMETRY_FACTORY).read(
+            "POLYGON ((0 0, 100 0, 100 100, 0 100, 0 0), (10 10, 10 20, 20 20, 20 10, 10 10))");
+        Geometry packedPolygon = new WKTReader(packedFactory).read(arrayPolygon.toText());
+        Geometry arrayCopy = arrayPolygon.copy();
+
+        byte[] arrayEncoded = MvtEncoder.encode(new JtsMvt(new JtsLayer("polygons", arrayPolygon)));
+        byte[] packedEncoded = MvtEncoder.encode(new JtsMvt(new JtsLayer("polygons", packedPolygon)));
+
+        assertTrue(arrayCopy.equalsExact(arrayPolygon));
+        assertArrayEquals(arrayEncoded, packedEncoded);
+        assertTrue(arrayPolygon.equalsTopo(decode(arrayEncoded).getLayer("polygons").getGeometries().iterator().next()));
+    }
+
+    @Test
+    public void orderPropsByFrequency() throws IOException {
+        // rare values are used first, so the common value gets a high index in order of first use
+        Collection<Geometry> geometries = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Point point = GEOMETRY_FACTORY.createPoint(new Coordinate(i % 64, i / 64));
+            Map<String, Object> attributes = new LinkedHashMap<>();
+            attributes.put("rare" + (i % 3), "value " + i);
+            attributes.put("class", (i < 300) ? "rare " + i : "common");
+            point.setUserData(attributes);
+            geometries.add(point);
+        }
+        JtsMvt mvt = new JtsMvt(new JtsLayer("pois", geometries));
+
+        VectorTile.Tile tile = MvtEncoder.encodeToTile(mvt, MvtLayerParams.DEFAULT, new UserDataKeyValueMapConverter(),
+            false);
+        VectorTile.Tile orderedTile = MvtEncoder.encodeToTile(mvt, MvtLayerParams.DEFAULT,
+            new UserDataKeyValueMapConverter(), true);
+        assertEquals(mvt, decode(orderedTile.toByteArray()));
+        assertEquals(decode(tile.toByteArray()), decode(orderedTile.toByteArray()));
+        assertTrue(orderedTile.getSerializedSize() < tile.getSerializedSize());
+
+        VectorTile.Tile.Layer layer = orderedTile.getLayers(0);
+        assertEquals("class", layer.getKeys(0));
+        assertEquals("common", layer.getValues(0).getStringValue());
+        assertEquals(tile.getLayers(0).getKeysCount(), layer.getKeysCount());
+        assertEquals(tile.getLayers(0).getValuesCount(), layer.getValuesCount());
+    }
+
+    @Test
+    public void orderPropsByFrequencyIsNotLarger() throws IOException {
+        // re-encode a real tile with both property orders
+        JtsMvt mvt = MvtReader.loadMvt(new File("src/test/resources/vec_tile_test/0/0/0.mvt"), GEOMETRY_FACTORY,
+            new TagKeyValueMapConverter());
+        VectorTile.Tile tile = MvtEncoder.encodeToTile(mvt, MvtLayerParams.DEFAULT, new UserDataKeyValueMapConverter(),
+            false);
+        VectorTile.Tile orderedTile = MvtEncoder.encodeToTile(mvt, MvtLayerParams.DEFAULT,
+            new UserDataKeyValueMapConverter(), true);
+        assertEquals(decode(tile.toByteArray()), decode(orderedTile.toByteArray()));
+        assertTrue(orderedTile.getSerializedSize() <= tile.getSerializedSize());
+    }
+
+    @Test
+    public void compactValues() throws IOException {
+        Collection<Geometry> geometries = new ArrayList<>();
+        Object[] values = { Long.valueOf(5), Long.valueOf(-3), Double.valueOf(1.5), Double.valueOf(0.1), "name",
+            Boolean.TRUE };
+        for (int i = 0; i < values.length; i++) {
+            Point point = GEOMETRY_FACTORY.createPoint(new Coordinate(i, i));
+            point.setUserData(singletonMap("value", values[i]));
+            geometries.add(point);
+        }
+        JtsMvt mvt = new JtsMvt(new JtsLayer("values", geometries));
+
+        byte[] encoded = MvtEncoder.encode(mvt, MvtLayerParams.DEFAULT, new UserDataKeyValueMapConverter(),
+            MvtValueEncoding.COMPACT);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        MvtEncoder.encodeTo(out, mvt, MvtLayerParams.DEFAULT, new UserDataKeyValueMapConverter(),
+            MvtValueEncoding.COMPACT);
+        // the streaming writer encodes the values the same way
+        assertArrayEquals(encoded, out.toByteArray());
+        assertTrue(encoded.length < MvtEncoder.encode(mvt).length);
+
+        VectorTile.Tile.Layer layer = VectorTile.Tile.parseFrom(encoded).getLayers(0);
+        assertTrue(layer.getValues(0).hasUintValue());
+        assertTrue(layer.getValues(1).hasSintValue());
+        assertTrue(layer.getValues(2).hasFloatValue());
+        assertTrue(layer.getValues(3).hasDoubleValue());
+
+        // reading back keeps the numeric values, exact doubles become floats
+        Object[] expected = { Long.valueOf(5), Long.valueOf(-3), Float.valueOf(1.5f), Double.valueOf(0.1), "name",
+            Boolean.TRUE };
+        int i = 0;
+        for (Geometry geom : decode(encoded).getLayer("values").getGeometries()) {
+            assertEquals(singletonMap("value", expected[i++]), geom.getUserData());
+        }
+        assertEquals(expected.length, i);
+    }
+
     private static class PointGen {
 
         /**
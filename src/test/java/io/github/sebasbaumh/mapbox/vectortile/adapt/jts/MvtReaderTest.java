@@ -1,19 +1,33 @@
 package io.github.sebasbaumh.mapbox.vectortile.adapt.jts;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.junit.Test;
+import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.geom.LineString;
@@ -25,6 +39,7 @@ import org.slf4j.LoggerFactory;
 
 import io.github.sebasbaumh.mapbox.vectortile.adapt.jts.model.JtsLayer;
 import io.github.sebasbaumh.mapbox.vectortile.adapt.jts.model.JtsMvt;
+import io.github.sebasbaumh.mapbox.vectortile.adapt.jts.model.LazyJtsMvt;
 import io.github.sebasbaumh.mapbox.vectortile.util.JtsGeomStats;
 
 /**
@@ -67,6 +82,304 @@ public final class MvtReaderTest
 		}
 	}
 
+	@Test
+	public void testLayerFilter() throws IOException
+	{
+		JtsMvt all = MvtReader.loadMvt(new File("src/test/resources/vec_tile_test/game.mvt"), createGeometryFactory(),
+				new TagKeyValueMapConverter());
+		try (InputStream is = new FileInputStream("src/test/resources/vec_tile_test/game.mvt"))
+		{
+			JtsMvt result = MvtReader.loadMvt(is, createGeometryFactory(), new TagKeyValueMapConverter(),
+					MvtReadOptions.builder().layerFilter(name -> "health".equals(name) || "bullet".equals(name))
+							.build());
+			assertEquals(2, result.getLayers().size());
+			assertEquals(all.getLayer("health"), result.getLayer("health"));
+			assertEquals(all.getLayer("bullet"), result.getLayer("bullet"));
+			assertNull(result.getLayer("bombs"));
+		}
+	}
+
+	@Test
+	public void testLoadInPlace() throws IOException
+	{
+		final String file = "src/test/resources/vec_tile_test/game.mvt";
+		JtsMvt expected = MvtReader.loadMvt(new File(file), createGeometryFactory(), new TagKeyValueMapConverter());
+		// memory-mapped file
+		assertEquals(expected,
+				MvtReader.loadMvt(Paths.get(file), createGeometryFactory(), new TagKeyValueMapConverter()));
+		// slice of an array
+		byte[] data = Files.readAllBytes(Paths.get(file));
+		byte[] padded = new byte[data.length + 10];
+		System.arraycopy(data, 0, padded, 5, data.length);
+		assertEquals(expected, MvtReader.loadMvt(padded, 5, data.length, createGeometryFactory(),
+				new TagKeyValueMapConverter()));
+		// direct buffer
+		ByteBuffer buffer = ByteBuffer.allocateDirect(data.length);
+		buffer.put(data).flip();
+		assertEquals(expected, MvtReader.loadMvt(buffer, createGeometryFactory(), new TagKeyValueMapConverter()));
+		assertEquals(0, buffer.position());
+	}
+
+	@Test
+	public void testQuery() throws IOException
+	{
+		final String file = "src/test/resources/vec_tile_test/game.mvt";
+		JtsMvt all = MvtReader.loadMvt(new File(file), createGeometryFactory(), new TagKeyValueMapConverter());
+		Envelope bounds = new Envelope(0, 2048, 0, 2048);
+		JtsMvt result;
+		try (InputStream is = new FileInputStream(file))
+		{
+			result = MvtReader.loadMvt(is, createGeometryFactory(), new TagKeyValueMapConverter(),
+					MvtReadOptions.builder().bounds(0, 0, 2048, 2048).build());
+		}
+		assertEquals(all.getLayersByName().keySet(), result.getLayersByName().keySet());
+		int numSkipped = 0;
+		for (JtsLayer layer : all.getLayers())
+		{
+			List<Geometry> expected = new ArrayList<Geometry>();
+			for (Geometry geom : layer.getGeometries())
+			{
+				if (geom.getEnvelopeInternal().intersects(bounds))
+				{
+					expected.add(geom);
+				}
+				else
+				{
+					numSkipped++;
+				}
+			}
+			assertEquals(expected, new ArrayList<Geometry>(result.getLayer(layer.getName()).getGeometries()));
+		}
+		assertTrue(numSkipped > 0);
+		// direct buffer
+		byte[] data = Files.readAllBytes(Paths.get(file));
+		ByteBuffer buffer = ByteBuffer.allocateDirect(data.length);
+		buffer.put(data).flip();
+		assertEquals(result, MvtReader.loadMvt(buffer, createGeometryFactory(), new TagKeyValueMapConverter(),
+				MvtReadOptions.builder().bounds(0, 0, 2048, 2048).build()));
+	}
+
+	private static int countGeometries(JtsMvt mvt)
+	{
+		int n = 0;
+		for (JtsLayer layer : mvt.getLayers())
+		{
+			n += layer.getGeometries().size();
+		}
+		return n;
+	}
+
+	@Test
+	public void testFeatureFilter() throws IOException
+	{
+		final String file = "src/test/resources/vec_tile_test/0/0/0.mvt";
+		JtsMvt all = MvtReader.loadMvt(new File(file), createGeometryFactory(), new TagKeyValueMapConverter(),
+				MvtReader.RING_CLASSIFIER_V1);
+		// pick a tag of the first feature having tags
+		Map.Entry<?, ?> tag = null;
+		for (JtsLayer layer : all.getLayers())
+		{
+			for (Geometry geom : layer.getGeometries())
+			{
+				if ((tag == null) && !((Map<?, ?>) geom.getUserData()).isEmpty())
+				{
+					tag = ((Map<?, ?>) geom.getUserData()).entrySet().iterator().next();
+				}
+			}
+		}
+		assertNotNull(tag);
+		final String key = (String) tag.getKey();
+		final Object value = tag.getValue();
+		JtsMvt result;
+		try (InputStream is = new FileInputStream(file))
+		{
+			result = MvtReader.loadMvt(is, createGeometryFactory(), new TagKeyValueMapConverter(),
+					MvtReadOptions.builder().featureFilter(IFeatureFilter.hasTag(key, value)).build());
+		}
+		assertEquals(all.getLayersByName().keySet(), result.getLayersByName().keySet());
+		int numSkipped = 0;
+		for (JtsLayer layer : all.getLayers())
+		{
+			List<Geometry> expected = new ArrayList<Geometry>();
+			for (Geometry geom : layer.getGeometries())
+			{
+				if (value.equals(((Map<?, ?>) geom.getUserData()).get(key)))
+				{
+					expected.add(geom);
+				}
+				else
+				{
+					numSkipped++;
+				}
+			}
+			assertEquals(expected, new ArrayList<Geometry>(result.getLayer(layer.getName()).getGeometries()));
+		}
+		assertTrue(numSkipped > 0);
+		assertTrue(countGeometries(result) > 0);
+		// negated filter loads the other features
+		byte[] data = Files.readAllBytes(Paths.get(file));
+		JtsMvt rest = MvtReader.loadMvt(ByteBuffer.wrap(data), createGeometryFactory(), new TagKeyValueMapConverter(),
+				MvtReadOptions.builder().featureFilter(IFeatureFilter.hasTag(key, value).negate()).build());
+		assertEquals(numSkipped, countGeometries(rest));
+		// missing keys or values reject all features
+		assertEquals(0, countGeometries(MvtReader.loadMvt(ByteBuffer.wrap(data), createGeometryFactory(), null,
+				MvtReadOptions.builder().featureFilter(IFeatureFilter.hasTag("__missing__", value)).build())));
+		assertEquals(countGeometries(all) - countGeometries(rest),
+				countGeometries(MvtReader.loadMvt(ByteBuffer.wrap(data), createGeometryFactory(), null,
+						MvtReadOptions.builder()
+								.featureFilter(IFeatureFilter.hasKey(key).and(IFeatureFilter.hasTag(key, value)))
+								.build())));
+	}
+
+	@Test
+	public void testKeys() throws IOException
+	{
+		final String file = "src/test/resources/vec_tile_test/0/0/0.mvt";
+		JtsMvt all = MvtReader.loadMvt(new File(file), createGeometryFactory(), new TagKeyValueMapConverter(),
+				MvtReader.RING_CLASSIFIER_V1);
+		// pick a key of the first feature having tags
+		final Set<String> keys = new HashSet<String>(Arrays.asList("__missing__"));
+		for (JtsLayer layer : all.getLayers())
+		{
+			for (Geometry geom : layer.getGeometries())
+			{
+				if ((keys.size() == 1) && !((Map<?, ?>) geom.getUserData()).isEmpty())
+				{
+					keys.add((String) ((Map<?, ?>) geom.getUserData()).keySet().iterator().next());
+				}
+			}
+		}
+		JtsMvt result;
+		try (InputStream is = new FileInputStream(file))
+		{
+			result = MvtReader.loadMvt(is, createGeometryFactory(), new TagKeyValueMapConverter(),
+					MvtReadOptions.builder().keys(keys).build());
+		}
+		assertEquals(all.getLayersByName().keySet(), result.getLayersByName().keySet());
+		int numTags = 0;
+		for (JtsLayer layer : all.getLayers())
+		{
+			Iterator<Geometry> it = result.getLayer(layer.getName()).getGeometries().iterator();
+			for (Geometry geom : layer.getGeometries())
+			{
+				Geometry projected = it.next();
+				assertEquals(geom, projected);
+				Map<Object, Object> expected = new HashMap<Object, Object>((Map<?, ?>) geom.getUserData());
+				expected.keySet().retainAll(keys);
+				assertEquals(expected, projected.getUserData());
+				numTags += expected.size();
+			}
+			assertFalse(it.hasNext());
+		}
+		assertTrue(numTags > 0);
+		// no keys
+		byte[] data = Files.readAllBytes(Paths.get(file));
+		JtsMvt empty = MvtReader.loadMvt(ByteBuffer.wrap(data), createGeometryFactory(), new TagKeyValueMapConverter(),
+				MvtReadOptions.builder().keys(Collections.<String> emptySet()).build());
+		for (JtsLayer layer : empty.getLayers())
+		{
+			for (Geometry geom : layer.getGeometries())
+			{
+				assertTrue(((Map<?, ?>) geom.getUserData()).isEmpty());
+			}
+		}
+	}
+
+	@Test
+	public void testOptions() throws IOException
+	{
+		final String file = "src/test/resources/vec_tile_test/0/0/0.mvt";
+		JtsMvt all = MvtReader.loadMvt(new File(file), createGeometryFactory(), new TagKeyValueMapConverter());
+		// pick a layer and a tag of its first feature having tags
+		String layerName = null;
+		Map.Entry<?, ?> tag = null;
+		for (JtsLayer layer : all.getLayers())
+		{
+			for (Geometry geom : layer.getGeometries())
+			{
+				if ((tag == null) && !((Map<?, ?>) geom.getUserData()).isEmpty())
+				{
+					layerName = layer.getName();
+					tag = ((Map<?, ?>) geom.getUserData()).entrySet().iterator().next();
+				}
+			}
+		}
+		assertNotNull(tag);
+		final String name = layerName;
+		final String key = (String) tag.getKey();
+		final Object value = tag.getValue();
+		final Envelope bounds = new Envelope(0, 2048, 0, 2048);
+		MvtReadOptions options = MvtReadOptions.builder().layerFilter(name::equals)
+				.featureFilter(IFeatureFilter.hasTag(key, value)).keys(Collections.singleton(key))
+				.bounds(0, 0, 2048, 2048).build();
+		// expected result by filtering all features
+		List<Geometry> expected = new ArrayList<Geometry>();
+		for (Geometry geom : all.getLayer(name).getGeometries())
+		{
+			if (value.equals(((Map<?, ?>) geom.getUserData()).get(key))
+					&& geom.getEnvelopeInternal().intersects(bounds))
+			{
+				expected.add(geom);
+			}
+		}
+		// all kinds of input give the same result
+		byte[] data = Files.readAllBytes(Paths.get(file));
+		List<JtsMvt> results = new ArrayList<JtsMvt>();
+		try (InputStream is = new FileInputStream(file))
+		{
+			results.add(MvtReader.loadMvt(is, createGeometryFactory(), new TagKeyValueMapConverter(), options));
+		}
+		results.add(MvtReader.loadMvt(new File(file), createGeometryFactory(), new TagKeyValueMapConverter(), options));
+		results.add(
+				MvtReader.loadMvt(Paths.get(file), createGeometryFactory(), new TagKeyValueMapConverter(), options));
+		results.add(MvtReader.loadMvt(data, 0, data.length, createGeometryFactory(), new TagKeyValueMapConverter(),
+				options));
+		results.add(MvtReader.loadMvt(ByteBuffer.wrap(data), createGeometryFactory(), new TagKeyValueMapConverter(),
+				options));
+		try (InputStream is = new FileInputStream(file))
+		{
+			results.add(MvtReader.loadMvtLazy(is, createGeometryFactory(), new TagKeyValueMapConverter(), options));
+		}
+		for (JtsMvt result : results)
+		{
+			assertEquals(Collections.singleton(name), result.getLayersByName().keySet());
+			Collection<Geometry> geoms = result.getLayer(name).getGeometries();
+			assertEquals(expected, new ArrayList<Geometry>(geoms));
+			for (Geometry geom : geoms)
+			{
+				assertEquals(Collections.singletonMap(key, value), geom.getUserData());
+			}
+		}
+		assertFalse(expected.isEmpty());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testOptionsEmptyBounds()
+	{
+		MvtReadOptions.builder().bounds(10, 0, 0, 10);
+	}
+
+	@Test
+	public void testLazy() throws IOException
+	{
+		JtsMvt all = MvtReader.loadMvt(new File("src/test/resources/vec_tile_test/game.mvt"), createGeometryFactory(),
+				new TagKeyValueMapConverter());
+		try (InputStream is = new FileInputStream("src/test/resources/vec_tile_test/game.mvt"))
+		{
+			LazyJtsMvt result = MvtReader.loadMvtLazy(is, createGeometryFactory(), new TagKeyValueMapConverter());
+			assertEquals(all.getLayersByName().keySet(), result.getLayerNames());
+			assertFalse(result.isDecoded("enemies"));
+			JtsLayer layer = result.getLayer("enemies");
+			assertEquals(all.getLayer("enemies"), layer);
+			assertTrue(result.isDecoded("enemies"));
+			assertFalse(result.isDecoded("bombs"));
+			assertSame(layer, result.getLayer("enemies"));
+			assertNull(result.getLayer("unknown"));
+			// decodes all layers in order
+			assertEquals(new ArrayList<JtsLayer>(all.getLayers()), new ArrayList<JtsLayer>(result.getLayers()));
+		}
+	}
+
 	@Test
 	public void simpleTest()
 	{
@@ -0,0 +1,91 @@
+package io.github.sebasbaumh.mapbox.vectortile.adapt.jts;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKTReader;
+
+import io.github.sebasbaumh.mapbox.vectortile.build.MvtLayerParams;
+
+/**
+ * Test cutting geometries into tiles.
+ */
+@SuppressWarnings({ "javadoc", "static-method" })
+public final class MvtTilerTest
+{
+	private static final GeometryFactory GEOMETRY_FACTORY = new GeometryFactory();
+	private static final TileGrid TILE_GRID = new TileGrid(new Envelope(0, 100, 0, 100));
+
+	@Test
+	public void testTileGrid()
+	{
+		assertEquals(new Envelope(0, 100, 0, 100), TILE_GRID.getTileEnvelope(0, 0, 0));
+		// rows are counted from the top
+		assertEquals(new Envelope(25, 50, 75, 100), TILE_GRID.getTileEnvelope(2, 1, 0));
+		assertEquals(new Envelope(20, 55, 70, 105), TILE_GRID.getTileEnvelope(2, 1, 0, .2d));
+		assertEquals("3/4/5", new TileId(3, 4, 5).toString());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidTile()
+	{
+		TILE_GRID.getTileEnvelope(1, 2, 0);
+	}
+
+	@Test
+	public void testTile() throws ParseException
+	{
+		WKTReader reader = new WKTReader(GEOMETRY_FACTORY);
+		List<Geometry> geoms = Arrays.asList(reader.read("POINT (10 90)"),
+				reader.read("LINESTRING (0 0, 30 70, 60 20, 99 99)"),
+				reader.read("POLYGON ((20 20, 80 20, 80 80, 20 80, 20 20), (40 40, 40 60, 60 60, 60 40, 40 40))"),
+				reader.read("GEOMETRYCOLLECTION (POINT (55 55), LINESTRING (51 51, 53 54))"));
+		geoms.get(0).setUserData("point");
+		double bufferPixels = 16;
+		MvtTiler tiler = new MvtTiler(TILE_GRID, GEOMETRY_FACTORY, MvtLayerParams.DEFAULT, bufferPixels, null);
+		Map<TileId, Geometry> tiles = tiler.tile(geoms, 1, 4);
+		assertFalse(tiles.containsKey(new TileId(0, 0, 0)));
+		// compare to creating each tile separately
+		int numTiles = 0;
+		for (int z = 1; z <= 4; z++)
+		{
+			for (int x = 0; x < (1 << z); x++)
+			{
+				for (int y = 0; y < (1 << z); y++)
+				{
+					Envelope tileEnvelope = TILE_GRID.getTileEnvelope(z, x, y);
+					Envelope clipEnvelope = TILE_GRID.getTileEnvelope(z, x, y,
+							bufferPixels / MvtLayerParams.DEFAULT.getTileSize());
+					Geometry expected = JtsAdapter.createTileGeom(GEOMETRY_FACTORY.buildGeometry(geoms),
+							tileEnvelope, clipEnvelope, GEOMETRY_FACTORY, MvtLayerParams.DEFAULT, null, z);
+					Geometry actual = tiles.get(new TileId(z, x, y));
+					if (expected.isEmpty())
+					{
+						assertEquals(null, actual);
+					}
+					else
+					{
+						assertNotNull(actual);
+						// start points of rings may differ
+						assertTrue(expected.norm().equalsExact(actual.norm()));
+						numTiles++;
+					}
+				}
+			}
+		}
+		assertEquals(numTiles, tiles.size());
+		// user data is kept
+		assertEquals("point", tiles.get(new TileId(1, 0, 0)).getGeometryN(0).getUserData());
+	}
+}
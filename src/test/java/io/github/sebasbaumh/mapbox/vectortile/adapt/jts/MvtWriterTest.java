@@ -0,0 +1,180 @@
+package io.github.sebasbaumh.mapbox.vectortile.adapt.jts;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKTReader;
+
+import io.github.sebasbaumh.mapbox.vectortile.VectorTile;
+import io.github.sebasbaumh.mapbox.vectortile.adapt.jts.model.JtsLayer;
+import io.github.sebasbaumh.mapbox.vectortile.adapt.jts.model.JtsMvt;
+import io.github.sebasbaumh.mapbox.vectortile.build.MvtLayerParams;
+import io.github.sebasbaumh.mapbox.vectortile.build.MvtLayerProps;
+import io.github.sebasbaumh.mapbox.vectortile.util.MvtUtil;
+import io.github.sebasbaumh.mapbox.vectortile.util.MvtValueCache;
+
+/**
+ * Test streaming MVTs.
+ */
+@SuppressWarnings({ "javadoc", "static-method" })
+public final class MvtWriterTest
+{
+	private static final GeometryFactory GEOMETRY_FACTORY = new GeometryFactory();
+
+	private static Geometry read(String wkt, Object... props) throws ParseException
+	{
+		Geometry geom = new WKTReader(GEOMETRY_FACTORY).read(wkt);
+		Map<String, Object> attributes = new LinkedHashMap<>();
+		for (int i = 0; i < props.length; i += 2)
+		{
+			attributes.put((String) props[i], props[i + 1]);
+		}
+		geom.setUserData(attributes);
+		return geom;
+	}
+
+	private static JtsMvt createMvt() throws ParseException
+	{
+		List<Geometry> points = new ArrayList<>();
+		points.add(read("POINT (10 20)", "id", 1L, "name", "first", "flag", true));
+		points.add(read("MULTIPOINT ((100 200), (300 400), (300 400))", "id", 2L, "value", 1.5d));
+		points.add(read("POINT (-5 4100)", "id", 3L, "value", 2.5f, "name", "first"));
+		List<Geometry> lines = new ArrayList<>();
+		lines.add(read("LINESTRING (0 0, 10 10, 10 10, 4000 200)", "id", 300L, "count", 7));
+		lines.add(read("MULTILINESTRING ((0 0, 1 1), (5 5, 6 6, 7 9))", "name", "multi line with a long name"));
+		List<Geometry> polys = new ArrayList<>();
+		polys.add(read("POLYGON ((0 0, 0 100, 100 100, 100 0, 0 0), (10 10, 20 10, 20 20, 10 20, 10 10))"));
+		polys.add(read("MULTIPOLYGON (((200 200, 300 200, 300 300, 200 300, 200 200)), ((0 0, 1 0, 0 1, 0 0)))",
+				"id", -1L));
+		polys.add(read("GEOMETRYCOLLECTION (POINT (1 1), LINESTRING (3 3, 4 4))"));
+		return new JtsMvt(new JtsLayer("points", points), new JtsLayer("lines", lines),
+				new JtsLayer("empty", new ArrayList<>()), new JtsLayer("polys", polys));
+	}
+
+	@Test
+	public void testSameAsEncoder() throws IOException, ParseException
+	{
+		JtsMvt mvt = createMvt();
+		IUserDataConverter converter = new UserDataKeyValueMapConverter("id");
+		byte[] expected = MvtEncoder.encodeToTile(mvt, MvtLayerParams.DEFAULT, converter).toByteArray();
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		MvtWriter writer = new MvtWriter(out, converter);
+		writer.write(mvt, MvtLayerParams.DEFAULT);
+		writer.flush();
+		assertArrayEquals(expected, out.toByteArray());
+
+		// check it can be read again
+		JtsMvt actual = MvtReader.loadMvt(new ByteArrayInputStream(out.toByteArray()), GEOMETRY_FACTORY,
+				new TagKeyValueMapConverter());
+		assertEquals(4, actual.getLayers().size());
+		assertEquals(3, actual.getLayer("points").getGeometries().size());
+	}
+
+	@Test
+	public void testLayerByLayer() throws IOException, ParseException
+	{
+		MvtLayerParams params = new MvtLayerParams(256);
+		JtsMvt mvt = new JtsMvt(new JtsLayer("a", read("POINT (1 2)", "k", "v")));
+		byte[] expected = MvtEncoder.encode(mvt, params, null);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		MvtWriter writer = new MvtWriter(out, null);
+		writer.beginLayer("a", params);
+		writer.addFeature(mvt.getLayer("a").getGeometries().iterator().next());
+		writer.endLayer();
+		writer.flush();
+		assertArrayEquals(expected, out.toByteArray());
+	}
+
+	@Test
+	public void testValueCache() throws IOException, ParseException
+	{
+		JtsMvt mvt = createMvt();
+		IUserDataConverter converter = new UserDataKeyValueMapConverter("id");
+		byte[] expected = MvtEncoder.encodeToTile(mvt, MvtLayerParams.DEFAULT, converter).toByteArray();
+
+		MvtValueCache cache = new MvtValueCache();
+		long lookups = 0;
+		for (int i = 0; i < 2; i++)
+		{
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			MvtWriter writer = new MvtWriter(out, converter, cache);
+			writer.write(mvt, MvtLayerParams.DEFAULT);
+			writer.flush();
+			assertArrayEquals(expected, out.toByteArray());
+			if (i == 0)
+			{
+				lookups = cache.getHitCount() + cache.getMissCount();
+				assertEquals(cache.size(), cache.getMissCount());
+				assertTrue(cache.size() > 0);
+			}
+		}
+		// the second tile is taken from the cache completely
+		assertEquals(cache.size(), cache.getMissCount());
+		assertEquals(lookups * 2, cache.getHitCount() + cache.getMissCount());
+
+		// same layer properties via the layer builder
+		for (JtsLayer layer : mvt.getLayers())
+		{
+			VectorTile.Tile.Layer.Builder layerBuilder = MvtUtil.newLayerBuilder(layer.getName(),
+					MvtLayerParams.DEFAULT);
+			MvtLayerProps layerProps = new MvtLayerProps();
+			JtsAdapter.addFeatures(layerBuilder, layer.getGeometries(), layerProps, converter);
+			VectorTile.Tile.Layer.Builder cachedLayerBuilder = layerBuilder.clone();
+			MvtUtil.writeProps(layerBuilder, layerProps);
+			MvtUtil.writeProps(cachedLayerBuilder, layerProps, cache);
+			assertEquals(layerBuilder.build(), cachedLayerBuilder.build());
+		}
+
+		// a full cache still creates the values
+		MvtValueCache emptyCache = new MvtValueCache(0);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		MvtWriter writer = new MvtWriter(out, converter, emptyCache);
+		writer.write(mvt, MvtLayerParams.DEFAULT);
+		writer.flush();
+		assertArrayEquals(expected, out.toByteArray());
+		assertEquals(0, emptyCache.size());
+		assertEquals(0, emptyCache.getHitCount());
+	}
+
+	@Test
+	public void testCacheSize()
+	{
+		// entries are not evicted, further values are not cached anymore
+		MvtValueCache cache = new MvtValueCache(2);
+		cache.getKey("a");
+		cache.getValue(Integer.valueOf(1));
+		cache.getValue(Long.valueOf(2));
+		assertEquals(2, cache.size());
+		cache.getValue(Long.valueOf(1));
+		cache.getKey("a");
+		cache.getValue(Long.valueOf(2));
+		assertEquals(2, cache.size());
+		assertEquals(2, cache.getHitCount());
+		assertEquals(4, cache.getMissCount());
+		cache.clear();
+		assertEquals(0, cache.size());
+		cache.getValue(Long.valueOf(2));
+		assertEquals(1, cache.size());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testNoLayer() throws IOException, ParseException
+	{
+		new MvtWriter(new ByteArrayOutputStream(), null).addFeature(read("POINT (1 2)"));
+	}
+}
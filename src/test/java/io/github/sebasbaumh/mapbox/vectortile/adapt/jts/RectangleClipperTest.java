@@ -0,0 +1,186 @@
+package io.github.sebasbaumh.mapbox.vectortile.adapt.jts;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.MultiLineString;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKTReader;
+
+import io.github.sebasbaumh.mapbox.vectortile.build.ClipStrategy;
+
+/**
+ * Test clipping by rectangles.
+ */
+@SuppressWarnings({ "javadoc", "static-method" })
+public final class RectangleClipperTest
+{
+	private static final double DOUBLE_DELTA = 1e-9;
+	private static final GeometryFactory GEOMETRY_FACTORY = new GeometryFactory();
+	private static final Envelope CLIP_ENVELOPE = new Envelope(0, 10, 0, 10);
+	/**
+	 * U-shape clipped across its base.
+	 */
+	private static final String U_SHAPE = "POLYGON ((2 -5, 2 8, 8 8, 8 -5, 6 -5, 6 6, 4 6, 4 -5, 2 -5))";
+	/**
+	 * Hole crossing the boundary of the rectangle.
+	 */
+	private static final String HOLE_CROSSING = "POLYGON ((-5 -5, 15 -5, 15 15, -5 15, -5 -5), "
+			+ "(8 8, 8 12, 12 12, 12 8, 8 8))";
+
+	private static Geometry clip(String wkt) throws ParseException
+	{
+		Geometry geom = new WKTReader(GEOMETRY_FACTORY).read(wkt);
+		Geometry clipped = new RectangleClipper(CLIP_ENVELOPE, GEOMETRY_FACTORY).clip(geom);
+		assertNotNull(clipped);
+		assertTrue(clipped.isValid());
+		// compare to overlay result
+		Geometry expected = GEOMETRY_FACTORY.toGeometry(CLIP_ENVELOPE).intersection(geom);
+		assertEquals(expected.getArea(), clipped.getArea(), DOUBLE_DELTA);
+		// boundary of polygons may differ as holes are not merged into the exterior ring
+		if (geom.getDimension() < 2)
+		{
+			assertEquals(expected.getLength(), clipped.getLength(), DOUBLE_DELTA);
+		}
+		return clipped;
+	}
+
+	@Test
+	public void testPoints() throws ParseException
+	{
+		assertEquals(2, clip("MULTIPOINT ((1 1), (10 10), (11 5))").getNumPoints());
+		assertTrue(clip("POINT (-1 5)").isEmpty());
+
+		Geometry inside = new WKTReader(GEOMETRY_FACTORY).read("MULTIPOINT ((1 1), (2 2))");
+		assertSame(inside, new RectangleClipper(CLIP_ENVELOPE, GEOMETRY_FACTORY).clip(inside));
+	}
+
+	@Test
+	public void testLines() throws ParseException
+	{
+		// crossing the rectangle twice
+		Geometry clipped = clip("LINESTRING (-5 5, 5 5, 5 15, 8 15, 8 5, 15 5)");
+		assertTrue(clipped instanceof MultiLineString);
+		assertEquals(2, clipped.getNumGeometries());
+		// diagonal
+		clipped = clip("LINESTRING (-10 -10, 20 20)");
+		assertTrue(clipped instanceof LineString);
+		assertEquals(Math.sqrt(200), clipped.getLength(), DOUBLE_DELTA);
+		// outside and touching a corner only
+		assertTrue(clip("LINESTRING (-1 1, 1 -1)").isEmpty());
+		assertTrue(clip("LINESTRING (11 1, 11 5)").isEmpty());
+	}
+
+	private static List<Geometry> clipGeometries(Geometry geom, ClipStrategy clipStrategy)
+	{
+		List<Geometry> clipped = new ArrayList<Geometry>();
+		JtsAdapter.clipGeometries(Collections.singleton(geom), CLIP_ENVELOPE, GEOMETRY_FACTORY, clipStrategy, clipped,
+				null);
+		return clipped;
+	}
+
+	@Test
+	public void testClipStrategies() throws ParseException
+	{
+		for (String wkt : new String[] { U_SHAPE, HOLE_CROSSING, "POLYGON ((-5 2, 5 2, 5 8, -5 8, -5 2))" })
+		{
+			Geometry geom = new WKTReader(GEOMETRY_FACTORY).read(wkt);
+			Geometry expected = GEOMETRY_FACTORY.toGeometry(CLIP_ENVELOPE).intersection(geom);
+			for (ClipStrategy clipStrategy : ClipStrategy.values())
+			{
+				List<Geometry> clipped = clipGeometries(geom, clipStrategy);
+				assertEquals(1, clipped.size());
+				assertTrue(clipped.get(0).isValid());
+				assertEquals(expected.getArea(), clipped.get(0).getArea(), DOUBLE_DELTA);
+			}
+		}
+	}
+
+	@Test
+	public void testPolygons() throws ParseException
+	{
+		// leaving and re-entering the rectangle at a corner
+		Geometry clipped = clip("POLYGON ((2 2, 12 2, 12 12, 2 12, 2 2))");
+		assertTrue(clipped instanceof Polygon);
+		assertEquals(64, clipped.getArea(), DOUBLE_DELTA);
+		// containing the rectangle
+		clipped = clip("POLYGON ((-5 -5, 15 -5, 15 15, -5 15, -5 -5), (1 1, 1 2, 2 2, 2 1, 1 1))");
+		assertEquals(99, clipped.getArea(), DOUBLE_DELTA);
+		// the rectangle is inside of a hole
+		assertTrue(
+				clip("POLYGON ((-9 -9, 19 -9, 19 19, -9 19, -9 -9), (-5 -5, 15 -5, 15 15, -5 15, -5 -5))").isEmpty());
+		// outside, but the envelope intersects the rectangle
+		assertTrue(clip("POLYGON ((-5 -5, 15 -5, 15 -1, -1 -1, -1 15, -5 15, -5 -5))").isEmpty());
+		// hole completely outside
+		clipped = clip("POLYGON ((-5 -5, 25 -5, 25 25, -5 25, -5 -5), (18 18, 18 20, 20 20, 20 18, 18 18))");
+		assertEquals(0, ((Polygon) clipped).getNumInteriorRing());
+		assertEquals(5, ((Polygon) clipped).getExteriorRing().getNumPoints());
+		// multi polygon with one part outside
+		clipped = clip("MULTIPOLYGON (((1 1, 2 1, 2 2, 1 1)), ((20 20, 30 20, 30 30, 20 20)))");
+		assertTrue(clipped instanceof Polygon);
+		// touching the rectangle only along an edge
+		assertTrue(clip("POLYGON ((10 0, 12 0, 12 10, 10 10, 10 0))").isEmpty());
+	}
+
+	@Test
+	public void testRandomPolygons()
+	{
+		Random random = new Random(42);
+		RectangleClipper clipper = new RectangleClipper(CLIP_ENVELOPE, GEOMETRY_FACTORY);
+		Geometry clipGeometry = GEOMETRY_FACTORY.toGeometry(CLIP_ENVELOPE);
+		int clipped = 0;
+		for (int i = 0; i < 1000; i++)
+		{
+			// star shaped polygon around a random center
+			int n = 3 + random.nextInt(20);
+			double cx = random.nextDouble() * 20 - 5;
+			double cy = random.nextDouble() * 20 - 5;
+			Coordinate[] coords = new Coordinate[n + 1];
+			for (int j = 0; j < n; j++)
+			{
+				double angle = 2 * Math.PI * j / n;
+				double radius = 1 + random.nextDouble() * 10;
+				coords[j] = new Coordinate(cx + radius * Math.cos(angle), cy + radius * Math.sin(angle));
+			}
+			coords[n] = coords[0].copy();
+			Polygon polygon = GEOMETRY_FACTORY.createPolygon(coords);
+			Geometry actual = clipper.clip(polygon);
+			if (actual != null)
+			{
+				clipped++;
+				assertTrue(actual.isValid());
+				assertEquals(clipGeometry.intersection(polygon).getArea(), actual.getArea(), DOUBLE_DELTA);
+			}
+		}
+		// most polygons are clipped without an overlay operation
+		assertTrue(clipped > 500);
+	}
+
+	@Test
+	public void testUnsupported() throws ParseException
+	{
+		Geometry geom = new WKTReader(GEOMETRY_FACTORY).read("GEOMETRYCOLLECTION (POINT (1 1))");
+		assertNull(new RectangleClipper(CLIP_ENVELOPE, GEOMETRY_FACTORY).clip(geom));
+		// the clipped U-shape would be split
+		geom = new WKTReader(GEOMETRY_FACTORY).read(U_SHAPE);
+		assertNull(new RectangleClipper(CLIP_ENVELOPE, GEOMETRY_FACTORY).clip(geom));
+		// the hole would have to be merged into the exterior ring
+		geom = new WKTReader(GEOMETRY_FACTORY).read(HOLE_CROSSING);
+		assertNull(new RectangleClipper(CLIP_ENVELOPE, GEOMETRY_FACTORY).clip(geom));
+	}
+}
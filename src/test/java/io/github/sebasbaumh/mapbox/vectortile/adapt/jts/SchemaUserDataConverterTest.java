@@ -0,0 +1,137 @@
+package io.github.sebasbaumh.mapbox.vectortile.adapt.jts;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+
+import io.github.sebasbaumh.mapbox.vectortile.adapt.jts.SchemaUserDataConverter.ColumnType;
+import io.github.sebasbaumh.mapbox.vectortile.adapt.jts.model.JtsLayer;
+import io.github.sebasbaumh.mapbox.vectortile.adapt.jts.model.JtsMvt;
+import io.github.sebasbaumh.mapbox.vectortile.build.MvtLayerParams;
+
+/**
+ * Test converting user data by a schema.
+ */
+@SuppressWarnings({ "javadoc", "static-method" })
+public final class SchemaUserDataConverterTest
+{
+	private static final GeometryFactory GEOMETRY_FACTORY = new GeometryFactory();
+	private static final List<String> KEYS = Arrays.asList("id", "name", "height", "ratio", "visible");
+	private static final List<ColumnType> TYPES = Arrays.asList(ColumnType.LONG, ColumnType.STRING,
+			ColumnType.DOUBLE, ColumnType.FLOAT, ColumnType.BOOLEAN);
+	private static final Object[][] ROWS = { { 1L, "a", 1.5, 0.5f, true }, { 2L, "b", 1.5, null, false },
+			{ 3L, null, 7.0, 0.25f, true }, { null, "a", null, null, null } };
+
+	private static JtsMvt createMvt(boolean asMap)
+	{
+		List<Geometry> geoms = new ArrayList<Geometry>();
+		for (int i = 0; i < ROWS.length; i++)
+		{
+			Geometry geom = GEOMETRY_FACTORY.createPoint(new Coordinate(i, i));
+			if (asMap)
+			{
+				Map<String, Object> attributes = new LinkedHashMap<String, Object>();
+				for (int j = 0; j < KEYS.size(); j++)
+				{
+					attributes.put(KEYS.get(j), ROWS[i][j]);
+				}
+				geom.setUserData(attributes);
+			}
+			else
+			{
+				geom.setUserData(new ArrayRow(ROWS[i]));
+			}
+			geoms.add(geom);
+		}
+		return new JtsMvt(new JtsLayer("first", geoms), new JtsLayer("second", geoms.subList(1, 3)));
+	}
+
+	@Test
+	public void testSameAsMap()
+	{
+		byte[] expected = MvtEncoder.encode(createMvt(true), MvtLayerParams.DEFAULT,
+				new UserDataKeyValueMapConverter("id"));
+		byte[] actual = MvtEncoder.encode(createMvt(false), MvtLayerParams.DEFAULT,
+				new SchemaUserDataConverter(KEYS, TYPES, 0));
+		assertArrayEquals(expected, actual);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidIdColumn()
+	{
+		new SchemaUserDataConverter(KEYS, TYPES, 1);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidUserData()
+	{
+		MvtEncoder.encode(createMvt(true), MvtLayerParams.DEFAULT, new SchemaUserDataConverter(KEYS, TYPES));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testDuplicateKeys()
+	{
+		new SchemaUserDataConverter(Arrays.asList("a", "a"), Arrays.asList(ColumnType.LONG, ColumnType.LONG));
+	}
+
+	/**
+	 * Row backed by an array of boxed values.
+	 */
+	private static final class ArrayRow implements IAttributeRow
+	{
+		private final Object[] values;
+
+		ArrayRow(Object[] values)
+		{
+			this.values = values;
+		}
+
+		@Override
+		public boolean getBoolean(int column)
+		{
+			return ((Boolean) values[column]).booleanValue();
+		}
+
+		@Override
+		public double getDouble(int column)
+		{
+			return ((Double) values[column]).doubleValue();
+		}
+
+		@Override
+		public float getFloat(int column)
+		{
+			return ((Float) values[column]).floatValue();
+		}
+
+		@Override
+		public long getLong(int column)
+		{
+			return ((Long) values[column]).longValue();
+		}
+
+		@Nullable
+		@Override
+		public String getString(int column)
+		{
+			return (String) values[column];
+		}
+
+		@Override
+		public boolean isNull(int column)
+		{
+			return values[column] == null;
+		}
+	}
+}
@@ -0,0 +1,113 @@
+package io.github.sebasbaumh.mapbox.vectortile.adapt.jts;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+
+import io.github.sebasbaumh.mapbox.vectortile.adapt.jts.model.JtsLayer;
+import io.github.sebasbaumh.mapbox.vectortile.adapt.jts.model.JtsMvt;
+import io.github.sebasbaumh.mapbox.vectortile.util.IntArrayList;
+
+/**
+ * Test converting tags to flyweight maps by {@link TagMapConverter}.
+ */
+@SuppressWarnings({ "javadoc", "static-method" })
+public final class TagMapConverterTest
+{
+	private static final TagTable TAG_TABLE = TagTable.of(Arrays.asList("a", "b", "id", "a"),
+			Arrays.<Object> asList("x", Long.valueOf(5), Double.valueOf(1.5)));
+
+	private static IntArrayList tags(int... values)
+	{
+		IntArrayList tags = new IntArrayList();
+		for (int value : values)
+		{
+			tags.add(value);
+		}
+		return tags;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Map<String, Object> toMap(Object userData)
+	{
+		return (Map<String, Object>) userData;
+	}
+
+	@Test
+	public void testLoad() throws IOException
+	{
+		File file = new File("src/test/resources/vec_tile_test/game.mvt");
+		JtsMvt expected = MvtReader.loadMvt(file, new GeometryFactory(), new TagKeyValueMapConverter(false, "id"));
+		JtsMvt result = MvtReader.loadMvt(file, new GeometryFactory(), new TagMapConverter(false, "id"));
+		for (JtsLayer layer : expected.getLayers())
+		{
+			List<Geometry> geoms = new ArrayList<Geometry>(result.getLayer(layer.getName()).getGeometries());
+			int i = 0;
+			for (Geometry geom : layer.getGeometries())
+			{
+				Object userData = geoms.get(i++).getUserData();
+				assertTrue(userData instanceof TagMap);
+				assertEquals(geom.getUserData(), userData);
+				assertEquals(userData, geom.getUserData());
+				assertEquals(geom.getUserData().hashCode(), userData.hashCode());
+			}
+		}
+	}
+
+	@Test
+	public void testMap()
+	{
+		// invalid tags are ignored, duplicate keys keep their first position
+		IntArrayList tags = tags(0, 0, 1, 1, 5, 0, 3, 2, 1, 7, 2);
+		TagMapConverter converter = new TagMapConverter(false, "id");
+		Map<String, Object> map = toMap(converter.toUserData(Long.valueOf(42), tags, TAG_TABLE));
+		Map<String, Object> expected = new LinkedHashMap<String, Object>();
+		expected.put("a", Double.valueOf(1.5));
+		expected.put("b", Long.valueOf(5));
+		expected.put("id", Long.valueOf(42));
+		assertEquals(expected, map);
+		assertEquals(new ArrayList<String>(expected.keySet()), new ArrayList<String>(map.keySet()));
+		assertEquals(3, map.size());
+		assertEquals(Long.valueOf(5), map.get("b"));
+		assertTrue(map.containsKey("id"));
+		assertFalse(map.containsKey("c"));
+		assertNull(map.get("c"));
+		// the id replaces a tag with the same key
+		map = toMap(converter.toUserData(Long.valueOf(7), tags(2, 0, 0, 0), TAG_TABLE));
+		assertEquals(2, map.size());
+		Iterator<Map.Entry<String, Object>> it = map.entrySet().iterator();
+		assertEquals("id", it.next().getKey());
+		assertEquals(Long.valueOf(7), map.get("id"));
+	}
+
+	@Test
+	public void testEmpty()
+	{
+		assertNull(new TagMapConverter(true).toUserData(null, tags(), TAG_TABLE));
+		assertNull(new TagMapConverter(true, "id").toUserData(null, tags(), TAG_TABLE));
+		assertEquals(1, ((Map<?, ?>) new TagMapConverter(true, "id").toUserData(Long.valueOf(1), tags(), TAG_TABLE))
+				.size());
+		assertTrue(((Map<?, ?>) new TagMapConverter().toUserData(null, tags(), TAG_TABLE)).isEmpty());
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testImmutable()
+	{
+		Map<String, Object> map = toMap(new TagMapConverter().toUserData(null, tags(0, 0), TAG_TABLE));
+		map.put("c", "y");
+	}
+}
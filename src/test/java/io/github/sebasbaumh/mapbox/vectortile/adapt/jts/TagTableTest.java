@@ -0,0 +1,91 @@
+package io.github.sebasbaumh.mapbox.vectortile.adapt.jts;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import io.github.sebasbaumh.mapbox.vectortile.VectorTile;
+import io.github.sebasbaumh.mapbox.vectortile.model.MvtFeature;
+import io.github.sebasbaumh.mapbox.vectortile.model.MvtLayer;
+import io.github.sebasbaumh.mapbox.vectortile.util.IntArrayList;
+
+/**
+ * Test converting tags using decoded {@link TagTable}s.
+ */
+@SuppressWarnings({ "javadoc", "static-method" })
+public final class TagTableTest
+{
+	private static IntArrayList toIntArrayList(List<Integer> list)
+	{
+		IntArrayList result = new IntArrayList();
+		for (Integer i : list)
+		{
+			result.add(i.intValue());
+		}
+		return result;
+	}
+
+	@Test
+	public void testConverter() throws IOException
+	{
+		VectorTile.Tile tile = VectorTile.Tile
+				.parseFrom(Files.readAllBytes(Paths.get("src/test/resources/vec_tile_test/game.mvt")));
+		TagKeyValueMapConverter converter = new TagKeyValueMapConverter(false, "id");
+		// converter only implementing the list based method
+		ITagConverter listConverter = converter::toUserData;
+		for (VectorTile.Tile.Layer layer : tile.getLayersList())
+		{
+			TagTable tagTable = TagTable.decode(layer.getKeysList(), layer.getValuesList());
+			assertEquals(layer.getKeysCount(), tagTable.getKeyCount());
+			assertEquals(layer.getValuesCount(), tagTable.getValueCount());
+			assertSame(layer.getValuesList(), tagTable.getValuesList());
+			for (VectorTile.Tile.Feature feature : layer.getFeaturesList())
+			{
+				Object expected = converter.toUserData(feature.getId(), feature.getTagsList(), layer.getKeysList(),
+						layer.getValuesList());
+				IntArrayList tags = toIntArrayList(feature.getTagsList());
+				assertEquals(expected, converter.toUserData(feature.getId(), tags, tagTable));
+				assertEquals(expected, listConverter.toUserData(feature.getId(), tags, tagTable));
+			}
+		}
+	}
+
+	@Test
+	public void testDecodedValues()
+	{
+		TagTable tagTable = TagTable.of(Arrays.asList("a", "b"), Arrays.<Object> asList("x", Long.valueOf(5), null));
+		assertEquals("b", tagTable.getKey(1));
+		assertEquals(Long.valueOf(5), tagTable.getValue(1));
+		assertTrue(tagTable.isValid(1, 2));
+		assertFalse(tagTable.isValid(2, 0));
+		assertFalse(tagTable.isValid(0, -1));
+		assertEquals("x", tagTable.getValuesList().get(0).getStringValue());
+		assertEquals(5, tagTable.getValuesList().get(1).getSintValue());
+		assertFalse(tagTable.getValuesList().get(2).hasStringValue());
+	}
+
+	@Test
+	public void testLayerValueTypes()
+	{
+		MvtLayer layer = new MvtLayer("layer", 4096, 2, Arrays.asList("a"),
+				Arrays.<Object> asList(Long.valueOf(7), Long.valueOf(-1), Long.valueOf(-3)),
+				new int[] { VectorTile.Tile.Value.UINT_VALUE_FIELD_NUMBER,
+						VectorTile.Tile.Value.UINT_VALUE_FIELD_NUMBER, VectorTile.Tile.Value.INT_VALUE_FIELD_NUMBER },
+				Collections.<MvtFeature> emptyList());
+		// values keep their fields for converters using the MVT values
+		List<VectorTile.Tile.Value> values = TagTable.of(layer).getValuesList();
+		assertEquals(7, values.get(0).getUintValue());
+		assertEquals(-1, values.get(1).getUintValue());
+		assertEquals(-3, values.get(2).getIntValue());
+	}
+}
@@ -0,0 +1,49 @@
+package io.github.sebasbaumh.mapbox.vectortile.adapt.jts;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKTReader;
+
+/**
+ * Test transforming geometries to tile coordinates.
+ */
+@SuppressWarnings({ "javadoc", "static-method" })
+public final class TileGeomTransformerTest
+{
+	private static final GeometryFactory GEOMETRY_FACTORY = new GeometryFactory();
+
+	private static Geometry transform(String wkt) throws ParseException
+	{
+		// tile of 100x100 world units mapped to an extent of 10
+		TileGeomTransformer transformer = new TileGeomTransformer(new Envelope(0, 100, 0, 100), 10);
+		return transformer.transform(new WKTReader(GEOMETRY_FACTORY).read(wkt));
+	}
+
+	@Test
+	public void testTransform() throws ParseException
+	{
+		assertEquals("POINT (2 7)", transform("POINT (21 31)").toText());
+		// y axis is flipped and repeated points on the grid are dropped
+		Geometry line = transform("LINESTRING (0 0, 1 1, 2 2, 50 50, 100 100)");
+		assertEquals("LINESTRING (0 10, 5 5, 10 0)", line.toText());
+		assertFalse(TileGeomTransformer.isSimplifiable(transform("LINESTRING (0 0, 1 1, 100 100)")));
+		assertTrue(TileGeomTransformer.isSimplifiable(line));
+	}
+
+	@Test
+	public void testCollapsed() throws ParseException
+	{
+		// collapsed geometries keep a valid structure
+		assertEquals(2, transform("LINESTRING (0 0, 1 1, 2 2)").getNumPoints());
+		Geometry polygon = transform("POLYGON ((0 0, 1 0, 1 1, 0 0))");
+		assertEquals(4, polygon.getNumPoints());
+		assertEquals(0d, polygon.getArea(), 0d);
+	}
+}
@@ -6,6 +6,10 @@ import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
 import org.junit.Test;
 
 @SuppressWarnings({ "javadoc", "static-method" })
@@ -36,6 +40,25 @@ public final class JtsMvtTest
 		assertNotEquals(mvt, mvt3);
 	}
 
+	@Test
+	public void testEqualityLazy()
+	{
+		final JtsLayer layer1 = new JtsLayer("first");
+		final JtsLayer layer2 = new JtsLayer("second");
+		final JtsMvt mvt = new JtsMvt(layer1, layer2);
+		final Map<String, Supplier<JtsLayer>> decoders = new LinkedHashMap<String, Supplier<JtsLayer>>();
+		decoders.put("first", () -> new JtsLayer("first"));
+		decoders.put("second", () -> new JtsLayer("second"));
+		final LazyJtsMvt lazyMvt = new LazyJtsMvt(decoders);
+		assertEquals(mvt, lazyMvt);
+		assertEquals(lazyMvt, mvt);
+		assertEquals(mvt.hashCode(), lazyMvt.hashCode());
+
+		decoders.put("extra", () -> new JtsLayer("extra"));
+		assertNotEquals(mvt, new LazyJtsMvt(decoders));
+		assertNotEquals(new LazyJtsMvt(decoders), mvt);
+	}
+
 	@Test
 	public void testLayerByName()
 	{
@@ -3,6 +3,7 @@ package io.github.sebasbaumh.mapbox.vectortile.build;
 import static java.util.Collections.singletonList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
@@ -307,6 +308,49 @@ public final class MvtBuildTest
 		assertEquals(expected, actual);
 	}
 
+	@Test
+	public void testSimplification()
+	{
+		// sine wave with a small zigzag on top
+		final GeometryFactory geomFactory = new GeometryFactory();
+		Coordinate[] coords = new Coordinate[200];
+		for (int i = 0; i < coords.length; i++)
+		{
+			coords[i] = new Coordinate(i * .5d, 50d + Math.sin(i * .1d) * 3d + (i % 2) * .1d);
+		}
+		final Geometry inputGeom = geomFactory.createLineString(coords);
+		final Envelope tileEnvelope = new Envelope(0d, WORLD_SIZE, 0d, WORLD_SIZE);
+
+		// only repeated points are removed without simplification
+		MvtLayerParams none = new MvtLayerParams(MvtLayerParams.DEFAULT_EXTENT, Simplification.NONE);
+		int numPoints = JtsAdapter.createTileGeom(inputGeom, tileEnvelope, geomFactory, none, null).getNumPoints();
+		int numPointsDefault = JtsAdapter
+				.createTileGeom(inputGeom, tileEnvelope, geomFactory, MvtLayerParams.DEFAULT, null).getNumPoints();
+		assertTrue(numPointsDefault <= numPoints);
+
+		// tolerances by zoom level, the last one applies to all higher zoom levels
+		for (Simplification simplification : Simplification.values())
+		{
+			MvtLayerParams params = new MvtLayerParams(MvtLayerParams.DEFAULT_EXTENT, simplification, 16d, 1d);
+			assertEquals(1d, params.getSimplificationTolerance(10), 0d);
+			assertEquals(1d, params.getSimplificationTolerance(-1), 0d);
+			int numPointsZ0 = JtsAdapter.createTileGeom(inputGeom, tileEnvelope, tileEnvelope, geomFactory, params,
+					null, 0).getNumPoints();
+			int numPointsZ1 = JtsAdapter.createTileGeom(inputGeom, tileEnvelope, tileEnvelope, geomFactory, params,
+					null, 1).getNumPoints();
+			if (simplification == Simplification.NONE)
+			{
+				assertEquals(numPoints, numPointsZ0);
+				assertEquals(numPoints, numPointsZ1);
+			}
+			else
+			{
+				assertTrue(numPointsZ0 < numPointsZ1);
+				assertTrue(numPointsZ1 < numPoints);
+			}
+		}
+	}
+
 	private static class MvtWriter
 	{
 
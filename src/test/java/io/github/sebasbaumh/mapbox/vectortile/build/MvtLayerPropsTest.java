@@ -0,0 +1,121 @@
+package io.github.sebasbaumh.mapbox.vectortile.build;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import io.github.sebasbaumh.mapbox.vectortile.VectorTile;
+import io.github.sebasbaumh.mapbox.vectortile.util.MvtUtil;
+import io.github.sebasbaumh.mapbox.vectortile.util.MvtValueEncoding;
+
+/**
+ * Tests for {@link MvtLayerProps}.
+ */
+@SuppressWarnings({ "javadoc", "static-method" })
+public final class MvtLayerPropsTest
+{
+	@Test
+	public void testCompactValues()
+	{
+		MvtLayerProps props = new MvtLayerProps(MvtValueEncoding.COMPACT);
+		assertEquals(MvtValueEncoding.COMPACT, props.getValueEncoding());
+		assertEquals(0, props.addLongValue(5));
+		assertEquals(1, props.addLongValue(-5));
+		// doubles which are exact floats share the index of the float value
+		assertEquals(2, props.addDoubleValue(1.5));
+		assertEquals(2, props.addValue(Float.valueOf(1.5f)));
+		assertEquals(3, props.addDoubleValue(0.1));
+		assertNotEquals(3, props.addValue(Float.valueOf(0.1f)));
+
+		VectorTile.Tile.Layer.Builder layerBuilder = VectorTile.Tile.Layer.newBuilder();
+		MvtUtil.writeProps(layerBuilder, props);
+		List<VectorTile.Tile.Value> values = layerBuilder.getValuesList();
+		assertTrue(values.get(0).hasUintValue());
+		assertTrue(values.get(1).hasSintValue());
+		assertTrue(values.get(2).hasFloatValue());
+		assertTrue(values.get(3).hasDoubleValue());
+		assertTrue(values.get(4).hasFloatValue());
+		// reading back keeps the numeric values
+		assertEquals(Long.valueOf(5), MvtUtil.toObject(values.get(0)));
+		assertEquals(Long.valueOf(-5), MvtUtil.toObject(values.get(1)));
+		assertEquals(Float.valueOf(1.5f), MvtUtil.toObject(values.get(2)));
+		assertEquals(Double.valueOf(0.1), MvtUtil.toObject(values.get(3)));
+		assertEquals(Float.valueOf(0.1f), MvtUtil.toObject(values.get(4)));
+	}
+
+	@Test
+	public void testKeys()
+	{
+		MvtLayerProps props = new MvtLayerProps();
+		assertEquals(0, props.addKey("a"));
+		assertEquals(1, props.addKey("b"));
+		assertEquals(0, props.addKey("a"));
+		List<String> keys = new ArrayList<String>();
+		props.getKeys().forEach(keys::add);
+		assertEquals(Arrays.asList("a", "b"), keys);
+	}
+
+	@Test
+	public void testManyValues()
+	{
+		MvtLayerProps props = new MvtLayerProps();
+		final int n = 10000;
+		for (int i = 0; i < n; i++)
+		{
+			assertEquals(i * 3, props.addLongValue(i * 7L));
+			assertEquals(i * 3 + 1, props.addDoubleValue(i * 0.5));
+			assertEquals(i * 3 + 2, props.addValue("s" + i));
+		}
+		for (int i = 0; i < n; i++)
+		{
+			assertEquals(i * 3, props.addValue(Integer.valueOf(i * 7)));
+			assertEquals(i * 3 + 1, props.addValue(Double.valueOf(i * 0.5)));
+			assertEquals(i * 3 + 2, props.addValue((Object) ("s" + i)));
+		}
+		assertEquals(n * 3, props.getValueCount());
+		assertEquals(Long.valueOf((n - 1) * 7L), props.getValue((n - 1) * 3));
+		assertEquals("s" + (n - 1), props.getValue(n * 3 - 1));
+	}
+
+	@Test
+	public void testValues()
+	{
+		MvtLayerProps props = new MvtLayerProps();
+		assertEquals(0, props.addLongValue(5));
+		// integers and longs are both encoded as sint values
+		assertEquals(0, props.addValue(Integer.valueOf(5)));
+		assertEquals(0, props.addValue(Long.valueOf(5)));
+		assertEquals(1, props.addDoubleValue(5.0));
+		assertEquals(1, props.addValue(Double.valueOf(5.0)));
+		assertEquals(2, props.addValue(Float.valueOf(5.0f)));
+		assertEquals(2, props.addFloatValue(5.0f));
+		assertEquals(3, props.addValue("5"));
+		assertEquals(4, props.addValue(Boolean.TRUE));
+		assertEquals(5, props.addValue(Boolean.FALSE));
+		assertEquals(4, props.addValue(Boolean.TRUE));
+		assertEquals(6, props.addDoubleValue(-0.0));
+		assertNotEquals(1, props.addDoubleValue(Double.NaN));
+		assertEquals(-1, props.addValue(new Object()));
+		assertEquals(-1, props.addValue(Short.valueOf((short) 5)));
+		assertEquals(-1, props.addValue(Character.valueOf('5')));
+		// integers keep their type
+		assertEquals(8, props.addValue(Integer.valueOf(6)));
+		assertEquals(8, props.addLongValue(6));
+		assertEquals(9, props.getValueCount());
+		List<Object> values = new ArrayList<Object>();
+		props.getValues().forEach(values::add);
+		assertEquals(Arrays.asList(Long.valueOf(5), Double.valueOf(5.0), Float.valueOf(5.0f), "5", Boolean.TRUE,
+				Boolean.FALSE, Double.valueOf(-0.0)), values.subList(0, 7));
+		assertEquals(Integer.valueOf(6), values.get(8));
+		for (Object value : props.getValues())
+		{
+			assertTrue(MvtUtil.isValidPropValue(value));
+		}
+	}
+}
@@ -0,0 +1,164 @@
+package io.github.sebasbaumh.mapbox.vectortile.model;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.locationtech.jts.geom.GeometryFactory;
+
+import io.github.sebasbaumh.mapbox.vectortile.VectorTile;
+import io.github.sebasbaumh.mapbox.vectortile.VectorTile.Tile.GeomType;
+import io.github.sebasbaumh.mapbox.vectortile.adapt.jts.MvtModelAdapter;
+import io.github.sebasbaumh.mapbox.vectortile.adapt.jts.MvtReader;
+import io.github.sebasbaumh.mapbox.vectortile.adapt.jts.TagKeyValueMapConverter;
+import io.github.sebasbaumh.mapbox.vectortile.adapt.jts.model.JtsMvt;
+
+/**
+ * Test reading and writing MVTs by {@link MvtModelReader} and {@link MvtModelWriter}.
+ */
+@SuppressWarnings({ "javadoc", "static-method" })
+public final class MvtModelTest
+{
+	private static final String[] TILES = { "src/test/resources/vec_tile_test/game.mvt",
+			"src/test/resources/vec_tile_test/0/0/0.mvt",
+			"src/test/resources/mapbox/vector_tile_js/multi_poly_neg_exters.mvt" };
+
+	@Test
+	public void testRead() throws IOException
+	{
+		for (String file : TILES)
+		{
+			byte[] data = Files.readAllBytes(Paths.get(file));
+			VectorTile.Tile tile = VectorTile.Tile.parseFrom(data);
+			List<MvtLayer> layers = MvtModelReader.loadLayers(data);
+			assertEquals(tile.getLayersCount(), layers.size());
+			for (int i = 0; i < layers.size(); i++)
+			{
+				VectorTile.Tile.Layer expected = tile.getLayers(i);
+				MvtLayer layer = layers.get(i);
+				assertEquals(expected.getName(), layer.getName());
+				assertEquals(expected.getExtent(), layer.getExtent());
+				assertEquals(expected.getKeysList(), layer.getKeys());
+				assertEquals(expected.getFeaturesCount(), layer.getFeatures().size());
+			}
+			// same geometries as the JTS reader
+			JtsMvt expected = MvtReader.loadMvt(Files.newInputStream(Paths.get(file)), new GeometryFactory(),
+					new TagKeyValueMapConverter(), MvtReader.RING_CLASSIFIER_V1);
+			assertEquals(expected, MvtModelAdapter.toJtsMvt(layers, new GeometryFactory(),
+					new TagKeyValueMapConverter(), MvtReader.RING_CLASSIFIER_V1));
+		}
+	}
+
+	@Test
+	public void testRoundTrip() throws IOException
+	{
+		for (String file : TILES)
+		{
+			byte[] data = Files.readAllBytes(Paths.get(file));
+			VectorTile.Tile tile = VectorTile.Tile.parseFrom(data);
+			List<MvtLayer> layers = MvtModelReader.loadLayers(data);
+			VectorTile.Tile encoded = MvtModelWriter.toTile(layers);
+			// the geometry commands of valid tiles are kept
+			for (int i = 0; i < tile.getLayersCount(); i++)
+			{
+				for (int j = 0; j < tile.getLayers(i).getFeaturesCount(); j++)
+				{
+					VectorTile.Tile.Feature expected = tile.getLayers(i).getFeatures(j);
+					VectorTile.Tile.Feature feature = encoded.getLayers(i).getFeatures(j);
+					assertEquals(expected.getGeometryList(), feature.getGeometryList());
+					assertEquals(expected.getTagsList(), feature.getTagsList());
+					assertEquals(expected.getId(), feature.getId());
+				}
+			}
+			assertEquals(layers, MvtModelReader.loadLayers(MvtModelWriter.encode(layers)));
+		}
+	}
+
+	@Test
+	public void testRoundTripValueTypes() throws IOException
+	{
+		VectorTile.Tile.Layer.Builder layer = VectorTile.Tile.Layer.newBuilder().setVersion(2).setName("layer")
+				.setExtent(4096).addKeys("k");
+		layer.addValues(VectorTile.Tile.Value.newBuilder().setUintValue(7));
+		// above Long.MAX_VALUE
+		layer.addValues(VectorTile.Tile.Value.newBuilder().setUintValue(-2));
+		layer.addValues(VectorTile.Tile.Value.newBuilder().setIntValue(-3));
+		layer.addValues(VectorTile.Tile.Value.newBuilder().setSintValue(-4));
+		layer.addValues(VectorTile.Tile.Value.newBuilder().setFloatValue(1.5f));
+		layer.addValues(VectorTile.Tile.Value.newBuilder().setDoubleValue(2.5));
+		layer.addValues(VectorTile.Tile.Value.newBuilder());
+		for (int i = 0; i < layer.getValuesCount(); i++)
+		{
+			layer.addFeatures(VectorTile.Tile.Feature.newBuilder().setType(GeomType.POINT)
+					.addAllGeometry(Arrays.asList(9, 2, 4)).addAllTags(Arrays.asList(0, i)));
+		}
+		VectorTile.Tile tile = VectorTile.Tile.newBuilder().addLayers(layer).build();
+		List<MvtLayer> layers = MvtModelReader.loadLayers(tile.toByteArray());
+		assertEquals(tile, MvtModelWriter.toTile(layers));
+		assertEquals(layers, MvtModelReader.loadLayers(MvtModelWriter.encode(layers)));
+	}
+
+	@Test
+	public void testFeature()
+	{
+		// two line strings
+		MvtFeature feature = new MvtFeature(GeomType.LINESTRING, new int[] { 0, 0, 10, 0, 10, 10, 20, 20, 30, 30 },
+				new int[] { 0, 2, 5 }, new int[] { 0, 0 });
+		assertFalse(feature.hasId());
+		assertEquals(2, feature.getPartCount());
+		assertEquals(2, feature.getPartStart(1));
+		assertEquals(5, feature.getPartEnd(1));
+		assertEquals(20, feature.getX(3));
+		MvtLayer layer = new MvtLayer("lines", Collections.singletonList("key"),
+				Collections.<Object> singletonList("value"), Collections.singletonList(feature));
+		VectorTile.Tile.Feature encoded = MvtModelWriter.toLayer(layer).getFeatures(0);
+		assertArrayEquals(new Object[] { 9, 0, 0, 10, 20, 0, 9, 0, 20, 18, 20, 20, 20, 20 },
+				encoded.getGeometryList().toArray());
+		// single point with id
+		MvtFeature point = MvtFeature.of(5, true, GeomType.POINT, new int[] { 3, 4 }, new int[0]);
+		assertTrue(point.hasId());
+		assertEquals(1, point.getPartCount());
+		assertEquals(Arrays.asList(9, 6, 8), MvtModelWriter.toFeature(point).getGeometryList());
+	}
+
+	@Test
+	public void testOddTags() throws IOException
+	{
+		VectorTile.Tile.Layer.Builder layer = VectorTile.Tile.Layer.newBuilder().setVersion(2).setName("layer")
+				.addKeys("k").addValues(VectorTile.Tile.Value.newBuilder().setUintValue(7));
+		// the last tag has no value
+		layer.addFeatures(VectorTile.Tile.Feature.newBuilder().setType(GeomType.POINT).addAllGeometry(
+				Arrays.asList(9, 2, 4)).addAllTags(Arrays.asList(0, 0, 0)));
+		byte[] data = VectorTile.Tile.newBuilder().addLayers(layer).build().toByteArray();
+		List<MvtLayer> layers = MvtModelReader.loadLayers(data);
+		assertArrayEquals(new int[] { 0, 0 }, layers.get(0).getFeatures().get(0).getTags());
+		// same properties as the JTS reader
+		JtsMvt expected = MvtReader.loadMvt(data, 0, data.length, new GeometryFactory(),
+				new TagKeyValueMapConverter());
+		assertEquals(expected, MvtModelAdapter.toJtsMvt(layers, new GeometryFactory(),
+				new TagKeyValueMapConverter(), MvtReader.RING_CLASSIFIER_V1));
+	}
+
+	@Test(expected = IOException.class)
+	public void testInvalidExtent() throws IOException
+	{
+		VectorTile.Tile.Layer.Builder layer = VectorTile.Tile.Layer.newBuilder().setVersion(2).setName("layer")
+				.setExtent(0);
+		MvtModelReader.loadLayers(VectorTile.Tile.newBuilder().addLayers(layer).build().toByteArray());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidOffsets()
+	{
+		new MvtFeature(GeomType.LINESTRING, new int[] { 0, 0, 10, 0 }, new int[] { 0, 1 }, new int[0]);
+	}
+}
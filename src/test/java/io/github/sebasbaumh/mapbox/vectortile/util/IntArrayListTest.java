@@ -0,0 +1,43 @@
+package io.github.sebasbaumh.mapbox.vectortile.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Test the primitive int list.
+ */
+@SuppressWarnings({ "javadoc", "static-method" })
+public final class IntArrayListTest
+{
+	@Test
+	public void testGrowAndTruncate()
+	{
+		IntArrayList list = new IntArrayList(1);
+		assertTrue(list.isEmpty());
+		for (int i = 0; i < 100; i++)
+		{
+			list.add(i);
+		}
+		list.add(100, 101);
+		assertEquals(102, list.size());
+		assertEquals(101, list.get(101));
+
+		list.set(0, -1);
+		list.truncate(3);
+		assertArrayEquals(new int[] { -1, 1, 2 }, list.toArray());
+
+		list.clear();
+		assertTrue(list.isEmpty());
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testGetOutOfRange()
+	{
+		IntArrayList list = new IntArrayList();
+		list.add(1);
+		list.get(1);
+	}
+}
@@ -0,0 +1,94 @@
+package io.github.sebasbaumh.mapbox.vectortile.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import io.github.sebasbaumh.mapbox.vectortile.VectorTile;
+
+/**
+ * Test reading MVTs by a {@link MvtCursor}.
+ */
+@SuppressWarnings({ "javadoc", "static-method" })
+public final class MvtCursorTest
+{
+	private static final String[] TILES = { "src/test/resources/vec_tile_test/game.mvt",
+			"src/test/resources/vec_tile_test/0/0/0.mvt",
+			"src/test/resources/mapbox/vector_tile_js/multi_poly_neg_exters.mvt" };
+
+	private static void assertSameAsParsed(byte[] data, MvtCursor cursor) throws IOException
+	{
+		VectorTile.Tile tile = VectorTile.Tile.parseFrom(data);
+		for (VectorTile.Tile.Layer layer : tile.getLayersList())
+		{
+			assertTrue(cursor.nextLayer());
+			assertEquals(layer.getName(), cursor.getLayerName());
+			assertEquals(layer.getExtent(), cursor.getLayerExtent());
+			assertEquals(layer.getVersion(), cursor.getLayerVersion());
+			assertEquals(layer.getKeysList(), cursor.getLayerKeys());
+			List<Object> values = new ArrayList<Object>();
+			for (VectorTile.Tile.Value value : layer.getValuesList())
+			{
+				values.add(MvtUtil.toObject(value));
+			}
+			assertEquals(values, cursor.getLayerValues());
+			for (VectorTile.Tile.Feature feature : layer.getFeaturesList())
+			{
+				assertTrue(cursor.nextFeature());
+				assertEquals(feature.hasId(), cursor.hasFeatureId());
+				assertEquals(feature.getId(), cursor.getFeatureId());
+				assertEquals(feature.getType(), cursor.getFeatureType());
+				assertArrayEquals(toArray(feature.getGeometryList()), cursor.getGeometry().toArray());
+				assertArrayEquals(toArray(feature.getTagsList()), cursor.getTags().toArray());
+			}
+			assertFalse(cursor.nextFeature());
+		}
+		assertFalse(cursor.nextLayer());
+	}
+
+	private static int[] toArray(List<Integer> list)
+	{
+		return list.stream().mapToInt(Integer::intValue).toArray();
+	}
+
+	@Test
+	public void testRead() throws IOException
+	{
+		for (String file : TILES)
+		{
+			byte[] data = Files.readAllBytes(Paths.get(file));
+			assertSameAsParsed(data, new MvtCursor(data));
+			assertSameAsParsed(data, new MvtCursor(new ByteArrayInputStream(data)));
+		}
+	}
+
+	@Test
+	public void testSkipFeatures() throws IOException
+	{
+		byte[] data = Files.readAllBytes(Paths.get(TILES[0]));
+		VectorTile.Tile tile = VectorTile.Tile.parseFrom(data);
+		MvtCursor cursor = new MvtCursor(data);
+		// read only the first feature of each layer
+		int numLayers = 0;
+		while (cursor.nextLayer())
+		{
+			assertEquals(tile.getLayers(numLayers).getName(), cursor.getLayerName());
+			if (tile.getLayers(numLayers).getFeaturesCount() > 0)
+			{
+				assertTrue(cursor.nextFeature());
+			}
+			numLayers++;
+		}
+		assertEquals(tile.getLayersCount(), numLayers);
+	}
+}